@@ -22,6 +22,18 @@ public enum CommandType {
      * This command is used to start a new session.
      */
     START_SESSION,
+    /**
+     * This command converts a map file to the binary map format.
+     */
+    CONVERT_MAP,
+    /**
+     * This command plays games without a user and shows statistics about them.
+     */
+    SIMULATE,
+    /**
+     * This command plays a tournament of bots on maps for a range of seeds and writes the results to a file.
+     */
+    TOURNAMENT,
     /**
      * This command is used to delete a session.
      */
@@ -54,6 +66,10 @@ public enum CommandType {
      * This command moves obstacle.
      */
     MOVE_OBSTACLE,
+    /**
+     * This command shows all cells a figure can reach with the rolled dice.
+     */
+    HINTS,
     /**
      * This command skip the turn for current player.
      */
@@ -61,7 +77,11 @@ public enum CommandType {
     /**
      * This command starts the game one more time.
      */
-    REMATCH;
+    REMATCH,
+    /**
+     * This command lets a bot play the turns of a player.
+     */
+    BOT;
 
     private static final String USER_COMMAND_SEPARATOR = " ";
     private static final String ENUM_COMMAND_SEPARATOR = "_";
@@ -9,19 +9,33 @@ public enum Direction {
     /**
      * This direction represents moving up.
      */
-    UP,
+    UP(-1, 0),
     /**
      * This direction represents moving down.
      */
-    DOWN,
+    DOWN(1, 0),
     /**
      * This direction represents moving left.
      */
-    LEFT,
+    LEFT(0, -1),
     /**
      * This direction represents moving right.
      */
-    RIGHT;
+    RIGHT(0, 1);
+
+    private final int rowOffset;
+    private final int columnOffset;
+
+    /**
+     * Constructor for direction.
+     *
+     * @param rowOffset    the row change of a single move
+     * @param columnOffset the column change of a single move
+     */
+    Direction(int rowOffset, int columnOffset) {
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+    }
 
     /**
      * This method returns string representation of the direction.
@@ -32,4 +46,22 @@ public enum Direction {
     public String toString() {
         return this.name().toLowerCase();
     }
+
+    /**
+     * Getter for row offset.
+     *
+     * @return the row change of a single move
+     */
+    public int getRowOffset() {
+        return rowOffset;
+    }
+
+    /**
+     * Getter for column offset.
+     *
+     * @return the column change of a single move
+     */
+    public int getColumnOffset() {
+        return columnOffset;
+    }
 }
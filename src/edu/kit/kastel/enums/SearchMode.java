@@ -0,0 +1,32 @@
+package edu.kit.kastel.enums;
+
+/**
+ * This enum stores all modes of running a tree search of a bot on several threads.
+ *
+ * @author Programmieren-Team
+ */
+public enum SearchMode {
+    /**
+     * This mode lets every thread search its own tree, the trees are merged at the end of the search.
+     */
+    ROOT,
+    /**
+     * This mode lets all threads search one shared tree.
+     */
+    TREE,
+    /**
+     * This mode searches like {@link #ROOT} for a fixed number of iterations without looking at the clock,
+     * so the same seed always leads to the same actions.
+     */
+    DETERMINISTIC;
+
+    /**
+     * This method returns string representation of the search mode.
+     *
+     * @return the search mode
+     */
+    @Override
+    public String toString() {
+        return this.name().toLowerCase();
+    }
+}
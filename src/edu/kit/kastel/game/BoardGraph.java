@@ -0,0 +1,305 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.enums.CellType;
+import edu.kit.kastel.enums.Direction;
+
+import java.util.Arrays;
+
+/**
+ * This class represents the playable cells of a map template as a compact graph.
+ * Every walkable cell gets a dense node id, the neighbours of all nodes are stored in compressed sparse row
+ * arrays and static attributes of the cells are stored per node.
+ * Obstacles are not part of the graph since they move during the game, they are read from the board.
+ *
+ * @author Programmieren-Team
+ */
+public final class BoardGraph {
+    /**
+     * Node id used for cells that are not walkable or outside the board.
+     */
+    public static final int NO_NODE = -1;
+    /**
+     * Attribute flag of protected zone nodes.
+     */
+    public static final int PROTECTED_ZONE_FLAG = 1;
+    /**
+     * Attribute flag of forest nodes.
+     */
+    public static final int FOREST_FLAG = 1 << 1;
+    /**
+     * Attribute flag of the target node.
+     */
+    public static final int TARGET_FLAG = 1 << 2;
+    /**
+     * Attribute flag of village nodes.
+     */
+    public static final int VILLAGE_FLAG = 1 << 3;
+    /**
+     * Attribute flag of player starting position nodes.
+     */
+    public static final int START_FLAG = 1 << 4;
+    /**
+     * Distance of nodes that cannot be reached.
+     */
+    public static final int UNREACHABLE = -1;
+    private static final int NO_FLAGS = 0;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int START_ITERATION_INDEX = 0;
+
+    private final int[] nodeOfCell;
+    private final int[] cellOfNode;
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+    private final byte[] edgeDirections;
+    private final byte[] attributes;
+
+    /**
+     * This constructor compiles the graph from the static cells of a board.
+     *
+     * @param board the map template
+     */
+    BoardGraph(GameBoard board) {
+        int cellCount = board.getRowLength() * board.getColumnLength();
+        this.nodeOfCell = new int[cellCount];
+
+        int nodeCount = START_ITERATION_INDEX;
+        for (int i = START_ITERATION_INDEX; i < cellCount; i++) {
+            nodeOfCell[i] = isWalkable(board.getType(i)) ? nodeCount++ : NO_NODE;
+        }
+
+        this.cellOfNode = new int[nodeCount];
+        this.attributes = new byte[nodeCount];
+        this.edgeOffsets = new int[nodeCount + 1];
+
+        int edgeCount = START_ITERATION_INDEX;
+        for (int i = START_ITERATION_INDEX; i < cellCount; i++) {
+            int node = nodeOfCell[i];
+            if (node != NO_NODE) {
+                cellOfNode[node] = i;
+                attributes[node] = getAttributes(board, i);
+                edgeCount += countNeighbours(board, i);
+                edgeOffsets[node + 1] = edgeCount;
+            }
+        }
+
+        this.edgeTargets = new int[edgeCount];
+        this.edgeDirections = new byte[edgeCount];
+
+        for (int node = START_ITERATION_INDEX; node < nodeCount; node++) {
+            int edge = edgeOffsets[node];
+            for (Direction direction : DIRECTIONS) {
+                int neighbourCell = board.getNeighbour(cellOfNode[node], direction, 1);
+                if (neighbourCell != GameBoard.INVALID_INDEX && nodeOfCell[neighbourCell] != NO_NODE) {
+                    edgeTargets[edge] = nodeOfCell[neighbourCell];
+                    edgeDirections[edge] = (byte) direction.ordinal();
+                    edge++;
+                }
+            }
+        }
+    }
+
+    private int countNeighbours(GameBoard board, int cell) {
+        int count = START_ITERATION_INDEX;
+        for (Direction direction : DIRECTIONS) {
+            int neighbourCell = board.getNeighbour(cell, direction, 1);
+            if (neighbourCell != GameBoard.INVALID_INDEX && isWalkable(board.getType(neighbourCell))) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static boolean isWalkable(CellType type) {
+        return type != CellType.EMPTY && type != CellType.NON_EXISTING_CELL;
+    }
+
+    private static byte getAttributes(GameBoard board, int cell) {
+        int flags = switch (board.getType(cell)) {
+            case PROTECTED_ZONE -> PROTECTED_ZONE_FLAG;
+            case EMPTY_FOREST, OCCUPIED_FOREST -> FOREST_FLAG;
+            case TARGET -> TARGET_FLAG;
+            case PLAYER_STARTING_POSITION -> START_FLAG;
+            default -> NO_FLAGS;
+        };
+
+        return (byte) (board.isVillage(cell) ? flags | VILLAGE_FLAG : flags);
+    }
+
+    /**
+     * Getter for number of nodes.
+     *
+     * @return the number of walkable cells
+     */
+    public int getNodeCount() {
+        return cellOfNode.length;
+    }
+
+    /**
+     * Getter for the node of a cell.
+     *
+     * @param cell flat index of the cell
+     * @return the node id or -1 if the cell is not walkable
+     */
+    public int getNode(int cell) {
+        return nodeOfCell[cell];
+    }
+
+    /**
+     * Getter for the cell of a node.
+     *
+     * @param node the node id
+     * @return flat index of the cell
+     */
+    public int getCell(int node) {
+        return cellOfNode[node];
+    }
+
+    /**
+     * Getter for the first edge of a node. The edges of a node are {@code [getEdgeStart, getEdgeEnd)}.
+     *
+     * @param node the node id
+     * @return index of the first edge
+     */
+    public int getEdgeStart(int node) {
+        return edgeOffsets[node];
+    }
+
+    /**
+     * Getter for the end of the edges of a node.
+     *
+     * @param node the node id
+     * @return index after the last edge
+     */
+    public int getEdgeEnd(int node) {
+        return edgeOffsets[node + 1];
+    }
+
+    /**
+     * Getter for the target node of an edge.
+     *
+     * @param edge the edge index
+     * @return the node id
+     */
+    public int getEdgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * Getter for the direction of an edge.
+     *
+     * @param edge the edge index
+     * @return the direction ordinal
+     */
+    public int getEdgeDirection(int edge) {
+        return edgeDirections[edge];
+    }
+
+    /**
+     * Getter for number of neighbours of a node.
+     *
+     * @param node the node id
+     * @return the degree
+     */
+    public int getDegree(int node) {
+        return edgeOffsets[node + 1] - edgeOffsets[node];
+    }
+
+    /**
+     * This method returns the neighbour of a node in a direction.
+     *
+     * @param node      the node id
+     * @param direction the direction
+     * @return the node id or -1 if there is no walkable neighbour in this direction
+     */
+    public int getNeighbour(int node, Direction direction) {
+        int ordinal = direction.ordinal();
+        for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+            if (edgeDirections[edge] == ordinal) {
+                return edgeTargets[edge];
+            }
+        }
+
+        return NO_NODE;
+    }
+
+    /**
+     * This method checks if a node has an attribute.
+     *
+     * @param node the node id
+     * @param flag the attribute flag
+     * @return true if the node has the attribute
+     */
+    public boolean hasAttribute(int node, int flag) {
+        return (attributes[node] & flag) != NO_FLAGS;
+    }
+
+    /**
+     * This method checks if a node is a protected zone.
+     *
+     * @param node the node id
+     * @return true if protected zone, false otherwise
+     */
+    public boolean isProtectedZone(int node) {
+        return hasAttribute(node, PROTECTED_ZONE_FLAG);
+    }
+
+    /**
+     * This method checks if a node is a forest.
+     *
+     * @param node the node id
+     * @return true if forest, false otherwise
+     */
+    public boolean isForest(int node) {
+        return hasAttribute(node, FOREST_FLAG);
+    }
+
+    /**
+     * This method checks if a node is the target.
+     *
+     * @param node the node id
+     * @return true if target, false otherwise
+     */
+    public boolean isTarget(int node) {
+        return hasAttribute(node, TARGET_FLAG);
+    }
+
+    /**
+     * This method checks if a node is part of a village.
+     *
+     * @param node the node id
+     * @return true if village, false otherwise
+     */
+    public boolean isVillage(int node) {
+        return hasAttribute(node, VILLAGE_FLAG);
+    }
+
+    /**
+     * This method computes the number of steps from a node to all other nodes, ignoring obstacles.
+     *
+     * @param source    the source node id
+     * @param distances array of node count length, filled with the distances or -1 if not reachable
+     * @return the number of reachable nodes including the source
+     */
+    public int computeDistances(int source, int[] distances) {
+        Arrays.fill(distances, UNREACHABLE);
+        int[] queue = new int[getNodeCount()];
+        int head = START_ITERATION_INDEX;
+        int tail = START_ITERATION_INDEX;
+
+        distances[source] = START_ITERATION_INDEX;
+        queue[tail++] = source;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+                int next = edgeTargets[edge];
+                if (distances[next] == UNREACHABLE) {
+                    distances[next] = distances[node] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return tail;
+    }
+}
@@ -0,0 +1,158 @@
+package edu.kit.kastel.game;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the cells of a board that differ from its map template.
+ * It is an open addressing hash map from flat cell index to packed cell value,
+ * so its size depends on the number of figures and moved obstacles and not on the map size.
+ *
+ * @author Programmieren-Team
+ */
+final class CellOverlay {
+    private static final int EMPTY_KEY = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    private static final int HASH_SHIFT = 16;
+    private static final int MAX_LOAD_DIVISOR = 2;
+
+    private int[] keys;
+    private short[] values;
+    private int size;
+
+    /**
+     * This constructor creates an empty overlay.
+     */
+    CellOverlay() {
+        this.keys = new int[INITIAL_CAPACITY];
+        this.values = new short[INITIAL_CAPACITY];
+        Arrays.fill(keys, EMPTY_KEY);
+    }
+
+    /**
+     * This is a copy constructor.
+     *
+     * @param overlay the overlay to copy
+     */
+    CellOverlay(CellOverlay overlay) {
+        this.keys = overlay.keys.clone();
+        this.values = overlay.values.clone();
+        this.size = overlay.size;
+    }
+
+    /**
+     * This method returns the value stored for a cell.
+     *
+     * @param key          flat index of the cell
+     * @param defaultValue value returned if the cell is not stored
+     * @return the stored value or the default value
+     */
+    short get(int key, short defaultValue) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != EMPTY_KEY; slot = slot + 1 & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * This method stores the value of a cell.
+     *
+     * @param key   flat index of the cell
+     * @param value the packed cell value
+     */
+    void put(int key, short value) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY_KEY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = slot + 1 & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+
+        if (size * MAX_LOAD_DIVISOR > keys.length) {
+            resize(keys.length * MAX_LOAD_DIVISOR);
+        }
+    }
+
+    /**
+     * This method removes the value of a cell, so the template value is visible again.
+     *
+     * @param key flat index of the cell
+     */
+    void remove(int key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY_KEY) {
+                return;
+            }
+            slot = slot + 1 & mask;
+        }
+
+        // shift following entries back so that no probe sequence is interrupted
+        int free = slot;
+        for (int next = free + 1 & mask; keys[next] != EMPTY_KEY; next = next + 1 & mask) {
+            int home = slot(keys[next], mask);
+            if ((next - home & mask) >= (next - free & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+
+        keys[free] = EMPTY_KEY;
+        size--;
+    }
+
+    /**
+     * This method removes all stored cells.
+     */
+    void clear() {
+        if (keys.length > INITIAL_CAPACITY) {
+            keys = new int[INITIAL_CAPACITY];
+            values = new short[INITIAL_CAPACITY];
+        }
+
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    /**
+     * Getter for number of stored cells.
+     *
+     * @return the number of stored cells
+     */
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        short[] oldValues = values;
+        keys = new int[capacity];
+        values = new short[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int hash = key * HASH_MULTIPLIER;
+        return (hash ^ hash >>> HASH_SHIFT) & mask;
+    }
+}
@@ -1,14 +1,17 @@
 package edu.kit.kastel.game;
 
-import java.util.Objects;
-
 /**
  * This class represents cell position.
  *
  * @author Programmieren-Team
  */
 public final class CellPosition {
+    /**
+     * Position used for figures that are not placed on the board yet.
+     */
+    public static final CellPosition INVALID_CELL_POSITION = new CellPosition(-1, -1);
     private static final int INVALID_POSITION_VALUE = -1;
+    private static final int HASH_MULTIPLIER = 31;
 
     private final int row;
     private final int column;
@@ -47,6 +50,10 @@ public final class CellPosition {
      */
     @Override
     public boolean equals(Object pos) {
+        if (this == pos) {
+            return true;
+        }
+
         if (pos instanceof CellPosition anotherPos) {
             return this.row == anotherPos.getRow() && this.column == anotherPos.getColumn();
         }
@@ -60,7 +67,7 @@ public final class CellPosition {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(row, column);
+        return HASH_MULTIPLIER * row + column;
     }
 
     /**
@@ -0,0 +1,107 @@
+package edu.kit.kastel.game;
+
+/**
+ * This class stores a set of board cells as a bitset over their flat indices.
+ * Checking a cell takes constant time and the cells can be iterated in index order
+ * with {@link #nextIndex(int)}, skipping 64 absent cells per step.
+ * Only the board changes the set, everybody else sees it read only.
+ *
+ * @author Programmieren-Team
+ */
+public final class CellSet {
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_SIZE = Long.SIZE;
+    private static final long EMPTY_WORD = 0;
+    private static final long SINGLE_BIT = 1L;
+    private static final int START_ITERATION_INDEX = 0;
+
+    private final long[] words;
+    private int size;
+
+    /**
+     * This constructor creates an empty set for the cells of a board.
+     *
+     * @param capacity the number of cells of the board
+     */
+    CellSet(int capacity) {
+        this.words = new long[(capacity + WORD_SIZE - 1) >>> WORD_SHIFT];
+    }
+
+    /**
+     * This is a copy constructor.
+     *
+     * @param set the set to copy
+     */
+    CellSet(CellSet set) {
+        this.words = set.words.clone();
+        this.size = set.size;
+    }
+
+    /**
+     * This method checks if a cell is in the set.
+     *
+     * @param index flat index of the cell
+     * @return true if the cell is in the set
+     */
+    public boolean contains(int index) {
+        return (words[index >>> WORD_SHIFT] & SINGLE_BIT << index) != EMPTY_WORD;
+    }
+
+    /**
+     * This method returns the first cell of the set at or after an index.
+     *
+     * @param from the flat index to start from
+     * @return the flat index of the cell or -1 if there is no such cell
+     */
+    public int nextIndex(int from) {
+        int word = from >>> WORD_SHIFT;
+        if (word >= words.length) {
+            return GameBoard.INVALID_INDEX;
+        }
+
+        long bits = words[word] & -SINGLE_BIT << from;
+        while (bits == EMPTY_WORD) {
+            word++;
+            if (word == words.length) {
+                return GameBoard.INVALID_INDEX;
+            }
+            bits = words[word];
+        }
+
+        return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Getter for the number of cells in the set.
+     *
+     * @return the number of cells
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * This method adds a cell to or removes a cell from the set.
+     *
+     * @param index      flat index of the cell
+     * @param isIncluded true to add the cell, false to remove it
+     */
+    void set(int index, boolean isIncluded) {
+        if (contains(index) == isIncluded) {
+            return;
+        }
+
+        words[index >>> WORD_SHIFT] ^= SINGLE_BIT << index;
+        size += isIncluded ? 1 : -1;
+    }
+
+    /**
+     * This method replaces the cells of this set by the cells of another set of the same capacity.
+     *
+     * @param set the set to copy
+     */
+    void copyFrom(CellSet set) {
+        System.arraycopy(set.words, START_ITERATION_INDEX, words, START_ITERATION_INDEX, words.length);
+        size = set.size;
+    }
+}
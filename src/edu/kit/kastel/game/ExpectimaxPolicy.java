@@ -0,0 +1,95 @@
+package edu.kit.kastel.game;
+
+import java.util.Random;
+
+import static edu.kit.kastel.game.SimulationPolicies.NANOS_PER_MILLI;
+import static edu.kit.kastel.game.SimulationPolicies.UNLIMITED;
+import static edu.kit.kastel.game.SimulationPolicies.findAction;
+
+/**
+ * This class is a bot choosing actions by an expectimax search over the actions and the outcomes of the dice,
+ * meant for small maps and endgames where the target is a few actions away.
+ * The transposition table is allocated once with the bot and reused by all searches,
+ * so a search only allocates the copy of the session. An instance must not be shared by games played in parallel.
+ *
+ * @author Programmieren-Team
+ */
+public final class ExpectimaxPolicy implements SimulationPolicy {
+    /**
+     * Name of the policy used by the bot command.
+     */
+    public static final String NAME = "expectimax";
+    /**
+     * Maximum depth of a search in actions.
+     */
+    public static final int MAX_DEPTH = ExpectimaxSearch.MAX_DEPTH;
+    private static final int TABLE_BUCKET_BITS = 19;
+    private static final int SINGLE_ACTION = 1;
+    private static final int START_ITERATION_INDEX = 0;
+
+    private final long timeBudgetNanos;
+    private final int maxDepth;
+    private final ExpectimaxSearch search = new ExpectimaxSearch(new TranspositionTable(TABLE_BUCKET_BITS));
+
+    /**
+     * This constructor creates a bot with a budget per action. At least one of the budgets has to be limited.
+     *
+     * @param timeBudgetMillis the time per action in milliseconds or {@link SimulationPolicies#UNLIMITED}
+     * @param maxDepth         the depth in actions or {@link SimulationPolicies#UNLIMITED} for {@link #MAX_DEPTH}
+     */
+    public ExpectimaxPolicy(int timeBudgetMillis, int maxDepth) {
+        this.timeBudgetNanos = timeBudgetMillis * NANOS_PER_MILLI;
+        this.maxDepth = maxDepth == UNLIMITED ? MAX_DEPTH : Math.min(maxDepth, MAX_DEPTH);
+    }
+
+    /**
+     * This method searches the best action of the current player.
+     * If the player has only one action, it is chosen without a search.
+     *
+     * @param session      the session, it is not changed
+     * @param moves        the actions encoded by {@link MoveGenerator}
+     * @param destinations the cell each action ends on
+     * @param count        the number of actions
+     * @param random       not used, the search does not depend on chance
+     * @return the index of the chosen action
+     */
+    @Override
+    public int choose(Session session, int[] moves, int[] destinations, int count, Random random) {
+        if (count <= SINGLE_ACTION) {
+            return START_ITERATION_INDEX;
+        }
+
+        long deadline = timeBudgetNanos == UNLIMITED ? Long.MAX_VALUE : System.nanoTime() + timeBudgetNanos;
+        if (!search.run(session, maxDepth, deadline)) {
+            return START_ITERATION_INDEX;
+        }
+
+        return findAction(moves, destinations, count, search.getBestMove(), search.getBestDestination());
+    }
+
+    /**
+     * This method removes the values of earlier games from the transposition table.
+     */
+    @Override
+    public void reset() {
+        search.clearTable();
+    }
+
+    /**
+     * Getter for the last depth the last search finished.
+     *
+     * @return the depth in actions
+     */
+    public int getCompletedDepth() {
+        return search.getCompletedDepth();
+    }
+
+    /**
+     * Getter for the number of states visited by the last search.
+     *
+     * @return the number of states
+     */
+    public long getNodes() {
+        return search.getNodes();
+    }
+}
@@ -0,0 +1,341 @@
+package edu.kit.kastel.game;
+
+/**
+ * This class runs an expectimax search over the actions of the players and the outcomes of the dice
+ * on a copy of a session. The values are seen by the player who searches: the player takes the best action,
+ * every other player takes the worst action for the player, and rolling the dice has the mean value of the six
+ * outcomes. With two players this is minimax with chance nodes, so decision nodes are pruned with alpha-beta
+ * and chance nodes with the bounds of the values of the outcomes (Star1). Values lie between a loss and a win,
+ * a state at the end of the search is valued by how much closer to the target the player is than the others.
+ * The search deepens one action at a time until the time is up and keeps the best action of the last
+ * finished depth. Values and best actions are kept in a transposition table, which orders the actions
+ * of the next depth, the values depend on the searching player, so its index is mixed into the hash.
+ * Actions are applied with {@link Session#make(int, int)} and undone afterwards.
+ *
+ * @author Programmieren-Team
+ */
+final class ExpectimaxSearch {
+    /**
+     * Maximum depth of a search in actions.
+     */
+    static final int MAX_DEPTH = 32;
+    private static final double WIN_VALUE = 1;
+    private static final double LOSS_VALUE = -1;
+    private static final double HEURISTIC_SCALE = 0.9;
+    private static final int DICE_SIDES = 6;
+    private static final int FIRST_DICE_NUMBER = 1;
+    private static final int ROOT_PLY = 0;
+    private static final int FIRST_DEPTH = 1;
+    private static final int SINGLE_STEP = 1;
+    private static final int DISTANCE_OFFSET = 1;
+    private static final int CLOCK_CHECK_MASK = 0x3FF;
+    private static final long ROOT_PLAYER_KEY = 0x9E3779B97F4A7C15L;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final TranspositionTable table;
+    private final int[][] moveBuffers = new int[MAX_DEPTH + SINGLE_STEP][];
+    private final int[][] destinationBuffers = new int[MAX_DEPTH + SINGLE_STEP][];
+    private Session state;
+    private MoveGenerator generator;
+    private int rootPlayer;
+    private long deadline;
+    private long nodes;
+    private boolean isAborted;
+    private int rootBest;
+    private int bestMove;
+    private int bestDestination;
+    private int completedDepth;
+
+    /**
+     * This constructor creates a search on a transposition table.
+     *
+     * @param table the transposition table, it is reused by every search
+     */
+    ExpectimaxSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * This method searches the best action of the current player of a session.
+     *
+     * @param session  the session, it is copied and not changed
+     * @param maxDepth the depth to stop at
+     * @param stopTime the value of {@link System#nanoTime()} to stop at, or {@link Long#MAX_VALUE}
+     * @return false if no action was found
+     */
+    boolean run(Session session, int maxDepth, long stopTime) {
+        this.state = new Session(session);
+        this.generator = new MoveGenerator(state);
+        this.rootPlayer = state.getCurrentPlayer().getIndex();
+        this.deadline = stopTime;
+        this.nodes = INTEGER_DEFAULT_INITIAL_VALUE;
+        this.isAborted = false;
+        this.bestMove = GameBoard.INVALID_INDEX;
+        this.completedDepth = INTEGER_DEFAULT_INITIAL_VALUE;
+        table.newSearch();
+
+        for (int depth = FIRST_DEPTH; depth <= Math.min(maxDepth, MAX_DEPTH) && !isAborted; depth++) {
+            rootBest = TranspositionTable.NO_CHILD;
+            double value = search(ROOT_PLY, depth, LOSS_VALUE, WIN_VALUE);
+            if (rootBest != TranspositionTable.NO_CHILD && (!isAborted || bestMove == GameBoard.INVALID_INDEX)) {
+                bestMove = moveBuffers[ROOT_PLY][rootBest];
+                bestDestination = destinationBuffers[ROOT_PLY][rootBest];
+            }
+
+            if (isAborted) {
+                break;
+            }
+
+            completedDepth = depth;
+            if (Math.abs(value) >= WIN_VALUE) {
+                break;
+            }
+        }
+
+        return bestMove != GameBoard.INVALID_INDEX;
+    }
+
+    /**
+     * This method removes the values of all earlier searches from the transposition table.
+     */
+    void clearTable() {
+        table.clear();
+    }
+
+    /**
+     * Getter for the encoded best action of the last search.
+     *
+     * @return the encoded action
+     */
+    int getBestMove() {
+        return bestMove;
+    }
+
+    /**
+     * Getter for the destination of the best action of the last search.
+     *
+     * @return the flat index of the destination
+     */
+    int getBestDestination() {
+        return bestDestination;
+    }
+
+    /**
+     * Getter for the last depth the last search finished.
+     *
+     * @return the depth in actions
+     */
+    int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     * Getter for the number of states visited by the last search.
+     *
+     * @return the number of states
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    private double search(int ply, int depth, double alpha, double beta) {
+        nodes++;
+        if ((nodes & CLOCK_CHECK_MASK) == INTEGER_DEFAULT_INITIAL_VALUE && deadline != Long.MAX_VALUE
+                && System.nanoTime() > deadline) {
+            isAborted = true;
+        }
+
+        if (isAborted) {
+            return INTEGER_DEFAULT_INITIAL_VALUE;
+        }
+
+        if (state.getWinner() != null) {
+            return state.getWinner().getIndex() == rootPlayer ? WIN_VALUE : LOSS_VALUE;
+        }
+
+        if (depth == INTEGER_DEFAULT_INITIAL_VALUE) {
+            return evaluate();
+        }
+
+        long hash = state.stateHash() ^ ROOT_PLAYER_KEY * (rootPlayer + SINGLE_STEP);
+        long entry = table.probe(hash);
+        int tableChild = entry == TranspositionTable.NO_ENTRY
+                ? TranspositionTable.NO_CHILD
+                : TranspositionTable.getBestChild(entry);
+        if (entry != TranspositionTable.NO_ENTRY && ply != ROOT_PLY && TranspositionTable.getDepth(entry) >= depth) {
+            double value = TranspositionTable.getValue(entry);
+            int bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER_BOUND && value >= beta
+                    || bound == TranspositionTable.UPPER_BOUND && value <= alpha) {
+                return value;
+            }
+        }
+
+        int[] moves = getMoveBuffer(ply);
+        int[] destinations = destinationBuffers[ply];
+        int count = generator.generate(moves, destinations);
+        if (count == INTEGER_DEFAULT_INITIAL_VALUE) {
+            return evaluate();
+        }
+
+        boolean isMaximizing = state.getCurrentPlayer().getIndex() == rootPlayer;
+        double best = isMaximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        int bestChild = TranspositionTable.NO_CHILD;
+        double lower = alpha;
+        double upper = beta;
+        boolean hasTableChild = tableChild != TranspositionTable.NO_CHILD && tableChild < count;
+        for (int k = START_ITERATION_INDEX; k < count; k++) {
+            int child = getChildInOrder(k, hasTableChild ? tableChild : TranspositionTable.NO_CHILD);
+            double value = searchChild(ply, depth, moves[child], destinations[child], lower, upper);
+            if (isAborted) {
+                return INTEGER_DEFAULT_INITIAL_VALUE;
+            }
+
+            if (isMaximizing ? value > best : value < best) {
+                best = value;
+                bestChild = child;
+                if (ply == ROOT_PLY) {
+                    rootBest = child;
+                }
+            }
+
+            if (isMaximizing) {
+                lower = Math.max(lower, value);
+            } else {
+                upper = Math.min(upper, value);
+            }
+
+            if (lower >= upper) {
+                break;
+            }
+        }
+
+        int bound = best <= alpha
+                ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(hash, best, depth, bound, bestChild);
+        return best;
+    }
+
+    /**
+     * This method returns the value of the state after an action.
+     *
+     * @param ply         the number of actions since the root
+     * @param depth       the remaining depth before the action
+     * @param move        the encoded action
+     * @param destination the destination of the action
+     * @param alpha       the value the searching player is sure to reach
+     * @param beta        the value the other players are sure to keep the searching player below
+     * @return the value
+     */
+    private double searchChild(int ply, int depth, int move, int destination, double alpha, double beta) {
+        if (MoveGenerator.getKind(move) == MoveGenerator.ROLL_DICE) {
+            return searchChance(ply, depth - SINGLE_STEP, destination, alpha, beta);
+        }
+
+        MoveUndo undo = state.make(move, destination);
+        if (undo == null) {
+            return evaluate();
+        }
+
+        double value = search(ply + SINGLE_STEP, depth - SINGLE_STEP, alpha, beta);
+        state.unmake(undo);
+        return value;
+    }
+
+    /**
+     * This method returns the mean value of the outcomes of the dice. The search of an outcome is given
+     * the window its value must lie in for the mean to lie between alpha and beta, if it does not,
+     * the remaining outcomes are not searched and the bound is returned.
+     *
+     * @param ply         the number of actions since the root
+     * @param depth       the remaining depth after rolling
+     * @param destination the destination of the action rolling the dice
+     * @param alpha       the value the searching player is sure to reach
+     * @param beta        the value the other players are sure to keep the searching player below
+     * @return the mean value or a bound of it
+     */
+    private double searchChance(int ply, int depth, int destination, double alpha, double beta) {
+        double lower = DICE_SIDES * (alpha - WIN_VALUE) + WIN_VALUE;
+        double upper = DICE_SIDES * (beta - LOSS_VALUE) + LOSS_VALUE;
+        double sum = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int dice = FIRST_DICE_NUMBER; dice <= DICE_SIDES; dice++) {
+            MoveUndo undo = state.make(MoveGenerator.encodeRoll(dice), destination);
+            if (undo == null) {
+                return evaluate();
+            }
+
+            double value = search(ply + SINGLE_STEP, depth, Math.max(lower, LOSS_VALUE), Math.min(upper, WIN_VALUE));
+            state.unmake(undo);
+            if (isAborted) {
+                return INTEGER_DEFAULT_INITIAL_VALUE;
+            }
+
+            if (value <= lower) {
+                return alpha;
+            }
+
+            if (value >= upper) {
+                return beta;
+            }
+
+            sum += value;
+            lower += WIN_VALUE - value;
+            upper += LOSS_VALUE - value;
+        }
+
+        return sum / DICE_SIDES;
+    }
+
+    /**
+     * This method values a state by how much closer to the target the searching player is than the closest
+     * other player, between a loss and a win.
+     *
+     * @return the value
+     */
+    private double evaluate() {
+        int farthest = state.getBoard().getRowLength() * state.getBoard().getColumnLength();
+        int own = farthest;
+        int others = farthest;
+        for (int i = START_ITERATION_INDEX; i < state.getTurnScheduler().getPlayerCount(); i++) {
+            int distance = state.getClosestTargetDistance(i);
+            distance = distance == TargetDistances.UNREACHABLE ? farthest : distance;
+            if (i == rootPlayer) {
+                own = distance;
+            } else {
+                others = Math.min(others, distance);
+            }
+        }
+
+        return HEURISTIC_SCALE * (others - own) / (others + own + DISTANCE_OFFSET);
+    }
+
+    private int[] getMoveBuffer(int ply) {
+        if (moveBuffers[ply] == null || moveBuffers[ply].length < generator.getMaxMoves()) {
+            moveBuffers[ply] = new int[generator.getMaxMoves()];
+            destinationBuffers[ply] = new int[generator.getMaxMoves()];
+        }
+
+        return moveBuffers[ply];
+    }
+
+    /**
+     * This method returns the child searched at a position of the order, the best child of the table comes first.
+     *
+     * @param position   the position in the order
+     * @param tableChild the best child of the table or {@link TranspositionTable#NO_CHILD}
+     * @return the index of the child
+     */
+    private static int getChildInOrder(int position, int tableChild) {
+        if (tableChild == TranspositionTable.NO_CHILD) {
+            return position;
+        }
+
+        if (position == START_ITERATION_INDEX) {
+            return tableChild;
+        }
+
+        return position <= tableChild ? position - SINGLE_STEP : position;
+    }
+}
@@ -8,17 +8,20 @@ package edu.kit.kastel.game;
 public final class Figure {
     private final char letter;
     private final int index;
+    private final int id;
     private CellPosition position;
 
     /**
-     * This constructor creates a figure with given letter and index.
+     * This constructor creates a figure with given letter, index and id.
      *
      * @param letter the letter
      * @param index  the index
+     * @param id     the id of the figure, unique within a session
      */
-    public Figure(char letter, int index) {
+    public Figure(char letter, int index, int id) {
         this.letter = letter;
         this.index = index;
+        this.id = id;
     }
 
     /**
@@ -49,6 +52,15 @@ public final class Figure {
         return index;
     }
 
+    /**
+     * This method returns id of the figure.
+     *
+     * @return the id
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * This method returns position of the figure.
      *
@@ -0,0 +1,274 @@
+package edu.kit.kastel.game;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the state of every figure of a session in primitive arrays indexed by the figure id,
+ * which is {@code playerIndex * 5 + figureIndex - 1}.
+ * A figure is unused, in play on the board or in play in the forest. Every player has a bitmask of its figures
+ * in play and a ring of its unused figures, which keeps the order in which they are brought into the game.
+ * Looking up a figure and changing its state take constant time and do not allocate.
+ *
+ * @author Programmieren-Team
+ */
+public final class FigureRegistry {
+    /**
+     * State of a figure that waits to be brought into the game.
+     */
+    public static final byte UNUSED = 0;
+    /**
+     * State of a figure placed on the board.
+     */
+    public static final byte IN_PLAY = 1;
+    /**
+     * State of a figure captured in the forest, it is still in play.
+     */
+    public static final byte IN_FOREST = 2;
+    private static final int FIRST_FIGURE_INDEX = 1;
+    private static final int NO_FIGURES = 0;
+    private static final int SINGLE_BIT = 1;
+    private static final int START_ITERATION_INDEX = 0;
+
+    private final Figure[] figures;
+    private final byte[] states;
+    private final byte[] unusedOrder;
+    private final int[] unusedHeads;
+    private final int[] unusedCounts;
+    private final int[] playingMasks;
+    private int forestCount;
+
+    /**
+     * This constructor creates an empty registry, the figures are added by {@link #register(Figure)}.
+     *
+     * @param nrPlayers the number of players of the session
+     */
+    public FigureRegistry(int nrPlayers) {
+        this.figures = new Figure[nrPlayers * Player.MAX_NUMBER_OF_FIGURES];
+        this.states = new byte[figures.length];
+        this.unusedOrder = new byte[figures.length];
+        this.unusedHeads = new int[nrPlayers];
+        this.unusedCounts = new int[nrPlayers];
+        this.playingMasks = new int[nrPlayers];
+    }
+
+    /**
+     * This is a copy constructor. The copy has its own figures at the same positions and in the same states.
+     *
+     * @param registry the registry to copy
+     */
+    FigureRegistry(FigureRegistry registry) {
+        this.figures = new Figure[registry.figures.length];
+        for (int i = START_ITERATION_INDEX; i < figures.length; i++) {
+            Figure figure = registry.figures[i];
+            if (figure != null) {
+                figures[i] = new Figure(figure.getLetter(), figure.getIndex(), figure.getId());
+                figures[i].setPosition(figure.getPosition());
+            }
+        }
+
+        this.states = registry.states.clone();
+        this.unusedOrder = registry.unusedOrder.clone();
+        this.unusedHeads = registry.unusedHeads.clone();
+        this.unusedCounts = registry.unusedCounts.clone();
+        this.playingMasks = registry.playingMasks.clone();
+        this.forestCount = registry.forestCount;
+    }
+
+    /**
+     * This method returns the id of a figure.
+     *
+     * @param playerIndex the index of the player
+     * @param figureIndex the index of the figure, starting at one
+     * @return the id
+     */
+    public static int getId(int playerIndex, int figureIndex) {
+        return playerIndex * Player.MAX_NUMBER_OF_FIGURES + figureIndex - FIRST_FIGURE_INDEX;
+    }
+
+    /**
+     * This method returns the index of the player owning a figure.
+     *
+     * @param figureId the id of the figure
+     * @return the index of the player
+     */
+    public static int getPlayerIndex(int figureId) {
+        return figureId / Player.MAX_NUMBER_OF_FIGURES;
+    }
+
+    /**
+     * This method removes all figures, so the players of a new game can register theirs.
+     */
+    void clear() {
+        Arrays.fill(figures, null);
+        Arrays.fill(states, UNUSED);
+        Arrays.fill(unusedHeads, NO_FIGURES);
+        Arrays.fill(unusedCounts, NO_FIGURES);
+        Arrays.fill(playingMasks, NO_FIGURES);
+        forestCount = NO_FIGURES;
+    }
+
+    /**
+     * This method adds a new figure as the last unused figure of its player.
+     *
+     * @param figure the figure
+     */
+    void register(Figure figure) {
+        figures[figure.getId()] = figure;
+        states[figure.getId()] = UNUSED;
+        addLastUnused(figure);
+    }
+
+    /**
+     * Getter for a figure.
+     *
+     * @param figureId the id of the figure
+     * @return the figure or null if it is not registered
+     */
+    public Figure getFigure(int figureId) {
+        return figures[figureId];
+    }
+
+    /**
+     * Getter for the state of a figure.
+     *
+     * @param figure the figure
+     * @return {@link #UNUSED}, {@link #IN_PLAY} or {@link #IN_FOREST}
+     */
+    public byte getState(Figure figure) {
+        return states[figure.getId()];
+    }
+
+    /**
+     * This method returns a figure of a player if it is in play.
+     *
+     * @param playerIndex the index of the player
+     * @param figureIndex the index of the figure, starting at one
+     * @return the figure or null if it is not in play
+     */
+    public Figure getPlayingFigure(int playerIndex, int figureIndex) {
+        return (playingMasks[playerIndex] & SINGLE_BIT << figureIndex - FIRST_FIGURE_INDEX) == NO_FIGURES
+                ? null
+                : figures[getId(playerIndex, figureIndex)];
+    }
+
+    /**
+     * Getter for the bitmask of the figures of a player in play, bit {@code i} stands for figure {@code i + 1}.
+     *
+     * @param playerIndex the index of the player
+     * @return the bitmask
+     */
+    public int getPlayingMask(int playerIndex) {
+        return playingMasks[playerIndex];
+    }
+
+    /**
+     * Getter for the number of unused figures of a player.
+     *
+     * @param playerIndex the index of the player
+     * @return the number of unused figures
+     */
+    public int getUnusedCount(int playerIndex) {
+        return unusedCounts[playerIndex];
+    }
+
+    /**
+     * Getter for the number of figures in the forest.
+     *
+     * @return the number of figures
+     */
+    public int getForestCount() {
+        return forestCount;
+    }
+
+    /**
+     * This method brings the first unused figure of a player into play.
+     *
+     * @param playerIndex the index of the player
+     * @return the figure or null if the player has no unused figures
+     */
+    Figure takeFirstUnused(int playerIndex) {
+        if (unusedCounts[playerIndex] == NO_FIGURES) {
+            return null;
+        }
+
+        int slot = playerIndex * Player.MAX_NUMBER_OF_FIGURES + unusedHeads[playerIndex];
+        unusedHeads[playerIndex] = (unusedHeads[playerIndex] + 1) % Player.MAX_NUMBER_OF_FIGURES;
+        unusedCounts[playerIndex]--;
+
+        Figure figure = figures[getId(playerIndex, unusedOrder[slot] + FIRST_FIGURE_INDEX)];
+        setState(figure, IN_PLAY);
+        return figure;
+    }
+
+    /**
+     * This method undoes {@link #takeFirstUnused(int)}, the figure becomes the first unused figure again.
+     *
+     * @param figure the figure
+     */
+    void returnFirstUnused(Figure figure) {
+        int playerIndex = getPlayerIndex(figure.getId());
+        unusedHeads[playerIndex] = (unusedHeads[playerIndex] + Player.MAX_NUMBER_OF_FIGURES - 1)
+                % Player.MAX_NUMBER_OF_FIGURES;
+        unusedCounts[playerIndex]++;
+        unusedOrder[playerIndex * Player.MAX_NUMBER_OF_FIGURES + unusedHeads[playerIndex]] =
+                (byte) (figure.getIndex() - FIRST_FIGURE_INDEX);
+        setState(figure, UNUSED);
+    }
+
+    /**
+     * This method takes a figure in play out of the game, it becomes the last unused figure of its player.
+     *
+     * @param figure the figure
+     * @return true if the figure was in play
+     */
+    boolean release(Figure figure) {
+        if (states[figure.getId()] == UNUSED) {
+            return false;
+        }
+
+        setState(figure, UNUSED);
+        addLastUnused(figure);
+        return true;
+    }
+
+    /**
+     * This method undoes {@link #release(Figure)} of a figure that was on the board.
+     *
+     * @param figure the figure
+     */
+    void restoreReleased(Figure figure) {
+        unusedCounts[getPlayerIndex(figure.getId())]--;
+        setState(figure, IN_PLAY);
+    }
+
+    /**
+     * This method changes the state of a figure and updates the bitmask and the forest count.
+     *
+     * @param figure the figure
+     * @param state  the new state
+     */
+    void setState(Figure figure, byte state) {
+        int id = figure.getId();
+        if (states[id] == IN_FOREST) {
+            forestCount--;
+        }
+        if (state == IN_FOREST) {
+            forestCount++;
+        }
+
+        int bit = SINGLE_BIT << figure.getIndex() - FIRST_FIGURE_INDEX;
+        int playerIndex = getPlayerIndex(id);
+        playingMasks[playerIndex] = state == UNUSED
+                ? playingMasks[playerIndex] & ~bit
+                : playingMasks[playerIndex] | bit;
+        states[id] = state;
+    }
+
+    private void addLastUnused(Figure figure) {
+        int playerIndex = getPlayerIndex(figure.getId());
+        int slot = (unusedHeads[playerIndex] + unusedCounts[playerIndex]) % Player.MAX_NUMBER_OF_FIGURES;
+        unusedOrder[playerIndex * Player.MAX_NUMBER_OF_FIGURES + slot] =
+                (byte) (figure.getIndex() - FIRST_FIGURE_INDEX);
+        unusedCounts[playerIndex]++;
+    }
+}
@@ -2,15 +2,17 @@ package edu.kit.kastel.game;
 
 import edu.kit.kastel.enums.CellType;
 
-import java.util.ArrayList;
-
 /**
  * This class represents a forest cell. It is a subclass of GameCell.
+ * Which figures are captured is stored as their state in the figure registry of the session.
  *
  * @author Programmieren-Team
  */
 public final class Forest extends GameCell {
-    private final ArrayList<Figure> capturedFigures;
+    private static final long EMPTY_HASH = 0;
+    private static final int NO_FIGURES = 0;
+    private FigureRegistry registry;
+    private long hash;
 
     /**
      * This constructor creates a forest cell with given row and column.
@@ -19,7 +21,25 @@ public final class Forest extends GameCell {
      */
     public Forest(CellPosition position) {
         super(CellType.EMPTY_FOREST, position);
-        this.capturedFigures = new ArrayList<>();
+    }
+
+    /**
+     * This is a copy constructor. The copy has to be given the figure registry of its session.
+     *
+     * @param forest the forest to copy
+     */
+    Forest(Forest forest) {
+        super(forest);
+        this.hash = forest.hash;
+    }
+
+    /**
+     * Setter for the figure registry of the session the forest belongs to.
+     *
+     * @param registry the figure registry
+     */
+    void setRegistry(FigureRegistry registry) {
+        this.registry = registry;
     }
 
     /**
@@ -29,7 +49,10 @@ public final class Forest extends GameCell {
      * @param f the figure
      */
     public void addFigure(Figure f) {
-        capturedFigures.add(f);
+        if (registry.getState(f) != FigureRegistry.IN_FOREST) {
+            registry.setState(f, FigureRegistry.IN_FOREST);
+            hash ^= ZobristKeys.forestKey(f.getId());
+        }
 
         if (this.type == CellType.EMPTY_FOREST) {
             this.type = CellType.OCCUPIED_FOREST;
@@ -44,27 +67,42 @@ public final class Forest extends GameCell {
      */
     public void removeFigure(Figure f) {
         if (f != null) {
-            capturedFigures.remove(f);
+            if (contains(f)) {
+                registry.setState(f, FigureRegistry.IN_PLAY);
+                hash ^= ZobristKeys.forestKey(f.getId());
+            }
 
-            if (this.capturedFigures.isEmpty()) {
+            if (registry.getForestCount() == NO_FIGURES) {
                 this.type = CellType.EMPTY_FOREST;
             }
         }
     }
 
     /**
-     * This method returns the figure from captured figures with the given name.
+     * This method checks if a figure is captured in the forest.
      *
-     * @param figureName the figure name
-     * @return the figure
+     * @param f the figure
+     * @return true if the figure is captured
      */
-    public Figure getFigureByName(String figureName) {
-        for (Figure f : capturedFigures) {
-            if (f.toString().equals(figureName)) {
-                return f;
-            }
-        }
+    public boolean contains(Figure f) {
+        return registry.getState(f) == FigureRegistry.IN_FOREST;
+    }
+
+    /**
+     * Getter for the Zobrist hash of the captured figures, see {@link ZobristKeys}.
+     *
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
 
-        return null;
+    /**
+     * This method removes all captured figures from the forest cell.
+     * The figures themselves are reset by clearing the figure registry.
+     */
+    public void clear() {
+        hash = EMPTY_HASH;
+        this.type = CellType.EMPTY_FOREST;
     }
 }
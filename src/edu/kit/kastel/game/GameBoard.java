@@ -0,0 +1,657 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.enums.CellType;
+import edu.kit.kastel.enums.Direction;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static edu.kit.kastel.utils.SessionsHelper.MAX_NR_OF_PLAYERS;
+
+/**
+ * This class represents the game board in a packed form.
+ * Every cell is stored as a single short in one flat array indexed by {@code row * columnLength + column}.
+ * The lowest bits hold the cell type ordinal, followed by an obstacle bit, a village bit
+ * and the id of the figure occupying the cell.
+ * Cells are addressed by their flat index, positions are canonical per board and can be compared by reference.
+ * A board loaded from a map is used as template. Copies share its cells as static layer and store
+ * figures, moved obstacles and the forest state in a sparse overlay, so a copy costs memory
+ * proportional to the number of pieces and not to the map area. Dense copies used for searching moves
+ * store all cells in their own array instead, trading memory for faster reads.
+ * Copies also keep a Zobrist hash of their overlay, which changes with every changed cell.
+ * Every board keeps the set of cells with an obstacle and the set of cells an obstacle can be dropped on,
+ * pathways without an obstacle or a figure. Both sets are updated with every changed cell.
+ *
+ * @author Programmieren-Team
+ */
+public final class GameBoard {
+    /**
+     * Flat index used for positions outside the board.
+     */
+    public static final int INVALID_INDEX = -1;
+    private static final int MAX_NUMBER_OF_FIGURES_ON_BOARD = MAX_NR_OF_PLAYERS * Player.MAX_NUMBER_OF_FIGURES;
+    private static final int TYPE_MASK = 0x0F;
+    private static final int OBSTACLE_BIT = 0x10;
+    private static final int VILLAGE_BIT = 0x20;
+    private static final int OCCUPANT_SHIFT = 6;
+    private static final int OCCUPANT_MASK = 0xFFC0;
+    private static final int NO_OCCUPANT = 0;
+    private static final int OCCUPANT_ID_OFFSET = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+    private static final long EMPTY_HASH = 0;
+    private static final CellType[] CELL_TYPES = CellType.values();
+
+    private final int rowLength;
+    private final int columnLength;
+    private final short[] cells;
+    private final CellOverlay overlay;
+    private final Map<Integer, Character> playerSymbols;
+    private final Map<Character, Integer> startIndices;
+    private final Figure[] figures;
+    private final AtomicReferenceArray<CellPosition> positions;
+    private final GameBoard template;
+    private final CellSet obstacleCells;
+    private final CellSet dropCells;
+    private int forestIndex;
+    private BoardGraph graph;
+    private List<String> ruleViolations;
+    private int freeFieldCount;
+    private long hash;
+
+    /**
+     * This constructor creates an empty template board with given dimensions.
+     * All cells are initialized as non-existing cells.
+     *
+     * @param rowLength    number of rows
+     * @param columnLength number of columns
+     */
+    public GameBoard(int rowLength, int columnLength) {
+        this.rowLength = rowLength;
+        this.columnLength = columnLength;
+        this.cells = new short[rowLength * columnLength];
+        this.overlay = null;
+        this.playerSymbols = new HashMap<>();
+        this.startIndices = new HashMap<>();
+        this.forestIndex = INVALID_INDEX;
+        this.figures = new Figure[MAX_NUMBER_OF_FIGURES_ON_BOARD];
+        this.positions = new AtomicReferenceArray<>(cells.length);
+        this.template = null;
+        this.obstacleCells = new CellSet(cells.length);
+        this.dropCells = new CellSet(cells.length);
+
+        short nonExistingCell = (short) CellType.NON_EXISTING_CELL.ordinal();
+        for (int i = START_ITERATION_INDEX; i < cells.length; i++) {
+            cells[i] = nonExistingCell;
+        }
+    }
+
+    /**
+     * This is a copy constructor. The copy shares the static cells of the given board
+     * and only copies its overlay, changes to the copy are stored in its own overlay.
+     *
+     * @param board the board to copy
+     */
+    public GameBoard(GameBoard board) {
+        this.rowLength = board.rowLength;
+        this.columnLength = board.columnLength;
+        this.template = board.template == null ? board : board.template;
+        this.cells = template.cells;
+        this.overlay = board.overlay == null ? createOverlay(board) : new CellOverlay(board.overlay);
+        this.playerSymbols = board.playerSymbols;
+        this.startIndices = board.startIndices;
+        this.forestIndex = board.forestIndex;
+        this.figures = board.figures.clone();
+        this.positions = board.positions;
+        this.obstacleCells = new CellSet(board.obstacleCells);
+        this.dropCells = new CellSet(board.dropCells);
+        this.graph = board.getGraph();
+        this.hash = board.hash;
+    }
+
+    /**
+     * This constructor creates a dense copy for searching moves. It stores every cell in its own array
+     * instead of an overlay, so reading a cell is a single array access, at the cost of memory
+     * proportional to the map area. The figures of the copy are the figures with the same ids of another
+     * registry, so a copied session does not share figures with the session it was copied from.
+     *
+     * @param board    the board to copy
+     * @param registry the figure registry of the copy
+     */
+    GameBoard(GameBoard board, FigureRegistry registry) {
+        this.rowLength = board.rowLength;
+        this.columnLength = board.columnLength;
+        this.template = board.template == null ? board : board.template;
+        this.cells = new short[board.cells.length];
+        for (int i = START_ITERATION_INDEX; i < cells.length; i++) {
+            cells[i] = board.getCellValue(i);
+        }
+
+        this.overlay = null;
+        this.playerSymbols = board.playerSymbols;
+        this.startIndices = board.startIndices;
+        this.forestIndex = board.forestIndex;
+        this.figures = new Figure[board.figures.length];
+        for (int i = START_ITERATION_INDEX; i < figures.length; i++) {
+            if (board.figures[i] != null) {
+                figures[i] = registry.getFigure(i);
+            }
+        }
+
+        this.positions = board.positions;
+        this.obstacleCells = new CellSet(board.obstacleCells);
+        this.dropCells = new CellSet(board.dropCells);
+        this.graph = board.getGraph();
+        this.hash = board.hash;
+    }
+
+    /**
+     * This method creates the overlay for a copy of a board without overlay,
+     * it is empty for a template and holds the cells that differ from the template for a dense copy.
+     *
+     * @param board the board to copy
+     * @return the overlay
+     */
+    private static CellOverlay createOverlay(GameBoard board) {
+        CellOverlay overlay = new CellOverlay();
+        if (board.template != null) {
+            for (int i = START_ITERATION_INDEX; i < board.cells.length; i++) {
+                if (board.cells[i] != board.template.cells[i]) {
+                    overlay.put(i, board.cells[i]);
+                }
+            }
+        }
+
+        return overlay;
+    }
+
+    /**
+     * Getter for the graph of the walkable cells.
+     * The graph is compiled from the template cells the first time it is needed and shared by all copies.
+     *
+     * @return the board graph
+     */
+    public synchronized BoardGraph getGraph() {
+        if (graph == null) {
+            graph = new BoardGraph(this);
+        }
+
+        return graph;
+    }
+
+    /**
+     * Getter for the violated map rules that do not depend on the number of players.
+     * They are stored on a template the first time it is validated, so sessions on a cached map
+     * do not check the rules again.
+     *
+     * @return the error messages, empty if no rule is violated, or null if the board has not been validated
+     */
+    public synchronized List<String> getRuleViolations() {
+        return ruleViolations;
+    }
+
+    /**
+     * Getter for the number of free fields counted when the board was validated.
+     *
+     * @return the number of free fields
+     */
+    public synchronized int getFreeFieldCount() {
+        return freeFieldCount;
+    }
+
+    /**
+     * Setter for the result of validating the board.
+     *
+     * @param ruleViolations the error messages of the rules that do not depend on the number of players
+     * @param freeFieldCount the number of free fields
+     */
+    public synchronized void setRuleViolations(List<String> ruleViolations, int freeFieldCount) {
+        this.ruleViolations = List.copyOf(ruleViolations);
+        this.freeFieldCount = freeFieldCount;
+    }
+
+    /**
+     * This method drops all changes of the overlay, so the board shows its template again.
+     * It has no effect on a template board.
+     */
+    public void resetOverlay() {
+        if (template == null) {
+            return;
+        }
+
+        if (overlay != null) {
+            overlay.clear();
+        } else {
+            System.arraycopy(template.cells, START_ITERATION_INDEX, cells, START_ITERATION_INDEX, cells.length);
+        }
+
+        Arrays.fill(figures, null);
+        hash = EMPTY_HASH;
+        obstacleCells.copyFrom(template.obstacleCells);
+        dropCells.copyFrom(template.dropCells);
+    }
+
+    /**
+     * Getter for the Zobrist hash of the cells that differ from the template, see {@link ZobristKeys}.
+     * It is zero for a template and for a copy that shows its template.
+     *
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Getter for the cells with an obstacle.
+     *
+     * @return the read only set of cells
+     */
+    public CellSet getObstacleCells() {
+        return obstacleCells;
+    }
+
+    /**
+     * Getter for the cells an obstacle can be dropped on, these are pathways without an obstacle or a figure.
+     *
+     * @return the read only set of cells
+     */
+    public CellSet getDropCells() {
+        return dropCells;
+    }
+
+    /**
+     * Getter for number of cells that differ from the template.
+     *
+     * @return the number of overlay cells
+     */
+    public int getOverlaySize() {
+        if (overlay != null || template == null) {
+            return overlay == null ? INTEGER_DEFAULT_INITIAL_VALUE : overlay.size();
+        }
+
+        int size = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int i = START_ITERATION_INDEX; i < cells.length; i++) {
+            if (cells[i] != template.cells[i]) {
+                size++;
+            }
+        }
+
+        return size;
+    }
+
+    private short getCellValue(int index) {
+        return overlay == null ? cells[index] : overlay.get(index, cells[index]);
+    }
+
+    private void setCellValue(int index, int value) {
+        obstacleCells.set(index, (value & OBSTACLE_BIT) != 0);
+        dropCells.set(index, isDropCell(value));
+        if (overlay == null) {
+            if (template != null) {
+                hash ^= ZobristKeys.cellKey(index, cells[index]) ^ ZobristKeys.cellKey(index, (short) value);
+            }
+
+            cells[index] = (short) value;
+            return;
+        }
+
+        hash ^= ZobristKeys.cellKey(index, getCellValue(index)) ^ ZobristKeys.cellKey(index, (short) value);
+        if ((short) value == cells[index]) {
+            overlay.remove(index);
+        } else {
+            overlay.put(index, (short) value);
+        }
+    }
+
+    private static boolean isDropCell(int value) {
+        CellType type = CELL_TYPES[value & TYPE_MASK];
+        return (type == CellType.PATHWAY || type == CellType.PATHWAY_VILLAGE)
+                && (value & (OBSTACLE_BIT | OCCUPANT_MASK)) == 0;
+    }
+
+    /**
+     * This method returns the flat index of a cell.
+     *
+     * @param row    row index
+     * @param column column index
+     * @return the flat index
+     */
+    public int index(int row, int column) {
+        return row * columnLength + column;
+    }
+
+    /**
+     * This method returns the flat index of a cell position.
+     *
+     * @param position the position
+     * @return the flat index
+     */
+    public int index(CellPosition position) {
+        return index(position.getRow(), position.getColumn());
+    }
+
+    /**
+     * Getter for the row of a flat index.
+     *
+     * @param index flat index of the cell
+     * @return the row
+     */
+    public int getRow(int index) {
+        return index / columnLength;
+    }
+
+    /**
+     * Getter for the column of a flat index.
+     *
+     * @param index flat index of the cell
+     * @return the column
+     */
+    public int getColumn(int index) {
+        return index % columnLength;
+    }
+
+    /**
+     * This method returns the canonical position of a cell.
+     * Positions are created once per cell and shared by all copies of the board. If threads create the position
+     * of a cell at the same time, only the first one is stored and returned to all of them.
+     *
+     * @param index flat index of the cell
+     * @return the position
+     */
+    public CellPosition getPosition(int index) {
+        CellPosition position = positions.getAcquire(index);
+        if (position == null) {
+            position = new CellPosition(getRow(index), getColumn(index));
+            CellPosition stored = positions.compareAndExchange(index, null, position);
+            if (stored != null) {
+                position = stored;
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * This method returns the canonical position of a row and column.
+     *
+     * @param row    row index
+     * @param column column index
+     * @return the position or null if out of bounds
+     */
+    public CellPosition getPosition(int row, int column) {
+        return isOutOfBounds(row, column) ? null : getPosition(index(row, column));
+    }
+
+    /**
+     * This method returns the flat index of the cell reached after moving a distance in a direction.
+     *
+     * @param index     flat index of the start cell
+     * @param direction the direction
+     * @param distance  the number of cells to move
+     * @return the flat index or -1 if the cell is out of bounds
+     */
+    public int getNeighbour(int index, Direction direction, int distance) {
+        int row = getRow(index) + direction.getRowOffset() * distance;
+        int column = getColumn(index) + direction.getColumnOffset() * distance;
+
+        return isOutOfBounds(row, column) ? INVALID_INDEX : index(row, column);
+    }
+
+    /**
+     * This method checks if a row and column are outside the board.
+     *
+     * @param row    row index
+     * @param column column index
+     * @return true if out of bounds
+     */
+    public boolean isOutOfBounds(int row, int column) {
+        return row < START_ITERATION_INDEX || column < START_ITERATION_INDEX
+                || row >= rowLength || column >= columnLength;
+    }
+
+    /**
+     * Getter for cell type.
+     *
+     * @param index flat index of the cell
+     * @return the cell type
+     */
+    public CellType getType(int index) {
+        return CELL_TYPES[getCellValue(index) & TYPE_MASK];
+    }
+
+    /**
+     * Setter for cell type. The obstacle and village bits are derived from the given type.
+     *
+     * @param index flat index of the cell
+     * @param type  the cell type
+     */
+    public void setType(int index, CellType type) {
+        int cell = getCellValue(index) & OCCUPANT_MASK | type.ordinal();
+
+        if (type == CellType.OBSTACLE || type == CellType.OBSTACLE_VILLAGE) {
+            cell |= OBSTACLE_BIT;
+        }
+
+        if (type == CellType.OBSTACLE_VILLAGE || type == CellType.PATHWAY_VILLAGE) {
+            cell |= VILLAGE_BIT;
+        }
+
+        if (type == CellType.EMPTY_FOREST) {
+            forestIndex = index;
+        }
+
+        setCellValue(index, cell);
+    }
+
+    /**
+     * This method checks if a cell has an obstacle.
+     *
+     * @param index flat index of the cell
+     * @return true if it has obstacle, false otherwise
+     */
+    public boolean hasObstacle(int index) {
+        return (getCellValue(index) & OBSTACLE_BIT) != 0;
+    }
+
+    /**
+     * This method checks if a cell is part of a village.
+     *
+     * @param index flat index of the cell
+     * @return true if village, false otherwise
+     */
+    public boolean isVillage(int index) {
+        return (getCellValue(index) & VILLAGE_BIT) != 0;
+    }
+
+    /**
+     * Setter for has obstacle. If the obstacle is removed, the cell becomes a pathway.
+     *
+     * @param index       flat index of the cell
+     * @param hasObstacle the obstacle
+     * @param isVillage   if the cell is on village
+     */
+    public void setHasObstacle(int index, boolean hasObstacle, boolean isVillage) {
+        if (!hasObstacle) {
+            setType(index, isVillage ? CellType.PATHWAY_VILLAGE : CellType.PATHWAY);
+        } else {
+            setCellValue(index, getCellValue(index) | OBSTACLE_BIT);
+        }
+    }
+
+    /**
+     * Getter for player symbol of a starting position cell.
+     *
+     * @param index flat index of the cell
+     * @return the player symbol
+     */
+    public char getPlayerSymbol(int index) {
+        Character symbol = playerSymbols.get(index);
+        return symbol == null ? GameCell.PLAYER_STARTING_POSITION_SYMBOL : symbol;
+    }
+
+    /**
+     * Setter for player symbol of a starting position cell. Only used while loading a template.
+     *
+     * @param index  flat index of the cell
+     * @param symbol the player symbol
+     */
+    public void setPlayerSymbol(int index, char symbol) {
+        playerSymbols.put(index, symbol);
+        startIndices.put(symbol, index);
+    }
+
+    /**
+     * Getter for the starting position cell with the given player symbol.
+     * If the symbol occurs more than once, the last cell in row order is returned.
+     *
+     * @param symbol the player symbol
+     * @return the flat index or -1 if there is no such cell
+     */
+    public int getStartIndex(char symbol) {
+        Integer index = startIndices.get(symbol);
+        return index == null ? INVALID_INDEX : index;
+    }
+
+    /**
+     * Getter for the forest cell.
+     *
+     * @return the flat index or -1 if the board has no forest
+     */
+    public int getForestIndex() {
+        return forestIndex;
+    }
+
+    /**
+     * This method checks if a cell has a figure.
+     *
+     * @param index flat index of the cell
+     * @return true if it has figure, false otherwise
+     */
+    public boolean hasFigure(int index) {
+        return (getCellValue(index) & OCCUPANT_MASK) != NO_OCCUPANT;
+    }
+
+    /**
+     * Getter for the figure placed on a cell.
+     *
+     * @param index flat index of the cell
+     * @return the figure or null
+     */
+    public Figure getFigure(int index) {
+        int occupant = (getCellValue(index) & OCCUPANT_MASK) >>> OCCUPANT_SHIFT;
+        return occupant == NO_OCCUPANT ? null : figures[occupant - OCCUPANT_ID_OFFSET];
+    }
+
+    /**
+     * Setter for the figure placed on a cell.
+     *
+     * @param index  flat index of the cell
+     * @param figure the figure or null to clear the cell
+     */
+    public void setFigure(int index, Figure figure) {
+        int occupant = NO_OCCUPANT;
+        if (figure != null) {
+            figures[figure.getId()] = figure;
+            occupant = figure.getId() + OCCUPANT_ID_OFFSET;
+        }
+
+        setCellValue(index, getCellValue(index) & ~OCCUPANT_MASK | occupant << OCCUPANT_SHIFT);
+    }
+
+    /**
+     * This method checks if a cell is free to move.
+     *
+     * @param index      flat index of the cell
+     * @param isLastMove the last move
+     * @return true if free to move, false otherwise
+     */
+    public boolean isFreeToMove(int index, boolean isLastMove) {
+        CellType type = getType(index);
+        if (type == CellType.EMPTY || type == CellType.NON_EXISTING_CELL) {
+            return false;
+        }
+
+        return isLastMove ? !isForest(index) : !hasObstacle(index);
+    }
+
+    /**
+     * This method checks if a cell is a protected zone.
+     *
+     * @param index flat index of the cell
+     * @return true if protected zone, false otherwise
+     */
+    public boolean isProtectedZone(int index) {
+        return getType(index) == CellType.PROTECTED_ZONE;
+    }
+
+    /**
+     * This method checks is a cell is a target.
+     *
+     * @param index flat index of the cell
+     * @return true if targeted, false otherwise
+     */
+    public boolean isTarget(int index) {
+        return getType(index) == CellType.TARGET;
+    }
+
+    /**
+     * This method checks if a cell is a forest.
+     *
+     * @param index flat index of the cell
+     * @return true if forested, false otherwise
+     */
+    public boolean isForest(int index) {
+        CellType type = getType(index);
+        return type == CellType.EMPTY_FOREST || type == CellType.OCCUPIED_FOREST;
+    }
+
+    /**
+     * This method returns a game cell view of a board cell.
+     * The returned cell is detached, changing it does not change the board.
+     *
+     * @param index flat index of the cell
+     * @return the game cell
+     */
+    public GameCell getCell(int index) {
+        return new GameCell(getType(index), getPosition(index), getPlayerSymbol(index),
+                hasFigure(index), getFigure(index), hasObstacle(index));
+    }
+
+    /**
+     * This method returns the board as a matrix of game cells.
+     *
+     * @return the matrix
+     */
+    public GameCell[][] toMatrix() {
+        GameCell[][] matrix = new GameCell[rowLength][columnLength];
+
+        for (int i = START_ITERATION_INDEX; i < rowLength; i++) {
+            for (int j = START_ITERATION_INDEX; j < columnLength; j++) {
+                matrix[i][j] = getCell(index(i, j));
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Getter for row length.
+     *
+     * @return number of rows
+     */
+    public int getRowLength() {
+        return rowLength;
+    }
+
+    /**
+     * Getter for column length.
+     *
+     * @return number of columns
+     */
+    public int getColumnLength() {
+        return columnLength;
+    }
+}
@@ -136,7 +136,7 @@ public class GameCell {
     public GameCell(GameCell cell) {
         if (cell != null) {
             this.type = cell.getType();
-            this.position = new CellPosition(cell.getPosition());
+            this.position = cell.getPosition();
             this.playerSymbol = cell.getPlayerSymbol();
             this.hasFigure = cell.hasFigure();
             this.figure = cell.getFigure();
@@ -1,10 +1,14 @@
 package edu.kit.kastel.game;
 
 import edu.kit.kastel.enums.CommandType;
+import edu.kit.kastel.utils.BinaryMapHelper;
+import edu.kit.kastel.utils.BotCommandHelper;
 import edu.kit.kastel.utils.CommandHelper;
 import edu.kit.kastel.utils.GameCommandHelper;
 import edu.kit.kastel.utils.InputOutputHandler;
 import edu.kit.kastel.utils.SessionsHelper;
+import edu.kit.kastel.utils.SimulationHelper;
+import edu.kit.kastel.utils.TournamentHelper;
 
 import java.util.ArrayList;
 
@@ -82,15 +86,27 @@ public final class GameExecutor {
             case START_SESSION:
                 handleStartSessionCommand(command);
                 break;
+            case CONVERT_MAP:
+                BinaryMapHelper.handleConvertMapCommand(command);
+                break;
+            case SIMULATE:
+                SimulationHelper.handleSimulateCommand(command);
+                break;
+            case TOURNAMENT:
+                TournamentHelper.handleTournamentCommand(command);
+                break;
             case SHOW,
                  CURRENT_PLAYER,
                  ROLL_DICE,
                  NEW_FIGURE,
                  MOVE,
                  MOVE_OBSTACLE,
+                 HINTS,
                  SKIP_TURN,
-                 REMATCH:
+                 REMATCH,
+                 BOT:
                 GameCommandHelper.handleActiveSessionCommand(commandType, this.activeSession, command);
+                BotCommandHelper.playBotTurns(this.activeSession);
                 break;
             default:
                 break;
@@ -123,7 +139,7 @@ public final class GameExecutor {
 
         this.addSession(newSession);
         setActiveSession(newSession.getId());
-        InputOutputHandler.printMatrix(activeSession.getMatrix(false),
+        InputOutputHandler.printMatrix(activeSession.getBoard(),
                 activeSession.getCurrentPlayer().getName());
         InputOutputHandler.printSessionId(activeSessionId);
         InputOutputHandler.printPlayerTurn(activeSession.getCurrentPlayer().getName());
@@ -0,0 +1,92 @@
+package edu.kit.kastel.game;
+
+import java.util.Random;
+
+/**
+ * This class is a simulation policy that looks one action ahead.
+ * A move reaching the target is taken at once, otherwise the move ending closest to the target is preferred
+ * and hitting a figure of another player adds a bonus. A new figure is brought into the game
+ * if the player has no figure in play, skipping is the last resort. Obstacles are placed randomly.
+ * Actions with the same score are chosen with the same probability.
+ *
+ * @author Programmieren-Team
+ */
+public final class GreedyPolicy implements SimulationPolicy {
+    /**
+     * Name of the policy used by the simulate command.
+     */
+    public static final String NAME = "greedy";
+    private static final int WIN_SCORE = Integer.MAX_VALUE;
+    private static final int MOVE_SCORE = 1 << 20;
+    private static final int HIT_BONUS = 8;
+    private static final int FIRST_FIGURE_SCORE = 2;
+    private static final int NEW_FIGURE_SCORE = 1;
+    private static final int NEUTRAL_SCORE = 0;
+    private static final int SKIP_SCORE = Integer.MIN_VALUE;
+    private static final int NO_FIGURES = 0;
+    private static final int START_ITERATION_INDEX = 0;
+
+    /**
+     * This method chooses the action with the best score, ties are broken randomly.
+     *
+     * @param session      the session
+     * @param moves        the actions encoded by {@link MoveGenerator}
+     * @param destinations the cell each action ends on
+     * @param count        the number of actions
+     * @param random       the random generator of the game
+     * @return the index of the chosen action
+     */
+    @Override
+    public int choose(Session session, int[] moves, int[] destinations, int count, Random random) {
+        int best = START_ITERATION_INDEX;
+        int bestScore = SKIP_SCORE;
+        int ties = START_ITERATION_INDEX;
+        for (int i = START_ITERATION_INDEX; i < count; i++) {
+            int score = getScore(session, moves[i], destinations[i]);
+            if (score == WIN_SCORE) {
+                return i;
+            }
+
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == START_ITERATION_INDEX) {
+                best = i;
+            }
+        }
+
+        return best;
+    }
+
+    private static int getScore(Session session, int move, int destination) {
+        Player player = session.getCurrentPlayer();
+        return switch (MoveGenerator.getKind(move)) {
+            case MoveGenerator.MOVE -> getMoveScore(session, player, destination);
+            case MoveGenerator.NEW_FIGURE ->
+                    session.getFigureRegistry().getPlayingMask(player.getIndex()) == NO_FIGURES
+                            ? FIRST_FIGURE_SCORE
+                            : NEW_FIGURE_SCORE;
+            case MoveGenerator.SKIP_TURN -> SKIP_SCORE;
+            default -> NEUTRAL_SCORE;
+        };
+    }
+
+    private static int getMoveScore(Session session, Player player, int destination) {
+        GameBoard board = session.getBoard();
+        if (board.isTarget(destination)) {
+            return WIN_SCORE;
+        }
+
+        int distance = session.getTargetDistances().getDistance(destination);
+        int score = distance == TargetDistances.UNREACHABLE ? NEUTRAL_SCORE : MOVE_SCORE - distance;
+
+        Figure occupant = board.getFigure(destination);
+        if (occupant != null && FigureRegistry.getPlayerIndex(occupant.getId()) != player.getIndex()
+                && !board.isProtectedZone(destination)) {
+            score += HIT_BONUS;
+        }
+
+        return score;
+    }
+}
@@ -0,0 +1,182 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.enums.SearchMode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.kit.kastel.game.SimulationPolicies.NANOS_PER_MILLI;
+import static edu.kit.kastel.game.SimulationPolicies.UNLIMITED;
+import static edu.kit.kastel.game.SimulationPolicies.findAction;
+
+/**
+ * This class is a bot choosing actions by Monte Carlo tree search over the actions and the outcomes of the dice.
+ * Every search runs on its own copy of the session until its time or iteration budget is used up,
+ * the most visited action of the root is chosen. The trees are allocated once with the first search
+ * and reused by all later searches, so a search only allocates the copies of the session.
+ * A search may run on several threads, which either search their own trees whose visits are added up
+ * at the end or share one tree, the own trees together hold as many nodes as the shared tree.
+ * The deterministic mode searches its own trees for a fixed number of iterations,
+ * so a game of bots is played the same way again from the seed of its session.
+ * The threads of a search are taken from a pool shared by all bots with the same number of threads,
+ * so replacing a bot does not leave its threads behind.
+ * An instance must not be shared by games played in parallel.
+ *
+ * @author Programmieren-Team
+ */
+public final class MctsPolicy implements SimulationPolicy {
+    /**
+     * Name of the policy used by the bot command.
+     */
+    public static final String NAME = "mcts";
+    private static final int TREE_CAPACITY = 1 << 19;
+    private static final int SINGLE_ACTION = 1;
+    private static final int SINGLE_THREAD = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+    private static final Map<Integer, ForkJoinPool> POOLS = new HashMap<>();
+
+    private final long timeBudgetNanos;
+    private final int maxIterations;
+    private final int threads;
+    private final SearchMode mode;
+    private final int[] iterations;
+    private MctsSearch[] searches;
+    private ForkJoinPool pool;
+
+    /**
+     * This constructor creates a bot with a budget per action. At least one of the budgets has to be limited,
+     * the deterministic mode needs a limited number of iterations and does not use the time budget.
+     *
+     * @param timeBudgetMillis the time per action in milliseconds or {@link SimulationPolicies#UNLIMITED}
+     * @param maxIterations    the number of iterations per action or {@link SimulationPolicies#UNLIMITED}
+     * @param threads          the number of threads of a search
+     * @param mode             the way the threads search
+     */
+    public MctsPolicy(int timeBudgetMillis, int maxIterations, int threads, SearchMode mode) {
+        this.timeBudgetNanos = mode == SearchMode.DETERMINISTIC ? UNLIMITED : timeBudgetMillis * NANOS_PER_MILLI;
+        this.maxIterations = maxIterations == UNLIMITED ? Integer.MAX_VALUE : maxIterations;
+        this.threads = threads;
+        this.mode = mode;
+        this.iterations = new int[threads];
+        for (int i = START_ITERATION_INDEX; i < threads; i++) {
+            int remainder = i < this.maxIterations % threads ? SINGLE_THREAD : INTEGER_DEFAULT_INITIAL_VALUE;
+            iterations[i] = this.maxIterations == Integer.MAX_VALUE
+                    ? Integer.MAX_VALUE
+                    : this.maxIterations / threads + remainder;
+        }
+    }
+
+    /**
+     * This method searches the best action of the current player.
+     * If the player has only one action, it is chosen without a search.
+     *
+     * @param session      the session, it is not changed
+     * @param moves        the actions encoded by {@link MoveGenerator}
+     * @param destinations the cell each action ends on
+     * @param count        the number of actions
+     * @param random       the random generator used for the outcomes of the dice and the rollouts
+     * @return the index of the chosen action
+     */
+    @Override
+    public int choose(Session session, int[] moves, int[] destinations, int count, Random random) {
+        if (count <= SINGLE_ACTION) {
+            return START_ITERATION_INDEX;
+        }
+
+        long deadline = timeBudgetNanos == UNLIMITED ? Long.MAX_VALUE : System.nanoTime() + timeBudgetNanos;
+        if (searches == null) {
+            createSearches();
+        }
+
+        for (MctsSearch search : searches) {
+            search.getTree().clear();
+        }
+
+        for (MctsSearch search : searches) {
+            search.reset(session, threads == SINGLE_THREAD ? random : new Random(random.nextLong()));
+        }
+
+        if (threads == SINGLE_THREAD) {
+            searches[START_ITERATION_INDEX].run(deadline, iterations[START_ITERATION_INDEX]);
+        } else {
+            pool.invoke(new MctsTask(searches, iterations, deadline, START_ITERATION_INDEX, threads));
+        }
+
+        return getBestAction(moves, destinations, count);
+    }
+
+    /**
+     * Getter for the number of iterations of the last search on all threads.
+     *
+     * @return the number of iterations
+     */
+    public int getIterations() {
+        int sum = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int i = START_ITERATION_INDEX; searches != null && i < searches.length; i++) {
+            sum += searches[i].getIterations();
+        }
+
+        return sum;
+    }
+
+    private void createSearches() {
+        searches = new MctsSearch[threads];
+        MctsTree shared = mode == SearchMode.TREE ? new MctsTree(TREE_CAPACITY) : null;
+        for (int i = START_ITERATION_INDEX; i < threads; i++) {
+            searches[i] = new MctsSearch(shared != null
+                    ? shared
+                    : new MctsTree(TREE_CAPACITY / threads));
+        }
+
+        if (threads > SINGLE_THREAD) {
+            pool = getPool(threads);
+        }
+    }
+
+    /**
+     * This method returns the pool shared by all bots searching on a number of threads, it is created the first time.
+     *
+     * @param threads the number of threads
+     * @return the pool
+     */
+    private static synchronized ForkJoinPool getPool(int threads) {
+        return POOLS.computeIfAbsent(threads, ForkJoinPool::new);
+    }
+
+    /**
+     * This method returns the action whose child of the root was visited most often, added up over all trees.
+     * All trees have the same children of the root, because every search copies the same session.
+     *
+     * @param moves        the encoded actions
+     * @param destinations the destinations of the actions
+     * @param count        the number of actions
+     * @return the index of the action
+     */
+    private int getBestAction(int[] moves, int[] destinations, int count) {
+        MctsTree first = searches[START_ITERATION_INDEX].getTree();
+        int firstChild = first.getFirstChild(MctsTree.ROOT);
+        if (firstChild == MctsTree.NO_NODE) {
+            return START_ITERATION_INDEX;
+        }
+
+        int trees = mode == SearchMode.TREE ? SINGLE_THREAD : threads;
+        int best = firstChild;
+        long bestVisits = Long.MIN_VALUE;
+        for (int child = firstChild; child < firstChild + first.getChildCount(MctsTree.ROOT); child++) {
+            long visits = INTEGER_DEFAULT_INITIAL_VALUE;
+            for (int i = START_ITERATION_INDEX; i < trees; i++) {
+                visits += searches[i].getTree().getVisits(child);
+            }
+
+            if (visits > bestVisits) {
+                best = child;
+                bestVisits = visits;
+            }
+        }
+
+        return findAction(moves, destinations, count, first.getMove(best), first.getDestination(best));
+    }
+}
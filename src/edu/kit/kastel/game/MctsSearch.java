@@ -0,0 +1,257 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.utils.Utility;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static edu.kit.kastel.utils.SessionsHelper.MAX_NR_OF_PLAYERS;
+
+/**
+ * This class runs Monte Carlo tree search on a copy of a session.
+ * Every iteration selects a path through the tree with UCT at decision nodes and a random outcome
+ * at chance nodes, adds the children of the last node, plays the game on with a greedy rollout policy
+ * and adds the rewards of the players to the nodes of the path. Actions are applied with
+ * {@link Session#make(int, int)} and undone afterwards, so the copy is back at the root after every iteration.
+ * A rollout that does not end with a winner is rewarded to the players with a figure closest to the target.
+ * The tree and all buffers are reused by later searches. Several searches may share one tree and run
+ * on different threads, every search keeps its own copy of the session.
+ *
+ * @author Programmieren-Team
+ */
+final class MctsSearch {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final double WIN_REWARD = 1;
+    private static final int MAX_TREE_DEPTH = 128;
+    private static final int MAX_ROLLOUT_ACTIONS = 256;
+    private static final int NO_DISTANCE = Integer.MAX_VALUE;
+    private static final int MIN_VISITS = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final MctsTree tree;
+    private final SimulationPolicy rolloutPolicy = new GreedyPolicy();
+    private final int[] path = new int[MAX_TREE_DEPTH];
+    private final MoveUndo[] undos = new MoveUndo[MAX_TREE_DEPTH + MAX_ROLLOUT_ACTIONS];
+    private final double[] playerRewards = new double[MAX_NR_OF_PLAYERS];
+    private final int[] playerDistances = new int[MAX_NR_OF_PLAYERS];
+    private int[] moveBuffer = new int[INTEGER_DEFAULT_INITIAL_VALUE];
+    private int[] destinationBuffer = new int[INTEGER_DEFAULT_INITIAL_VALUE];
+    private Session state;
+    private MoveGenerator generator;
+    private Random random;
+    private int iterations;
+
+    /**
+     * This constructor creates a search on a tree, which may be shared with other searches.
+     *
+     * @param tree the tree
+     */
+    MctsSearch(MctsTree tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * This method starts a new search from the current state of a session.
+     * The root of the tree is expanded at once, so searches sharing the tree start from the same children.
+     * The tree has to be cleared before, searches sharing it are reset one after another before any of them runs.
+     *
+     * @param session the session, it is copied and not changed
+     * @param searchRandom the random generator of the search
+     */
+    void reset(Session session, Random searchRandom) {
+        this.state = new Session(session);
+        this.generator = new MoveGenerator(state);
+        this.random = searchRandom;
+        this.iterations = INTEGER_DEFAULT_INITIAL_VALUE;
+        if (moveBuffer.length < generator.getMaxMoves()) {
+            moveBuffer = new int[generator.getMaxMoves()];
+            destinationBuffer = new int[moveBuffer.length];
+        }
+
+        if (!tree.isExpanded(MctsTree.ROOT)) {
+            int count = generator.generate(moveBuffer, destinationBuffer);
+            tree.expand(MctsTree.ROOT, moveBuffer, destinationBuffer, count, state.getCurrentPlayer().getIndex());
+        }
+    }
+
+    /**
+     * This method runs iterations until the deadline or the number of iterations is reached.
+     *
+     * @param deadline      the value of {@link System#nanoTime()} to stop at, or {@link Long#MAX_VALUE}
+     * @param maxIterations the number of iterations to stop at
+     */
+    void run(long deadline, int maxIterations) {
+        while (iterations < maxIterations && (deadline == Long.MAX_VALUE || System.nanoTime() < deadline)) {
+            iterate();
+            iterations++;
+        }
+    }
+
+    /**
+     * Getter for the tree of the search.
+     *
+     * @return the tree
+     */
+    MctsTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Getter for the number of iterations of the current search.
+     *
+     * @return the number of iterations
+     */
+    int getIterations() {
+        return iterations;
+    }
+
+    private void iterate() {
+        int depth = INTEGER_DEFAULT_INITIAL_VALUE;
+        int applied = INTEGER_DEFAULT_INITIAL_VALUE;
+        int node = MctsTree.ROOT;
+        tree.addVisit(node);
+        while (state.getWinner() == null && depth < MAX_TREE_DEPTH) {
+            int child = selectChild(node);
+            if (child == MctsTree.NO_NODE) {
+                break;
+            }
+
+            if (!tree.isChance(child)) {
+                MoveUndo undo = state.make(tree.getMove(child), tree.getDestination(child));
+                if (undo == null) {
+                    break;
+                }
+
+                undos[applied++] = undo;
+            }
+
+            path[depth++] = child;
+            node = child;
+            if (tree.addVisit(child) == INTEGER_DEFAULT_INITIAL_VALUE && !tree.isChance(child)) {
+                break;
+            }
+        }
+
+        applied = rollout(applied);
+        evaluate();
+
+        for (int i = START_ITERATION_INDEX; i < depth; i++) {
+            tree.addReward(path[i], playerRewards);
+        }
+
+        while (applied > START_ITERATION_INDEX) {
+            state.unmake(undos[--applied]);
+        }
+    }
+
+    /**
+     * This method returns the child to follow from a node and adds the children first if needed.
+     *
+     * @param node the node
+     * @return the child or {@link MctsTree#NO_NODE} if the node has no children
+     */
+    private int selectChild(int node) {
+        if (tree.isChance(node)) {
+            if (!tree.isExpanded(node) && !tree.expandChance(node)) {
+                return MctsTree.NO_NODE;
+            }
+
+            return tree.getFirstChild(node) + random.nextInt(MctsTree.DICE_SIDES);
+        }
+
+        if (!tree.isExpanded(node)) {
+            int count = generator.generate(moveBuffer, destinationBuffer);
+            if (count == INTEGER_DEFAULT_INITIAL_VALUE || !tree.expand(node, moveBuffer, destinationBuffer, count,
+                    state.getCurrentPlayer().getIndex())) {
+                return MctsTree.NO_NODE;
+            }
+        }
+
+        int first = tree.getFirstChild(node);
+        int end = first + tree.getChildCount(node);
+        double logVisits = Math.log(Math.max(MIN_VISITS, tree.getVisits(node)));
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < end; child++) {
+            int visits = tree.getVisits(child);
+            if (visits == INTEGER_DEFAULT_INITIAL_VALUE) {
+                return child;
+            }
+
+            double value = tree.getReward(child) / visits + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (value > bestValue) {
+                best = child;
+                bestValue = value;
+            }
+        }
+
+        return best;
+    }
+
+    private int rollout(int applied) {
+        int result = applied;
+        int end = Math.min(undos.length, applied + MAX_ROLLOUT_ACTIONS);
+        while (state.getWinner() == null && result < end) {
+            int count = generator.generate(moveBuffer, destinationBuffer);
+            if (count == INTEGER_DEFAULT_INITIAL_VALUE) {
+                break;
+            }
+
+            int choice = rolloutPolicy.choose(state, moveBuffer, destinationBuffer, count, random);
+            int move = moveBuffer[choice];
+            if (MoveGenerator.getKind(move) == MoveGenerator.ROLL_DICE) {
+                move = MoveGenerator.encodeRoll(Utility.getRandomRollDiceNumber(random));
+            }
+
+            MoveUndo undo = state.make(move, destinationBuffer[choice]);
+            if (undo == null) {
+                break;
+            }
+
+            undos[result++] = undo;
+        }
+
+        return result;
+    }
+
+    /**
+     * This method sets the rewards of the players for the current state.
+     * The winner gets the whole reward, without a winner it is shared by the players with a figure
+     * closest to the target, or by all players if no figure can reach the target.
+     */
+    private void evaluate() {
+        int playerCount = state.getTurnScheduler().getPlayerCount();
+        Arrays.fill(playerRewards, INTEGER_DEFAULT_INITIAL_VALUE);
+        if (state.getWinner() != null) {
+            playerRewards[state.getWinner().getIndex()] = WIN_REWARD;
+            return;
+        }
+
+        int bestDistance = NO_DISTANCE;
+        int bestCount = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int i = START_ITERATION_INDEX; i < playerCount; i++) {
+            int distance = getClosestDistance(i);
+            playerDistances[i] = distance;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                bestCount = INTEGER_DEFAULT_INITIAL_VALUE;
+            }
+
+            if (distance == bestDistance) {
+                bestCount++;
+            }
+        }
+
+        for (int i = START_ITERATION_INDEX; i < playerCount; i++) {
+            if (playerDistances[i] == bestDistance) {
+                playerRewards[i] = WIN_REWARD / bestCount;
+            }
+        }
+    }
+
+    private int getClosestDistance(int playerIndex) {
+        int distance = state.getClosestTargetDistance(playerIndex);
+        return distance == TargetDistances.UNREACHABLE ? NO_DISTANCE : distance;
+    }
+}
@@ -0,0 +1,54 @@
+package edu.kit.kastel.game;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class runs a range of Monte Carlo tree searches on a fork/join pool.
+ * The range is split in halves until a single search is left, which runs on the worker thread.
+ *
+ * @author Programmieren-Team
+ */
+final class MctsTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final int HALF_DIVISOR = 2;
+    private static final int SINGLE_SEARCH = 1;
+
+    private final transient MctsSearch[] searches;
+    private final int[] iterations;
+    private final long deadline;
+    private final int firstSearch;
+    private final int endSearch;
+
+    /**
+     * This constructor creates a task for a range of searches.
+     *
+     * @param searches    the searches, already reset
+     * @param iterations  the number of iterations of each search
+     * @param deadline    the value of {@link System#nanoTime()} to stop at, or {@link Long#MAX_VALUE}
+     * @param firstSearch the index of the first search of the range
+     * @param endSearch   the index after the last search of the range
+     */
+    MctsTask(MctsSearch[] searches, int[] iterations, long deadline, int firstSearch, int endSearch) {
+        this.searches = searches;
+        this.iterations = iterations;
+        this.deadline = deadline;
+        this.firstSearch = firstSearch;
+        this.endSearch = endSearch;
+    }
+
+    /**
+     * Compute method override.
+     * It runs the search of the range or splits the range in halves.
+     */
+    @Override
+    protected void compute() {
+        if (endSearch - firstSearch <= SINGLE_SEARCH) {
+            searches[firstSearch].run(deadline, iterations[firstSearch]);
+            return;
+        }
+
+        int middle = firstSearch + (endSearch - firstSearch) / HALF_DIVISOR;
+        invokeAll(new MctsTask(searches, iterations, deadline, firstSearch, middle),
+                new MctsTask(searches, iterations, deadline, middle, endSearch));
+    }
+}
@@ -0,0 +1,275 @@
+package edu.kit.kastel.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class stores the nodes of a Monte Carlo search tree in flat primitive arrays.
+ * A node is the index of its entries, the children of a node are stored next to each other.
+ * Every node holds the action leading to it, the player who took the action, how often it was visited
+ * and the sum of the rewards of that player. Rolling the dice leads to a chance node,
+ * whose children are the six outcomes of the dice.
+ * The arrays are allocated once and reused by every search, so searching does not allocate.
+ * Several threads may search the same tree without locks: the statistics are updated atomically,
+ * a node is expanded by the thread that claims it first and its children are published
+ * only after they were initialized. A visit is counted when a node is selected and its reward
+ * is added after the rollout, so until then the visit is a virtual loss that steers other threads
+ * to other children.
+ *
+ * @author Programmieren-Team
+ */
+final class MctsTree {
+    /**
+     * Index of the root node.
+     */
+    static final int ROOT = 0;
+    /**
+     * Index returned if a node does not exist or the tree is full.
+     */
+    static final int NO_NODE = -1;
+    /**
+     * Number of outcomes of the dice, the number of children of a chance node.
+     */
+    static final int DICE_SIDES = 6;
+    private static final int NO_PLAYER = -1;
+    private static final int EXPANDING = -2;
+    private static final int ROOT_SIZE = 1;
+    private static final double REWARD_SCALE = 1 << 20;
+    private static final int FIRST_DICE_NUMBER = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final int[] moves;
+    private final int[] destinations;
+    private final int[] movers;
+    private final int[] childCounts;
+    private final AtomicIntegerArray firstChildren;
+    private final AtomicIntegerArray visits;
+    private final AtomicLongArray rewards;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * This constructor allocates a tree.
+     *
+     * @param capacity the maximum number of nodes
+     */
+    MctsTree(int capacity) {
+        this.moves = new int[capacity];
+        this.destinations = new int[capacity];
+        this.movers = new int[capacity];
+        this.childCounts = new int[capacity];
+        this.firstChildren = new AtomicIntegerArray(capacity);
+        this.visits = new AtomicIntegerArray(capacity);
+        this.rewards = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * This method removes all nodes except a new root. It must not be called while the tree is searched.
+     */
+    void clear() {
+        size.set(ROOT_SIZE);
+        initNode(ROOT, INTEGER_DEFAULT_INITIAL_VALUE, GameBoard.INVALID_INDEX, NO_PLAYER);
+    }
+
+    /**
+     * This method adds the children of a decision node.
+     * Only one thread expands a node, the others fail until the children are published.
+     *
+     * @param node              the node
+     * @param childMoves        the encoded actions of the children
+     * @param childDestinations the destinations of the actions
+     * @param count             the number of children
+     * @param mover             the index of the player taking the actions
+     * @return false if the tree is full or the node is expanded by another thread and no child was added
+     */
+    boolean expand(int node, int[] childMoves, int[] childDestinations, int count, int mover) {
+        int first = claim(node, count);
+        if (first == NO_NODE) {
+            return false;
+        }
+
+        for (int i = START_ITERATION_INDEX; i < count; i++) {
+            initNode(first + i, childMoves[i], childDestinations[i], mover);
+        }
+
+        publish(node, first, count);
+        return true;
+    }
+
+    /**
+     * This method adds the outcomes of the dice as children of a chance node.
+     *
+     * @param node the chance node
+     * @return false if the tree is full or the node is expanded by another thread and no child was added
+     */
+    boolean expandChance(int node) {
+        int first = claim(node, DICE_SIDES);
+        if (first == NO_NODE) {
+            return false;
+        }
+
+        for (int i = START_ITERATION_INDEX; i < DICE_SIDES; i++) {
+            initNode(first + i, MoveGenerator.encodeRoll(i + FIRST_DICE_NUMBER), GameBoard.INVALID_INDEX,
+                    movers[node]);
+        }
+
+        publish(node, first, DICE_SIDES);
+        return true;
+    }
+
+    /**
+     * This method checks if a node is a chance node, the node of rolling the dice without a known outcome.
+     *
+     * @param node the node
+     * @return true if it is a chance node
+     */
+    boolean isChance(int node) {
+        return node != ROOT && MoveGenerator.getKind(moves[node]) == MoveGenerator.ROLL_DICE
+                && MoveGenerator.getDice(moves[node]) == INTEGER_DEFAULT_INITIAL_VALUE;
+    }
+
+    /**
+     * This method checks if the children of a node were added.
+     *
+     * @param node the node
+     * @return true if the node has children
+     */
+    boolean isExpanded(int node) {
+        return firstChildren.get(node) >= ROOT_SIZE;
+    }
+
+    /**
+     * This method counts a visit of a node when it is selected.
+     *
+     * @param node the node
+     * @return the number of visits before this one
+     */
+    int addVisit(int node) {
+        return visits.getAndIncrement(node);
+    }
+
+    /**
+     * This method adds the outcome of a playout to a node whose visit was already counted.
+     *
+     * @param node          the node
+     * @param playerRewards the reward of every player
+     */
+    void addReward(int node, double[] playerRewards) {
+        if (movers[node] != NO_PLAYER) {
+            rewards.getAndAdd(node, Math.round(playerRewards[movers[node]] * REWARD_SCALE));
+        }
+    }
+
+    /**
+     * Getter for the number of nodes.
+     *
+     * @return the number of nodes
+     */
+    int getSize() {
+        return Math.min(size.get(), moves.length);
+    }
+
+    /**
+     * Getter for the encoded action leading to a node.
+     *
+     * @param node the node
+     * @return the encoded action
+     */
+    int getMove(int node) {
+        return moves[node];
+    }
+
+    /**
+     * Getter for the destination of the action leading to a node.
+     *
+     * @param node the node
+     * @return the flat index of the destination
+     */
+    int getDestination(int node) {
+        return destinations[node];
+    }
+
+    /**
+     * Getter for the first child of a node.
+     *
+     * @param node the node
+     * @return the first child or {@link #NO_NODE}
+     */
+    int getFirstChild(int node) {
+        return isExpanded(node) ? firstChildren.get(node) : NO_NODE;
+    }
+
+    /**
+     * Getter for the number of children of a node.
+     *
+     * @param node the node
+     * @return the number of children
+     */
+    int getChildCount(int node) {
+        return childCounts[node];
+    }
+
+    /**
+     * Getter for the number of visits of a node.
+     *
+     * @param node the node
+     * @return the number of visits
+     */
+    int getVisits(int node) {
+        return visits.get(node);
+    }
+
+    /**
+     * Getter for the sum of the rewards of the player taking the action leading to a node.
+     *
+     * @param node the node
+     * @return the sum of the rewards
+     */
+    double getReward(int node) {
+        return rewards.get(node) / REWARD_SCALE;
+    }
+
+    /**
+     * This method claims a node for expansion and reserves the space of its children.
+     *
+     * @param node  the node
+     * @param count the number of children
+     * @return the first child or {@link #NO_NODE} if the tree is full or the node is already claimed
+     */
+    private int claim(int node, int count) {
+        if (size.get() + count > moves.length || !firstChildren.compareAndSet(node, NO_NODE, EXPANDING)) {
+            return NO_NODE;
+        }
+
+        int first = size.getAndAdd(count);
+        if (first + count > moves.length) {
+            firstChildren.set(node, NO_NODE);
+            return NO_NODE;
+        }
+
+        return first;
+    }
+
+    /**
+     * This method makes the initialized children of a node visible to all threads.
+     *
+     * @param node  the node
+     * @param first the first child
+     * @param count the number of children
+     */
+    private void publish(int node, int first, int count) {
+        childCounts[node] = count;
+        firstChildren.set(node, first);
+    }
+
+    private void initNode(int node, int move, int destination, int mover) {
+        moves[node] = move;
+        destinations[node] = destination;
+        movers[node] = mover;
+        childCounts[node] = INTEGER_DEFAULT_INITIAL_VALUE;
+        firstChildren.setPlain(node, NO_NODE);
+        visits.setPlain(node, INTEGER_DEFAULT_INITIAL_VALUE);
+        rewards.setPlain(node, INTEGER_DEFAULT_INITIAL_VALUE);
+    }
+}
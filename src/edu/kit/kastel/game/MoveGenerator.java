@@ -0,0 +1,235 @@
+package edu.kit.kastel.game;
+
+/**
+ * This class enumerates every action the current player of a session may take.
+ * The actions follow the availability of the commands: rolling the dice, bringing a new figure,
+ * moving a figure with the rolled dice, moving the pending obstacle and skipping the turn.
+ * Every action is encoded as an int holding its kind, the index of the moved figure and the path of the move,
+ * see {@link #getKind(int)}, {@link #getFigureIndex(int)} and {@link #getPath(int)}.
+ * The cell an action ends on is written to a second buffer, every cell is reported once per figure
+ * and once for the obstacle. The outcome of rolling the dice is left to the caller.
+ * Generating the actions fills the given buffers and does not allocate.
+ *
+ * @author Programmieren-Team
+ */
+public final class MoveGenerator {
+    /**
+     * Kind of the action rolling the dice.
+     */
+    public static final int ROLL_DICE = 0;
+    /**
+     * Kind of the action bringing a new figure to the starting position.
+     */
+    public static final int NEW_FIGURE = 1;
+    /**
+     * Kind of the action moving a figure by the rolled dice.
+     */
+    public static final int MOVE = 2;
+    /**
+     * Kind of the action placing the pending obstacle on a cell.
+     */
+    public static final int MOVE_OBSTACLE = 3;
+    /**
+     * Kind of the action skipping the turn.
+     */
+    public static final int SKIP_TURN = 4;
+    /**
+     * Maximum number of steps a path of an encoded move can have.
+     */
+    public static final int MAX_PATH_STEPS = 12;
+    private static final int KIND_MASK = 0xF;
+    private static final int FIGURE_SHIFT = 4;
+    private static final int FIGURE_MASK = 0xF;
+    private static final int PATH_SHIFT = 8;
+    private static final int NO_FIGURE = 0;
+    private static final int NO_PATH = 0;
+    private static final int SINGLE_ACTIONS = 3;
+    private static final int FIRST_FIGURE_INDEX = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final Session session;
+    private final GameBoard board;
+    private final BoardGraph graph;
+    private final int[] figureDestinations = new int[PathSearch.getMaxDestinations(MAX_PATH_STEPS)];
+    private final int[] figurePaths = new int[figureDestinations.length];
+
+    /**
+     * This constructor creates a generator for the actions of a session.
+     *
+     * @param session the session, changes to it are seen by later calls
+     */
+    public MoveGenerator(Session session) {
+        this.session = session;
+        this.board = session.getBoard();
+        this.graph = board.getGraph();
+    }
+
+    /**
+     * This method encodes an action.
+     *
+     * @param kind        the kind of the action
+     * @param figureIndex the index of the moved figure starting at one, or zero
+     * @param path        the path encoded as by {@link PathSearch}, or zero
+     * @return the encoded action
+     */
+    public static int encode(int kind, int figureIndex, int path) {
+        return kind | figureIndex << FIGURE_SHIFT | path << PATH_SHIFT;
+    }
+
+    /**
+     * This method encodes rolling the dice with a known outcome, as needed to apply the action to a session.
+     *
+     * @param dice the rolled number
+     * @return the encoded action
+     */
+    public static int encodeRoll(int dice) {
+        return encode(ROLL_DICE, NO_FIGURE, dice);
+    }
+
+    /**
+     * Getter for the rolled number of an action encoded by {@link #encodeRoll(int)}.
+     *
+     * @param move the encoded action
+     * @return the rolled number
+     */
+    public static int getDice(int move) {
+        return move >>> PATH_SHIFT;
+    }
+
+    /**
+     * Getter for the kind of an encoded action.
+     *
+     * @param move the encoded action
+     * @return the kind
+     */
+    public static int getKind(int move) {
+        return move & KIND_MASK;
+    }
+
+    /**
+     * Getter for the figure index of an encoded action.
+     *
+     * @param move the encoded action
+     * @return the index of the moved figure starting at one, or zero if no figure is moved
+     */
+    public static int getFigureIndex(int move) {
+        return move >>> FIGURE_SHIFT & FIGURE_MASK;
+    }
+
+    /**
+     * Getter for the path of an encoded move, its steps can be read with {@link PathSearch#getStep(int, int)}.
+     *
+     * @param move the encoded action
+     * @return the encoded path
+     */
+    public static int getPath(int move) {
+        return move >>> PATH_SHIFT;
+    }
+
+    /**
+     * This method returns the number of actions a call of {@link #generate(int[], int[])} can return at most.
+     * Buffers of this length never run out of space.
+     *
+     * @return the maximum number of actions
+     */
+    public int getMaxMoves() {
+        return SINGLE_ACTIONS + Player.MAX_NUMBER_OF_FIGURES * figureDestinations.length + graph.getNodeCount();
+    }
+
+    /**
+     * This method writes every action the current player may take to the buffers.
+     * Entries that do not fit into the buffers are dropped.
+     *
+     * @param moves        buffer for the encoded actions
+     * @param destinations buffer for the flat index of the cell each action ends on, -1 for rolling and skipping
+     * @return the number of actions written
+     */
+    public int generate(int[] moves, int[] destinations) {
+        Player player = session.getCurrentPlayer();
+        if (session.getWinner() != null) {
+            return INTEGER_DEFAULT_INITIAL_VALUE;
+        }
+
+        int capacity = Math.min(moves.length, destinations.length);
+        boolean hasRolledDice = player.getDice() != Session.NON_EXISTENT_DICE_NUMBER_VALUE;
+        boolean hasObstacle = player.getPendingObstacle() != null;
+        int count = INTEGER_DEFAULT_INITIAL_VALUE;
+
+        if (!hasRolledDice) {
+            count = add(moves, destinations, count, capacity, encode(ROLL_DICE, NO_FIGURE, NO_PATH),
+                    GameBoard.INVALID_INDEX);
+        }
+
+        if (!player.areUsedAllFigures() && session.isEmptyStartingPosition()) {
+            count = add(moves, destinations, count, capacity, encode(NEW_FIGURE, NO_FIGURE, NO_PATH),
+                    board.index(player.getStartPos()));
+        }
+
+        if (hasRolledDice && !hasObstacle && player.getDice() <= MAX_PATH_STEPS) {
+            count = addFigureMoves(player, moves, destinations, count, capacity);
+        }
+
+        if (hasObstacle) {
+            count = addObstacleMoves(moves, destinations, count, capacity);
+        }
+
+        if (hasRolledDice) {
+            count = add(moves, destinations, count, capacity, encode(SKIP_TURN, NO_FIGURE, NO_PATH),
+                    GameBoard.INVALID_INDEX);
+        }
+
+        return count;
+    }
+
+    private int addFigureMoves(Player player, int[] moves, int[] destinations, int count, int capacity) {
+        int result = count;
+        for (int figureIndex = FIRST_FIGURE_INDEX; figureIndex <= Player.MAX_NUMBER_OF_FIGURES; figureIndex++) {
+            Figure figure = player.getPlayingFigure(figureIndex);
+            if (figure == null) {
+                continue;
+            }
+
+            int found = session.findDestinations(figure, figureDestinations, figurePaths);
+            for (int i = START_ITERATION_INDEX; i < found; i++) {
+                result = add(moves, destinations, result, capacity, encode(MOVE, figureIndex, figurePaths[i]),
+                        figureDestinations[i]);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * This method adds a move for every cell the pending obstacle can be placed on.
+     * Two moves in different directions reach every cell of the board, so every cell
+     * of the drop cells of the board is a legal destination.
+     *
+     * @param moves        buffer for the encoded actions
+     * @param destinations buffer for the destinations
+     * @param count        the number of actions already written
+     * @param capacity     the length of the buffers
+     * @return the number of actions written
+     */
+    private int addObstacleMoves(int[] moves, int[] destinations, int count, int capacity) {
+        int result = count;
+        int move = encode(MOVE_OBSTACLE, NO_FIGURE, NO_PATH);
+        CellSet dropCells = board.getDropCells();
+        for (int cell = dropCells.nextIndex(START_ITERATION_INDEX); cell != GameBoard.INVALID_INDEX;
+                cell = dropCells.nextIndex(cell + 1)) {
+            result = add(moves, destinations, result, capacity, move, cell);
+        }
+
+        return result;
+    }
+
+    private static int add(int[] moves, int[] destinations, int count, int capacity, int move, int destination) {
+        if (count >= capacity) {
+            return count;
+        }
+
+        moves[count] = move;
+        destinations[count] = destination;
+        return count + 1;
+    }
+}
@@ -0,0 +1,57 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.enums.CellType;
+
+/**
+ * This class stores everything an action applied by {@link Session#make(int, int)} changed,
+ * so {@link Session#unmake(MoveUndo)} can restore the previous state exactly.
+ * The records are owned by the session and reused, a record is only valid until it is undone.
+ *
+ * @author Programmieren-Team
+ */
+public final class MoveUndo {
+    int move;
+    Player player;
+    int dice;
+    Player winner;
+    CellType pendingObstacleType;
+    CellPosition pendingObstaclePosition;
+    Figure figure;
+    CellPosition figurePosition;
+    int sourceIndex;
+    Figure sourceOccupant;
+    boolean isFromForest;
+    int destinationIndex;
+    Figure destinationOccupant;
+    CellType destinationType;
+    Figure hitFigure;
+    Player hitPlayer;
+    CellPosition hitPosition;
+    boolean isHitRemoved;
+    boolean isHitToForest;
+
+    /**
+     * Getter for the applied action.
+     *
+     * @return the action encoded as by {@link MoveGenerator}
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * This method clears the references and flags of the record before it is reused.
+     */
+    void clear() {
+        figure = null;
+        figurePosition = null;
+        sourceOccupant = null;
+        destinationOccupant = null;
+        destinationType = null;
+        hitFigure = null;
+        hitPlayer = null;
+        hitPosition = null;
+        isFromForest = false;
+        isHitRemoved = false;
+    }
+}
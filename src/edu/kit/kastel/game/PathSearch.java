@@ -0,0 +1,144 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.enums.Direction;
+
+/**
+ * This class finds all cells a figure can end its move on with an exact number of steps.
+ * It follows the rules of the move command: a move never visits a cell twice, obstacles only block
+ * the cells passed on the way, a move cannot end in the forest or on a figure standing on a protected zone.
+ * The search is a depth-limited walk over the board graph with an explicit stack, a branch is cut as soon as
+ * a step is blocked. Every destination is reported once together with the first path found to it.
+ * A path is encoded as the direction ordinals of its steps, two bits per step starting at the lowest bits.
+ *
+ * @author Programmieren-Team
+ */
+public final class PathSearch {
+    /**
+     * Maximum number of steps of a searched path.
+     */
+    public static final int MAX_STEPS = Integer.SIZE / 2 - 1;
+    private static final int BITS_PER_STEP = 2;
+    private static final int STEP_MASK = 0b11;
+    private static final int DIRECTIONS_PER_DISTANCE = 4;
+    private static final int PARITY_STEP = 2;
+    private static final int MIN_STEPS = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final GameBoard board;
+    private final BoardGraph graph;
+    private final VisitedCells foundCells;
+    private final int[] pathNodes = new int[MAX_STEPS + 1];
+    private final int[] edgeCursors = new int[MAX_STEPS + 1];
+
+    /**
+     * This constructor creates a search on the current state of a board.
+     *
+     * @param board the game board, changes to it are seen by later searches
+     */
+    public PathSearch(GameBoard board) {
+        this.board = board;
+        this.graph = board.getGraph();
+        this.foundCells = new VisitedCells(graph);
+    }
+
+    /**
+     * This method returns the number of destinations a search with the given number of steps can find at most.
+     * Buffers of this length never run out of space.
+     *
+     * @param steps the number of steps
+     * @return the maximum number of destinations
+     */
+    public static int getMaxDestinations(int steps) {
+        int count = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int distance = steps; distance >= MIN_STEPS; distance -= PARITY_STEP) {
+            count += DIRECTIONS_PER_DISTANCE * distance;
+        }
+
+        return count;
+    }
+
+    /**
+     * This method returns the direction of a step of an encoded path.
+     *
+     * @param path the encoded path
+     * @param step the index of the step, starting at zero
+     * @return the direction
+     */
+    public static Direction getStep(int path, int step) {
+        return DIRECTIONS[path >>> step * BITS_PER_STEP & STEP_MASK];
+    }
+
+    /**
+     * This method finds all cells a figure can end on with exactly the given number of steps.
+     * The destinations are written to the buffers in the order they are found, entries that do not fit
+     * into the buffers are dropped.
+     *
+     * @param startIndex   flat index of the cell of the figure
+     * @param steps        the number of steps, between 1 and {@link #MAX_STEPS}
+     * @param destinations buffer for the flat indices of the destinations
+     * @param paths        buffer for the encoded path to each destination
+     * @return the number of destinations written
+     */
+    public int findDestinations(int startIndex, int steps, int[] destinations, int[] paths) {
+        int startNode = graph.getNode(startIndex);
+        if (steps < MIN_STEPS || steps > MAX_STEPS || startNode == BoardGraph.NO_NODE) {
+            return INTEGER_DEFAULT_INITIAL_VALUE;
+        }
+
+        int capacity = Math.min(destinations.length, paths.length);
+        int count = INTEGER_DEFAULT_INITIAL_VALUE;
+        int path = INTEGER_DEFAULT_INITIAL_VALUE;
+        int depth = START_ITERATION_INDEX;
+        foundCells.clear();
+        pathNodes[depth] = startNode;
+        edgeCursors[depth] = graph.getEdgeStart(startNode);
+
+        while (depth >= START_ITERATION_INDEX) {
+            int edge = edgeCursors[depth]++;
+            if (edge == graph.getEdgeEnd(pathNodes[depth])) {
+                depth--;
+                continue;
+            }
+
+            int next = graph.getEdgeTarget(edge);
+            if (isOnPath(next, depth)) {
+                continue;
+            }
+
+            int shift = depth * BITS_PER_STEP;
+            int cell = graph.getCell(next);
+            path = path & ~(STEP_MASK << shift) | graph.getEdgeDirection(edge) << shift;
+
+            if (depth + 1 < steps) {
+                // obstacles and nothing else block the cells passed on the way
+                if (!board.hasObstacle(cell)) {
+                    depth++;
+                    pathNodes[depth] = next;
+                    edgeCursors[depth] = graph.getEdgeStart(next);
+                }
+            } else if (isFreeDestination(cell) && foundCells.add(cell) && count < capacity) {
+                destinations[count] = cell;
+                paths[count] = path;
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private boolean isOnPath(int node, int depth) {
+        for (int i = START_ITERATION_INDEX; i <= depth; i++) {
+            if (pathNodes[i] == node) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isFreeDestination(int cell) {
+        return board.isFreeToMove(cell, true) && !(board.hasFigure(cell) && board.isProtectedZone(cell));
+    }
+}
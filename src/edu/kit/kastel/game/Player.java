@@ -1,17 +1,16 @@
 package edu.kit.kastel.game;
 
+import edu.kit.kastel.enums.CellType;
 import edu.kit.kastel.utils.InputOutputHandler;
-import edu.kit.kastel.utils.Utility;
 
 import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
 
 import static edu.kit.kastel.game.Session.NON_EXISTENT_DICE_NUMBER_VALUE;
-import static edu.kit.kastel.utils.SessionsHelper.RESERVED_CHARACTERS;
 
 /**
  * This class represents a player.
+ * The state of its figures is stored in the figure registry of the session.
  *
  * @author Programmieren-Team
  */
@@ -24,35 +23,67 @@ public final class Player {
     private static final String SENTENCE_WORDS_SEPARATOR_SYMBOL = " ";
     private static final String KEY_VALUE_SEPARATOR = ": ";
     private static final int START_ITERATION_INDEX = 0;
+    private static final int NO_PENDING_OBSTACLE = -1;
     private static final int START_PLAYER_COUNTING_INDEX_VALUE = 1;
     private static final String NOT_ROLLED_DICE_SYMBOL = "?";
     private static final String DICE_ROLL_INFO_STRING = "Dice Roll";
     private static final String PLAYER_PREFIX_MESSAGE = "It's player ";
     private static final String PLAYER_TURN_SUFFIX_MESSAGE = "'s turn.";
+    private static final int FIGURE_NAME_LENGTH = 2;
+    private static final int FIGURE_LETTER_INDEX = 0;
+    private static final int FIGURE_NUMBER_INDEX = 1;
+    private static final char FIRST_DIGIT_SYMBOL = '0';
 
-    private final Queue<Figure> unusedFiguresQueue = new LinkedList<>();
-    private final Queue<Figure> playingFiguresQueue = new LinkedList<>();
+    private final FigureRegistry registry;
     private final char name;
+    private final int index;
     private final CellPosition startPos;
+    private final GameCell obstacleCell = new GameCell(CellType.OBSTACLE, null, true);
     private int dice;
     private GameCell pendingObstacle;
+    private long hash;
 
     /**
-     * This constructor creates a player with given name, dice, start position.
+     * This constructor creates a player with given name, index, dice, start position.
+     * Its figures are registered as unused figures.
      *
      * @param name        the name
+     * @param index       the index of the player in the session
      * @param dice        the dice
      * @param startPos the start position
+     * @param registry    the figure registry of the session
      */
-    public Player(char name, int dice, CellPosition startPos) {
+    public Player(char name, int index, int dice, CellPosition startPos, FigureRegistry registry) {
         this.name = name;
+        this.index = index;
         this.dice = dice;
-        this.startPos = new CellPosition(startPos);
+        this.startPos = startPos;
+        this.registry = registry;
 
         for (int i = START_PLAYER_COUNTING_INDEX_VALUE; i <= MAX_NUMBER_OF_FIGURES; i++) {
-            unusedFiguresQueue.add(new Figure(name, i));
+            registry.register(new Figure(name, i, FigureRegistry.getId(index, i)));
         }
         this.pendingObstacle = null;
+        updateHash();
+    }
+
+    /**
+     * This is a copy constructor. The copy reads the state of its figures from the given registry,
+     * which has to be a copy of the registry of the player.
+     *
+     * @param player   the player to copy
+     * @param registry the figure registry of the copy
+     */
+    Player(Player player, FigureRegistry registry) {
+        this.name = player.name;
+        this.index = player.index;
+        this.dice = player.dice;
+        this.startPos = player.startPos;
+        this.registry = registry;
+        this.hash = player.hash;
+        if (player.pendingObstacle != null) {
+            pickUpObstacle(player.pendingObstacle.getType(), player.pendingObstacle.getPos());
+        }
     }
 
     /**
@@ -62,17 +93,19 @@ public final class Player {
      *
      * @param nrPlayers          the number of players
      * @param startingPositions  the starting positions
+     * @param registry           the figure registry of the session
      * @return the list of players
      */
     public static LinkedList<Player> createPlayersList(int nrPlayers,
-                                                       Map<Character, CellPosition> startingPositions) {
+                                                       Map<Character, CellPosition> startingPositions,
+                                                       FigureRegistry registry) {
         LinkedList<Player> players = new LinkedList<>();
         for (int i = START_ITERATION_INDEX; i < nrPlayers; i++) {
-            char playerChar = Utility.getLetterFromNumber(i, RESERVED_CHARACTERS);
+            char playerChar = TurnScheduler.getLetter(i);
             // get starting position
             CellPosition position = startingPositions.get(playerChar);
 
-            Player p = new Player(playerChar, NON_EXISTENT_DICE_NUMBER_VALUE, position);
+            Player p = new Player(playerChar, i, NON_EXISTENT_DICE_NUMBER_VALUE, position, registry);
             players.add(p);
         }
 
@@ -102,15 +135,47 @@ public final class Player {
      * @return created figure
      */
     public Figure addNewFigureToGame() {
-        if (unusedFiguresQueue.isEmpty()) {
-            return null;
+        Figure figure = registry.takeFirstUnused(index);
+        if (figure != null) {
+            updateHash();
         }
 
-        Figure figure = unusedFiguresQueue.poll();
-        playingFiguresQueue.add(figure);
         return figure;
     }
 
+    /**
+     * This method takes back the figure added last by {@link #addNewFigureToGame()}.
+     * It becomes the next unused figure again.
+     *
+     * @param figure the figure
+     */
+    void returnNewFigure(Figure figure) {
+        registry.returnFirstUnused(figure);
+        updateHash();
+    }
+
+    /**
+     * This method moves a hit figure from the playing field to the unused figures without printing anything.
+     *
+     * @param figure the figure
+     * @return true if the figure was on the playing field
+     */
+    boolean removeHitFigure(Figure figure) {
+        boolean isRemoved = registry.release(figure);
+        updateHash();
+        return isRemoved;
+    }
+
+    /**
+     * This method undoes {@link #removeHitFigure(Figure)}.
+     *
+     * @param figure the figure
+     */
+    void restoreHitFigure(Figure figure) {
+        registry.restoreReleased(figure);
+        updateHash();
+    }
+
     /**
      * This method checks if the figure is on the playing field.
      * If it is, it returns the figure. If it is not, it returns null.
@@ -119,13 +184,24 @@ public final class Player {
      * @return the figure
      */
     public Figure checkIfFigureOnPlayingField(String figureName) {
-        for (Figure figure : this.playingFiguresQueue) {
-            if (figure.toString().equals(figureName)) {
-                return figure;
-            }
+        if (figureName.length() != FIGURE_NAME_LENGTH || figureName.charAt(FIGURE_LETTER_INDEX) != name) {
+            return null;
         }
 
-        return null;
+        int figureIndex = figureName.charAt(FIGURE_NUMBER_INDEX) - FIRST_DIGIT_SYMBOL;
+        return figureIndex < START_PLAYER_COUNTING_INDEX_VALUE || figureIndex > MAX_NUMBER_OF_FIGURES
+                ? null
+                : getPlayingFigure(figureIndex);
+    }
+
+    /**
+     * This method returns a figure by its index if it is on the playing field.
+     *
+     * @param figureIndex the index of the figure, starting at one
+     * @return the figure or null if it is not on the playing field
+     */
+    public Figure getPlayingFigure(int figureIndex) {
+        return registry.getPlayingFigure(index, figureIndex);
     }
 
     /**
@@ -140,16 +216,36 @@ public final class Player {
     /**
      * Setter for pending obstacle.
      * If the pending obstacle is null, it is set to null.
+     * The type and the position of the given cell are copied to the cell the player keeps for its pending obstacle.
      *
      * @param pendingObstacle the game cell of the pending obstacle
      */
     public void setPendingObstacle(GameCell pendingObstacle) {
         if (pendingObstacle == null) {
             this.pendingObstacle = null;
-            return;
+            updateHash();
+        } else {
+            pickUpObstacle(pendingObstacle.getType(), pendingObstacle.getPos());
+        }
+    }
+
+    /**
+     * This method makes an obstacle the pending obstacle. The player reuses one cell for all its pending obstacles,
+     * so picking up an obstacle does not allocate.
+     *
+     * @param type     the type of the obstacle or null for no pending obstacle
+     * @param position the position the obstacle was picked up from
+     */
+    void pickUpObstacle(CellType type, CellPosition position) {
+        if (type == null) {
+            this.pendingObstacle = null;
+        } else {
+            obstacleCell.setType(type);
+            obstacleCell.setPosition(position);
+            this.pendingObstacle = obstacleCell;
         }
 
-        this.pendingObstacle = new GameCell(pendingObstacle);
+        updateHash();
     }
 
     /**
@@ -158,7 +254,7 @@ public final class Player {
      * @return true if all figures are used, false otherwise
      */
     public boolean areUsedAllFigures() {
-        return this.unusedFiguresQueue.isEmpty();
+        return registry.getUnusedCount(index) == START_ITERATION_INDEX;
     }
 
     /**
@@ -177,26 +273,7 @@ public final class Player {
             return;
         }
 
-        Queue<Figure> tempQueue = new LinkedList<>();
-
-        boolean removed = false;
-
-        while (!playingFiguresQueue.isEmpty()) {
-            Figure current = playingFiguresQueue.poll();
-
-            if (current.toString().equals(figure.toString()) && !removed) {
-                unusedFiguresQueue.add(current);
-                removed = true;
-            } else {
-                // If it doesn't match, add it to the temporary queue
-                tempQueue.add(current);
-            }
-        }
-
-        // Restore the elements back to the playingFiguresQueue
-        playingFiguresQueue.addAll(tempQueue);
-
-        if (!removed) {
+        if (!removeHitFigure(figure)) {
             InputOutputHandler.showError(INVALID_FIGURE_TO_HIT_ERROR_MESSAGE);
         }
     }
@@ -210,6 +287,15 @@ public final class Player {
         return name;
     }
 
+    /**
+     * Getter for index.
+     *
+     * @return the index of the player in the session
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Getter for dice.
      *
@@ -226,6 +312,22 @@ public final class Player {
      */
     public void setDice(int dice) {
         this.dice = dice;
+        updateHash();
+    }
+
+    /**
+     * Getter for the Zobrist hash of the dice, the pending obstacle and the number of unused figures,
+     * see {@link ZobristKeys}.
+     *
+     * @return the hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    private void updateHash() {
+        int obstacleType = pendingObstacle == null ? NO_PENDING_OBSTACLE : pendingObstacle.getType().ordinal();
+        hash = ZobristKeys.playerKey(index, dice, registry.getUnusedCount(index), obstacleType);
     }
 
     /**
@@ -0,0 +1,30 @@
+package edu.kit.kastel.game;
+
+import java.util.Random;
+
+/**
+ * This class is a simulation policy choosing every action with the same probability.
+ *
+ * @author Programmieren-Team
+ */
+public final class RandomPolicy implements SimulationPolicy {
+    /**
+     * Name of the policy used by the simulate command.
+     */
+    public static final String NAME = "random";
+
+    /**
+     * This method chooses a random action.
+     *
+     * @param session      the session, it is not used
+     * @param moves        the actions, they are not used
+     * @param destinations the destinations, they are not used
+     * @param count        the number of actions
+     * @param random       the random generator of the game
+     * @return the index of the chosen action
+     */
+    @Override
+    public int choose(Session session, int[] moves, int[] destinations, int count, Random random) {
+        return random.nextInt(count);
+    }
+}
@@ -0,0 +1,206 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.utils.SessionsHelper;
+import edu.kit.kastel.utils.Utility;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class plays complete games without a user, every player is controlled by the same policy.
+ * Games are played on their own sessions with {@link Session#make(int, int)}, which does not print anything.
+ * Every game gets its own random generators for the dice and for the policy, seeded from the simulation seed
+ * and the number of the game. Independent games are played in parallel on a fork/join pool and their results
+ * are added up, so a simulation gives the same result for the same seed with any number of threads.
+ *
+ * @author Programmieren-Team
+ */
+public final class SelfPlaySimulator {
+    /**
+     * Number of turns after which a game is stopped without a winner, if no other limit is given.
+     */
+    public static final int DEFAULT_MAX_TURNS = 2000;
+    private static final String SESSION_ID = "simulation";
+    private static final int TASKS_PER_THREAD = 8;
+    private static final int SINGLE_GAME = 1;
+    private static final long POLICY_SEED_DOMAIN = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final String filePath;
+    private final GameBoard template;
+    private final int nrOfPlayers;
+    private final SimulationPolicy[] seats;
+    private final int maxTurns;
+    private final CellPosition[] startPositions;
+
+    /**
+     * This constructor creates a simulator for a map.
+     *
+     * @param filePath    the file path of the map
+     * @param template    the map template, checked by {@link SessionsHelper#isPlayableMap(GameBoard, int)}
+     * @param nrOfPlayers the number of players
+     * @param policy      the policy of all players
+     * @param maxTurns    the number of turns after which a game is stopped without a winner
+     */
+    public SelfPlaySimulator(String filePath, GameBoard template, int nrOfPlayers, SimulationPolicy policy,
+                             int maxTurns) {
+        this.filePath = filePath;
+        this.template = template;
+        this.maxTurns = maxTurns;
+
+        template.getGraph();
+
+        TurnScheduler turns = SessionsHelper.createSession(SESSION_ID, filePath, template, nrOfPlayers)
+                .getTurnScheduler();
+        this.nrOfPlayers = turns.getPlayerCount();
+        this.seats = new SimulationPolicy[this.nrOfPlayers];
+        Arrays.fill(seats, policy);
+        this.startPositions = new CellPosition[this.nrOfPlayers];
+        for (int i = START_ITERATION_INDEX; i < this.nrOfPlayers; i++) {
+            startPositions[i] = turns.getPlayer(i).getStartPos();
+        }
+    }
+
+    /**
+     * Getter for the number of players of every game.
+     * It can be lower than requested, as for the start session command, if a map has fewer starting positions.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return nrOfPlayers;
+    }
+
+    /**
+     * Getter for the starting position of a player.
+     *
+     * @param playerIndex the index of the player
+     * @return the starting position
+     */
+    public CellPosition getStartPosition(int playerIndex) {
+        return startPositions[playerIndex];
+    }
+
+    /**
+     * This method plays games in parallel and returns their combined result.
+     *
+     * @param seed        the seed of the simulation
+     * @param games       the number of games
+     * @param parallelism the number of threads, at most {@link SimulationPolicies#MAX_NR_OF_THREADS}
+     * @return the result of all games
+     */
+    public SimulationResult run(long seed, int games, int parallelism) {
+        int gamesPerTask = (int) Math.max(SINGLE_GAME, games / ((long) parallelism * TASKS_PER_THREAD));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new SimulationTask(this, seed, INTEGER_DEFAULT_INITIAL_VALUE, games, gamesPerTask));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * This method plays a range of games one after another.
+     *
+     * @param seed      the seed of the simulation
+     * @param firstGame the number of the first game
+     * @param endGame   the number after the last game
+     * @return the result of the games
+     */
+    SimulationResult play(long seed, int firstGame, int endGame) {
+        SimulationResult result = createResult();
+        for (int game = firstGame; game < endGame; game++) {
+            playGame(seed, game, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * This method creates an empty result for the games of this simulator.
+     *
+     * @return the result
+     */
+    SimulationResult createResult() {
+        return new SimulationResult(nrOfPlayers, maxTurns);
+    }
+
+    /**
+     * This method plays one game on a session until a player wins or the turn limit is reached.
+     * A turn ends when the next player is on turn or the game is won.
+     *
+     * @param session      the new session of the game, the winner is set on it
+     * @param policies     the policy of every player by the index of the player
+     * @param diceRandom   the random generator for the dice, the policies do not draw from it
+     * @param policyRandom the random generator for the policies
+     * @param maxTurns     the number of turns after which the game is stopped without a winner
+     * @return the number of turns played
+     */
+    public static int playGame(Session session, SimulationPolicy[] policies, Random diceRandom, Random policyRandom,
+                               int maxTurns) {
+        MoveGenerator generator = new MoveGenerator(session);
+        int[] moves = new int[generator.getMaxMoves()];
+        int[] destinations = new int[moves.length];
+
+        int turns = INTEGER_DEFAULT_INITIAL_VALUE;
+        while (session.getWinner() == null && turns < maxTurns) {
+            int count = generator.generate(moves, destinations);
+            int choice = policies[session.getCurrentPlayer().getIndex()].choose(session, moves, destinations, count,
+                    policyRandom);
+            int move = moves[choice];
+            if (MoveGenerator.getKind(move) == MoveGenerator.ROLL_DICE) {
+                move = MoveGenerator.encodeRoll(Utility.getRandomRollDiceNumber(diceRandom));
+            }
+
+            Player player = session.getCurrentPlayer();
+            session.make(move, destinations[choice]);
+            session.clearUndoRecords();
+            if (session.getCurrentPlayer() != player || session.getWinner() != null) {
+                turns++;
+            }
+        }
+
+        return turns;
+    }
+
+    /**
+     * This method derives the seed of a game from the seed of the simulation, see {@link SplitMix}.
+     * The dice of the game are rolled by a generator with this seed.
+     *
+     * @param seed the seed of the simulation
+     * @param game the number of the game
+     * @return the seed of the game
+     */
+    public static long getGameSeed(long seed, int game) {
+        return SplitMix.mix(seed, game + 1L);
+    }
+
+    /**
+     * This method derives the seed of the policies of a game from the seed of the simulation.
+     * It is mixed once more from the seed of the game, so the policies draw from a different sequence than the dice.
+     *
+     * @param seed the seed of the simulation
+     * @param game the number of the game
+     * @return the seed of the policies of the game
+     */
+    public static long getPolicySeed(long seed, int game) {
+        return SplitMix.mix(getGameSeed(seed, game), POLICY_SEED_DOMAIN);
+    }
+
+    /**
+     * This method plays one game of the simulation.
+     *
+     * @param seed   the seed of the simulation
+     * @param game   the number of the game
+     * @param result the result the outcome is added to
+     */
+    private void playGame(long seed, int game, SimulationResult result) {
+        Session session = SessionsHelper.createSession(SESSION_ID, filePath, template, nrOfPlayers);
+        int turns = playGame(session, seats, new Random(getGameSeed(seed, game)),
+                new Random(getPolicySeed(seed, game)), maxTurns);
+        Player winner = session.getWinner();
+        result.addGame(winner == null ? SimulationResult.NO_WINNER : winner.getIndex(), turns);
+    }
+}
@@ -2,16 +2,15 @@ package edu.kit.kastel.game;
 
 import edu.kit.kastel.enums.CellType;
 import edu.kit.kastel.utils.InputOutputHandler;
+import edu.kit.kastel.utils.MoveCommandTokenizer;
 import edu.kit.kastel.utils.MoveCommandsHelper;
 import edu.kit.kastel.utils.Utility;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 
-import static edu.kit.kastel.utils.SessionsHelper.RESERVED_CHARACTERS;
 import static edu.kit.kastel.utils.Utility.INVALID_INTEGER_VALUE;
 
 /**
@@ -35,42 +34,106 @@ public final class Session {
     private static final String SEED_INFO_STRING = "Seed";
     private static final String MAP_INFO_STRING = "Map";
     private static final int START_ITERATION_INDEX = 0;
+    private static final int FIRST_FIGURE_INDEX = 1;
+    private static final int MAX_UNDO_DEPTH = 512;
 
     private final String id;
     private final String fileToField;
     private final int seed;
-    private final GameCell[][] originalGameMatrix;
+    private final GameBoard originalBoard;
     private final Map<Character, CellPosition> startingPositions;
     private final Forest forest;
-    private final LinkedList<Player> players;
+    private final TurnScheduler turns;
+    private final FigureRegistry figureRegistry;
+    private final VisitedCells visitedCells;
+    private final PathSearch pathSearch;
+    private final TargetDistances targetDistances;
+    private final MoveCommandTokenizer commandTokenizer;
     private boolean isActive;
-    private GameCell[][] gameMatrix;
+    private GameBoard board;
     private Player currentPlayer;
     private final Random random;
+    private final SimulationPolicy[] bots;
+    private Random botRandom;
+    private MoveGenerator botMoveGenerator;
+    private int[] botMoves;
+    private int[] botDestinations;
     private Player winner;
+    private MoveUndo[] undoStack;
+    private int undoDepth;
 
     /**
      * This constructor initializes a session.
      * @param id          the session id
      * @param fileToField the file to field
      * @param nrPlayers   number of players
-     * @param gameMatrix  the game matrix
+     * @param board       the map template, it is not modified by the session
      * @param startingPositions starting positions
      * @param seed seed
      * @param forest forest
      */
-    public Session(String id, String fileToField, int nrPlayers, GameCell[][] gameMatrix,
+    public Session(String id, String fileToField, int nrPlayers, GameBoard board,
                    Map<Character, CellPosition> startingPositions, int seed, Forest forest) {
         this.id = id;
         this.fileToField = fileToField;
         this.startingPositions = startingPositions;
-        this.players = Player.createPlayersList(Math.min(nrPlayers, startingPositions.size()), startingPositions);
-        this.currentPlayer = this.players.getFirst();
+        int nrOfPlayers = Math.min(nrPlayers, startingPositions.size());
+        this.figureRegistry = new FigureRegistry(nrOfPlayers);
+        this.turns = new TurnScheduler(Player.createPlayersList(nrOfPlayers, startingPositions, figureRegistry));
+        this.currentPlayer = this.turns.getFirstPlayer();
         this.seed = seed;
         this.random = hasSeed() ? new Random(this.seed) : null;
-        this.gameMatrix = gameMatrix;
-        this.originalGameMatrix = this.getMatrix(false);
+        this.bots = new SimulationPolicy[nrOfPlayers];
+        this.originalBoard = board;
+        this.board = new GameBoard(board);
+        this.visitedCells = new VisitedCells(this.board.getGraph());
+        this.pathSearch = new PathSearch(this.board);
+        this.targetDistances = new TargetDistances(this.board);
+        this.commandTokenizer = new MoveCommandTokenizer();
         this.forest = forest;
+        if (forest != null) {
+            forest.setRegistry(figureRegistry);
+        }
+    }
+
+    /**
+     * This is a copy constructor for searching moves. The copy shares the map template with the session,
+     * but has its own board overlay, players, figures and forest, so actions applied to it by
+     * {@link #make(int, int)} do not change the session. It has no seed and no bots, the outcome of the dice
+     * is chosen by the caller of {@link #make(int, int)}.
+     * @param session the session to copy
+     */
+    Session(Session session) {
+        this.id = session.id;
+        this.fileToField = session.fileToField;
+        this.startingPositions = session.startingPositions;
+        this.figureRegistry = new FigureRegistry(session.figureRegistry);
+
+        TurnScheduler sessionTurns = session.turns;
+        List<Player> players = new ArrayList<>(sessionTurns.getPlayerCount());
+        for (int i = START_ITERATION_INDEX; i < sessionTurns.getPlayerCount(); i++) {
+            players.add(new Player(sessionTurns.getPlayer(i), figureRegistry));
+        }
+        this.turns = new TurnScheduler(players);
+        for (int i = START_ITERATION_INDEX; i < sessionTurns.getPlayerCount(); i++) {
+            turns.setActive(i, sessionTurns.isActive(i));
+        }
+
+        this.currentPlayer = turns.getPlayer(session.currentPlayer.getIndex());
+        this.winner = session.winner == null ? null : turns.getPlayer(session.winner.getIndex());
+        this.seed = INVALID_INTEGER_VALUE;
+        this.random = null;
+        this.bots = new SimulationPolicy[turns.getPlayerCount()];
+        this.originalBoard = session.originalBoard;
+        this.board = new GameBoard(session.board, figureRegistry);
+        this.visitedCells = new VisitedCells(this.board.getGraph());
+        this.pathSearch = new PathSearch(this.board);
+        this.targetDistances = new TargetDistances(this.board);
+        this.commandTokenizer = new MoveCommandTokenizer();
+        this.forest = session.forest == null ? null : new Forest(session.forest);
+        if (forest != null) {
+            forest.setRegistry(figureRegistry);
+        }
     }
 
     /**
@@ -79,7 +142,8 @@ public final class Session {
      */
     public String toString() {
         String idInfo = id + (isActive ? ACTIVE_SESSION_SYMBOL : EMPTY_STRING_SYMBOL);
-        String playerInfo = PLAYERS_INFO_STRING + KEY_VALUE_SEPARATOR + Utility.mergeLettersWithComma(players);
+        String playerInfo = PLAYERS_INFO_STRING + KEY_VALUE_SEPARATOR
+                + Utility.mergeLettersWithComma(turns.getPlayers());
         String mapInfo = MAP_INFO_STRING + KEY_VALUE_SEPARATOR + fileToField;
         String seedInfo = INFO_SEPARATOR + SEED_INFO_STRING + KEY_VALUE_SEPARATOR + seed;
 
@@ -96,12 +160,23 @@ public final class Session {
      * @return the cell
      */
     public GameCell placeFigureOnMatrix(CellPosition oldPos, CellPosition pos, Figure figure) {
-        GameCell cell = this.gameMatrix[pos.getRow()][pos.getColumn()];
-        Figure f = cell.getFigure();
+        int index = placeFigure(oldPos, pos, figure);
+        return index == INVALID_INTEGER_VALUE ? null : board.getCell(index);
+    }
+
+    /**
+     * This method places a figure on the board and returns the flat index of the modified cell.
+     * @param oldPos the old position
+     * @param pos    the new position
+     * @param figure the figure
+     * @return the flat index of the cell or -1 if the figure could not be placed
+     */
+    private int placeFigure(CellPosition oldPos, CellPosition pos, Figure figure) {
+        int index = board.index(pos);
 
         // handle hit player method if needed
-        if (handleHitPlayer(cell, f)) {
-            return null;
+        if (handleHitPlayer(index)) {
+            return INVALID_INTEGER_VALUE;
         }
 
         // process visited game cell, remove figure etc.
@@ -109,30 +184,28 @@ public final class Session {
 
         // place figure on new cell
         figure.setPosition(pos);
-        cell.setPosition(pos);
-        cell.setFigure(figure);
-        this.gameMatrix[pos.getRow()][pos.getColumn()] = cell;
-        return cell;
+        board.setFigure(index, figure);
+        return index;
     }
 
     private void handleOldPositionChanges(CellPosition oldPos, Figure figure) {
         if (oldPos.isValidPosition()) {
-            if (forest != null && oldPos.equals(forest.getPos())) {
-                Figure forestFigure = forest.getFigureByName(figure.toString());
-                forest.removeFigure(forestFigure);
+            if (isForestPosition(oldPos)) {
+                forest.removeFigure(figure);
                 this.updateForestSymbol();
             } else {
-                this.gameMatrix[oldPos.getRow()][oldPos.getColumn()].setFigure(null);
+                board.setFigure(board.index(oldPos), null);
             }
         }
     }
 
-    private boolean handleHitPlayer(GameCell cell, Figure f) {
-        if (cell.hasFigure()) {
+    private boolean handleHitPlayer(int index) {
+        if (board.hasFigure(index)) {
             // found enemy player to hit
-            Player enemy = Utility.findPlayerByFigure(f, players);
+            Figure f = board.getFigure(index);
+            Player enemy = turns.getPlayer(FigureRegistry.getPlayerIndex(f.getId()));
 
-            if (cell.isProtectedZone()) {
+            if (board.isProtectedZone(index)) {
                 InputOutputHandler.showError(PROTECTED_ZONE_HIT_FIGURE_ERROR_MESSAGE);
                 return true;
             }
@@ -150,46 +223,59 @@ public final class Session {
      * @return true if the starting position is empty, false otherwise
      */
     public boolean isEmptyStartingPosition() {
-        CellPosition startingPosition = this.startingPositions.get(currentPlayer.getName());
-
-        return !this.gameMatrix[startingPosition.getRow()][startingPosition.getColumn()].hasFigure();
+        return !board.hasFigure(board.index(currentPlayer.getStartPos()));
     }
 
     /**
      * This method changes the current player.
      */
     public void changeCurrentPlayer() {
-        this.currentPlayer.setDice(-1);
-        int currentIndex = this.players.indexOf(currentPlayer);
-
-        if (currentIndex != INVALID_INTEGER_VALUE && currentIndex < players.size() - 1) {
-            this.currentPlayer = this.players.get(currentIndex + 1);
-        } else if (currentIndex + 1 >= players.size()) {
-            this.currentPlayer = this.players.getFirst();
-        }
-
+        advanceCurrentPlayer();
         InputOutputHandler.printPlayerTurn(this.currentPlayer.getName());
     }
 
+    /**
+     * This method changes the current player without printing the next turn.
+     */
+    private void advanceCurrentPlayer() {
+        this.currentPlayer.setDice(-1);
+        this.currentPlayer = this.turns.getNextPlayer(currentPlayer);
+    }
+
     /**
      * This method handles the move command. It moves the figure in the given directions.
-     * @param figure     the figure
-     * @param directions the directions
+     * @param figure    the figure
+     * @param steps     the steps encoded by {@link MoveCommandTokenizer}
+     * @param stepCount the number of steps
      */
-    public void handleMove(Figure figure, String[] directions) {
+    public void handleMove(Figure figure, int[] steps, int stepCount) {
         CellPosition initialPos = figure.getPosition();
+        int initialIndex = board.index(initialPos);
 
-        List<CellPosition> visited = new ArrayList<>();
-        visited.add(new CellPosition(initialPos));
+        visitedCells.clear();
+        visitedCells.add(initialIndex);
 
-        CellPosition newPos = MoveCommandsHelper.processMoveSteps(directions, currentPlayer.getDice(),
-                initialPos, visited, gameMatrix);
+        int newIndex = MoveCommandsHelper.processMoveSteps(steps, stepCount, currentPlayer.getDice(),
+                initialIndex, visitedCells, board);
 
-        if (newPos == null) {
+        if (newIndex == GameBoard.INVALID_INDEX) {
             return;
         }
 
-        processFigureMoving(initialPos, newPos, figure);
+        processFigureMoving(initialPos, board.getPosition(newIndex), figure);
+    }
+
+    /**
+     * This method finds all cells a figure of the current player can end its move on with the rolled dice.
+     * Every destination is returned with one path to it, see {@link PathSearch}.
+     * @param figure       the figure
+     * @param destinations buffer for the flat indices of the destinations
+     * @param paths        buffer for the encoded paths
+     * @return the number of destinations
+     */
+    public int findDestinations(Figure figure, int[] destinations, int[] paths) {
+        return pathSearch.findDestinations(board.index(figure.getPosition()), currentPlayer.getDice(),
+                destinations, paths);
     }
 
     /**
@@ -199,14 +285,14 @@ public final class Session {
      * @param figure     the figure
      */
     private void processFigureMoving(CellPosition initialPos, CellPosition newPos, Figure figure) {
-        GameCell lastModifiedCell = this.placeFigureOnMatrix(initialPos, newPos, figure);
+        int lastModifiedIndex = this.placeFigure(initialPos, newPos, figure);
 
-        if (lastModifiedCell != null) {
-            if (lastModifiedCell.hasObstacle()) {
-                this.removeObstacleFromMatrix(lastModifiedCell);
-            } else if (!lastModifiedCell.isTarget()) {
+        if (lastModifiedIndex != INVALID_INTEGER_VALUE) {
+            if (board.hasObstacle(lastModifiedIndex)) {
+                this.removeObstacleFromMatrix(lastModifiedIndex);
+            } else if (!board.isTarget(lastModifiedIndex)) {
                 this.changeCurrentPlayer();
-            } else if (lastModifiedCell.isTarget()) {
+            } else {
                 this.winner = this.currentPlayer;
                 InputOutputHandler.printWinner(this.currentPlayer.getName());
             }
@@ -215,14 +301,15 @@ public final class Session {
 
     /**
      * This method handles the move obstacle command. It moves the obstacle in the given direction.
-     * @param directions the directions
+     * @param steps     the steps encoded by {@link MoveCommandTokenizer}
+     * @param stepCount the number of steps
      */
-    public void handleMoveObstacle(String[] directions) {
+    public void handleMoveObstacle(int[] steps, int stepCount) {
         if (this.getCurrentPlayer().getPendingObstacle() == null) {
             InputOutputHandler.showError(NOT_AVAILABLE_COMMAND_ERROR_MESSAGE);
         }
 
-        if (MoveCommandsHelper.processMoveObstacleSteps(directions, this)) {
+        if (MoveCommandsHelper.processMoveObstacleSteps(steps, stepCount, this)) {
             processObstacleMoving();
         }
     }
@@ -232,24 +319,244 @@ public final class Session {
      */
     private void processObstacleMoving() {
         GameCell obstacle = currentPlayer.getPendingObstacle();
-        obstacle.setHasFigure(false);
-        CellPosition obstaclePos = obstacle.getPos();
-        this.gameMatrix[obstaclePos.getRow()][obstaclePos.getColumn()] = obstacle;
-        this.currentPlayer.setPendingObstacle(null);
+        placePendingObstacle(board.index(obstacle.getPos()));
         this.changeCurrentPlayer();
     }
 
+    /**
+     * This method places the pending obstacle of the current player on a cell.
+     * @param index flat index of the cell
+     */
+    private void placePendingObstacle(int index) {
+        GameCell obstacle = currentPlayer.getPendingObstacle();
+        board.setType(index, obstacle.getType());
+        board.setFigure(index, null);
+        targetDistances.handleObstaclePlaced(index);
+        this.currentPlayer.setPendingObstacle(null);
+    }
+
     /**
      * This method is called when a figure removes an obstacle from matrix
      * and places it temporarily in the player's pending obstacle.
-     * @param cell the cell where teh obstacle is placed
+     * @param index flat index of the cell where the obstacle is placed
      */
-    private void removeObstacleFromMatrix(GameCell cell) {
-        this.getCurrentPlayer().setPendingObstacle(cell);
-        CellType cellType = cell.getType();
-        CellPosition pos = cell.getPos();
-        this.gameMatrix[pos.getRow()][pos.getColumn()].setHasObstacle(false,
-                cellType == CellType.OBSTACLE_VILLAGE);
+    private void removeObstacleFromMatrix(int index) {
+        this.getCurrentPlayer().pickUpObstacle(board.getType(index), board.getPosition(index));
+        board.setHasObstacle(index, false, board.getType(index) == CellType.OBSTACLE_VILLAGE);
+        targetDistances.handleObstacleRemoved(index);
+    }
+
+    /**
+     * This method applies an action of the current player without printing anything.
+     * The action must have been generated by a {@link MoveGenerator} for the current state together with
+     * its destination, rolling the dice is applied with an outcome encoded by {@link MoveGenerator#encodeRoll(int)}.
+     * The returned record lives on a fixed-size stack of the session, records must be undone in reverse order.
+     * @param move        the encoded action
+     * @param destination flat index of the cell the action ends on, ignored for rolling and skipping
+     * @return the undo record or null if the stack is full and nothing was applied
+     */
+    public MoveUndo make(int move, int destination) {
+        if (undoStack == null) {
+            undoStack = new MoveUndo[MAX_UNDO_DEPTH];
+        }
+
+        if (undoDepth == MAX_UNDO_DEPTH) {
+            return null;
+        }
+
+        if (undoStack[undoDepth] == null) {
+            undoStack[undoDepth] = new MoveUndo();
+        }
+
+        MoveUndo undo = undoStack[undoDepth++];
+        undo.clear();
+        undo.move = move;
+        undo.player = currentPlayer;
+        undo.dice = currentPlayer.getDice();
+        undo.winner = winner;
+        GameCell pendingObstacle = currentPlayer.getPendingObstacle();
+        undo.pendingObstacleType = pendingObstacle == null ? null : pendingObstacle.getType();
+        undo.pendingObstaclePosition = pendingObstacle == null ? null : pendingObstacle.getPos();
+        undo.destinationIndex = destination;
+
+        switch (MoveGenerator.getKind(move)) {
+            case MoveGenerator.ROLL_DICE -> currentPlayer.setDice(MoveGenerator.getDice(move));
+            case MoveGenerator.NEW_FIGURE -> makeNewFigure(undo);
+            case MoveGenerator.MOVE -> makeFigureMove(undo, currentPlayer.getPlayingFigure(
+                    MoveGenerator.getFigureIndex(move)));
+            case MoveGenerator.MOVE_OBSTACLE -> {
+                undo.destinationType = board.getType(destination);
+                placePendingObstacle(destination);
+                advanceCurrentPlayer();
+            }
+            default -> advanceCurrentPlayer();
+        }
+
+        return undo;
+    }
+
+    private void makeNewFigure(MoveUndo undo) {
+        Figure figure = currentPlayer.addNewFigureToGame();
+        undo.figure = figure;
+        undo.figurePosition = figure.getPosition();
+        undo.destinationOccupant = board.getFigure(undo.destinationIndex);
+        figure.setPosition(currentPlayer.getStartPos());
+        board.setFigure(undo.destinationIndex, figure);
+    }
+
+    /**
+     * This method moves a figure the same way as the move command, but records every change.
+     * @param undo   the undo record
+     * @param figure the moved figure
+     */
+    private void makeFigureMove(MoveUndo undo, Figure figure) {
+        int destination = undo.destinationIndex;
+        undo.figure = figure;
+        undo.figurePosition = figure.getPosition();
+        undo.sourceIndex = board.index(figure.getPosition());
+        undo.destinationOccupant = board.getFigure(destination);
+        undo.destinationType = board.getType(destination);
+
+        Figure occupant = undo.destinationOccupant;
+        if (occupant != null) {
+            Player enemy = turns.getPlayer(FigureRegistry.getPlayerIndex(occupant.getId()));
+            if (enemy != currentPlayer) {
+                makeHit(undo, occupant, enemy);
+            }
+        }
+
+        if (isForestPosition(undo.figurePosition)) {
+            undo.isFromForest = forest.contains(figure);
+            forest.removeFigure(figure);
+            this.updateForestSymbol();
+        } else {
+            undo.sourceOccupant = board.getFigure(undo.sourceIndex);
+            board.setFigure(undo.sourceIndex, null);
+        }
+
+        figure.setPosition(board.getPosition(destination));
+        board.setFigure(destination, figure);
+
+        if (board.hasObstacle(destination)) {
+            this.removeObstacleFromMatrix(destination);
+        } else if (!board.isTarget(destination)) {
+            this.advanceCurrentPlayer();
+        } else {
+            this.winner = this.currentPlayer;
+        }
+    }
+
+    private void makeHit(MoveUndo undo, Figure figure, Player enemy) {
+        undo.hitFigure = figure;
+        undo.hitPlayer = enemy;
+        undo.hitPosition = figure.getPosition();
+        undo.isHitToForest = forest != null;
+        if (forest != null) {
+            forest.addFigure(figure);
+            figure.setPosition(forest.getPos());
+            this.updateForestSymbol();
+        } else {
+            undo.isHitRemoved = enemy.removeHitFigure(figure);
+        }
+    }
+
+    /**
+     * This method drops all undo records, the actions applied so far cannot be undone anymore.
+     * It allows playing a game of any length with {@link #make(int, int)}.
+     */
+    public void clearUndoRecords() {
+        this.undoDepth = START_ITERATION_INDEX;
+    }
+
+    /**
+     * This method restores the state before an action applied by {@link #make(int, int)}.
+     * Only the record on top of the stack can be undone, other records are ignored.
+     * @param undo the undo record
+     */
+    public void unmake(MoveUndo undo) {
+        if (undoDepth == START_ITERATION_INDEX || undoStack[undoDepth - 1] != undo) {
+            return;
+        }
+
+        undoDepth--;
+        int destination = undo.destinationIndex;
+        switch (MoveGenerator.getKind(undo.move)) {
+            case MoveGenerator.NEW_FIGURE -> {
+                board.setFigure(destination, undo.destinationOccupant);
+                undo.figure.setPosition(undo.figurePosition);
+                undo.player.returnNewFigure(undo.figure);
+            }
+            case MoveGenerator.MOVE -> unmakeFigureMove(undo);
+            case MoveGenerator.MOVE_OBSTACLE -> {
+                board.setType(destination, undo.destinationType);
+                targetDistances.handleObstacleRemoved(destination);
+            }
+            default -> {
+            }
+        }
+
+        this.currentPlayer = undo.player;
+        this.currentPlayer.setDice(undo.dice);
+        this.currentPlayer.pickUpObstacle(undo.pendingObstacleType, undo.pendingObstaclePosition);
+        this.winner = undo.winner;
+    }
+
+    private void unmakeFigureMove(MoveUndo undo) {
+        int destination = undo.destinationIndex;
+        if (board.getType(destination) != undo.destinationType) {
+            board.setType(destination, undo.destinationType);
+            targetDistances.handleObstaclePlaced(destination);
+        }
+
+        board.setFigure(destination, undo.destinationOccupant);
+        undo.figure.setPosition(undo.figurePosition);
+
+        boolean isForestChanged = isForestPosition(undo.figurePosition);
+        if (undo.isFromForest) {
+            forest.addFigure(undo.figure);
+        } else if (!isForestChanged) {
+            board.setFigure(undo.sourceIndex, undo.sourceOccupant);
+        }
+
+        if (undo.hitFigure != null && undo.isHitToForest) {
+            forest.removeFigure(undo.hitFigure);
+            undo.hitFigure.setPosition(undo.hitPosition);
+            isForestChanged = true;
+        } else if (undo.hitFigure != null && undo.isHitRemoved) {
+            undo.hitPlayer.restoreHitFigure(undo.hitFigure);
+        }
+
+        if (isForestChanged) {
+            this.updateForestSymbol();
+        }
+    }
+
+    private boolean isForestPosition(CellPosition position) {
+        return forest != null && position.equals(forest.getPos());
+    }
+
+    /**
+     * This method returns the Zobrist hash of the game state, see {@link ZobristKeys}.
+     * The board, the forest and every player keep their part of the hash up to date on each change,
+     * so the parts only have to be combined with the current player and the winner.
+     * Equal states have equal hashes, the order of figures in queues and in the forest is not part of the state.
+     * @return the hash
+     */
+    public long stateHash() {
+        long hash = board.getHash() ^ ZobristKeys.currentPlayerKey(currentPlayer.getIndex());
+        if (forest != null) {
+            hash ^= forest.getHash();
+        }
+
+        if (winner != null) {
+            hash ^= ZobristKeys.winnerKey(winner.getIndex());
+        }
+
+        for (int i = START_ITERATION_INDEX; i < turns.getPlayerCount(); i++) {
+            hash ^= turns.getPlayer(i).getHash();
+        }
+
+        return hash;
     }
 
     /**
@@ -274,31 +581,105 @@ public final class Session {
      * @return the original fgame matrix
      */
     public GameCell[][] getMatrix(boolean isOriginalMatrix) {
-        return Utility.getMatrixCopy(isOriginalMatrix && originalGameMatrix != null ? originalGameMatrix : gameMatrix);
+        return (isOriginalMatrix ? originalBoard : board).toMatrix();
     }
 
     /**
-     * Rematch session. Starts a new game with the same players.
+     * Getter for the live game board.
+     * @return the game board
      */
-    public void rematchSession() {
-        int nrPlayers = this.players.size();
-        this.players.clear();
+    public GameBoard getBoard() {
+        return board;
+    }
 
-        for (int i = START_ITERATION_INDEX; i < nrPlayers; i++) {
-            char playerChar = Utility.getLetterFromNumber(i, RESERVED_CHARACTERS);
-            CellPosition pos = startingPositions.get(playerChar);
+    /**
+     * Getter for the tokenizer of the move commands of this session.
+     * @return the command tokenizer
+     */
+    public MoveCommandTokenizer getCommandTokenizer() {
+        return commandTokenizer;
+    }
 
-            Player p = new Player(playerChar, NON_EXISTENT_DICE_NUMBER_VALUE, pos);
-            this.players.add(p);
+    /**
+     * Getter for the scheduler of the turns of the players.
+     * @return the turn scheduler
+     */
+    public TurnScheduler getTurnScheduler() {
+        return turns;
+    }
+
+    /**
+     * Getter for the registry of the figures of all players.
+     * @return the figure registry
+     */
+    public FigureRegistry getFigureRegistry() {
+        return figureRegistry;
+    }
 
-            if (i == START_ITERATION_INDEX) {
-                this.currentPlayer = this.players.getFirst();
-                InputOutputHandler.printPlayerTurn(this.currentPlayer.getName());
+    /**
+     * Getter for the distances of the cells to the target, kept up to date while obstacles are moved.
+     * @return the target distances
+     */
+    public TargetDistances getTargetDistances() {
+        return targetDistances;
+    }
+
+    /**
+     * This method returns the distance to the target of the closest figure of a player on the board.
+     * Figures in the forest are not counted.
+     * @param playerIndex the index of the player
+     * @return the number of steps or {@link TargetDistances#UNREACHABLE} if no figure can reach the target
+     */
+    public int getClosestTargetDistance(int playerIndex) {
+        int closest = TargetDistances.UNREACHABLE;
+        for (int figureIndex = FIRST_FIGURE_INDEX; figureIndex <= Player.MAX_NUMBER_OF_FIGURES; figureIndex++) {
+            Figure figure = figureRegistry.getPlayingFigure(playerIndex, figureIndex);
+            if (figure == null || figureRegistry.getState(figure) == FigureRegistry.IN_FOREST) {
+                continue;
+            }
+
+            int distance = targetDistances.getDistance(board.index(figure.getPosition()));
+            if (distance != TargetDistances.UNREACHABLE
+                    && (closest == TargetDistances.UNREACHABLE || distance < closest)) {
+                closest = distance;
             }
         }
 
+        return closest;
+    }
+
+    /**
+     * Getter for the cells with an obstacle, kept up to date with every change of the board.
+     * @return the read only set of cells
+     */
+    public CellSet getObstacleCells() {
+        return board.getObstacleCells();
+    }
+
+    /**
+     * Getter for the cells the pending obstacle can be dropped on, kept up to date with every change of the board.
+     * @return the read only set of cells
+     */
+    public CellSet getDropCells() {
+        return board.getDropCells();
+    }
+
+    /**
+     * Rematch session. Starts a new game with the same players.
+     */
+    public void rematchSession() {
+        this.figureRegistry.clear();
+        this.turns.setPlayers(Player.createPlayersList(turns.getPlayerCount(), startingPositions, figureRegistry));
+        this.currentPlayer = this.turns.getFirstPlayer();
+        InputOutputHandler.printPlayerTurn(this.currentPlayer.getName());
+
         this.winner = null;
-        this.gameMatrix = getMatrix(true);
+        this.undoDepth = START_ITERATION_INDEX;
+        this.board.resetOverlay();
+        this.targetDistances.recompute();
+        if (forest != null) {
+            forest.clear();
+        }
     }
 
     /**
@@ -314,7 +695,7 @@ public final class Session {
      * @return row length
      */
     public int getMatrixRowLength() {
-        return this.gameMatrix.length;
+        return board.getRowLength();
     }
 
     /**
@@ -322,7 +703,7 @@ public final class Session {
      * @return column length
      */
     public int getMatrixColumnLength() {
-        return this.gameMatrix[0].length;
+        return board.getColumnLength();
     }
 
     /**
@@ -353,7 +734,7 @@ public final class Session {
      * Updates the forest with needed symbol (f or F).
      */
     public void updateForestSymbol() {
-        this.gameMatrix[forest.position.getRow()][forest.position.getColumn()].setType(forest.getType());
+        board.setType(board.index(forest.getPos()), forest.getType());
     }
 
     /**
@@ -362,7 +743,7 @@ public final class Session {
      * @return cell type
      */
     public CellType getCellType(CellPosition position) {
-        return this.gameMatrix[position.getRow()][position.getColumn()].getType();
+        return board.getType(board.index(position));
     }
 
     /**
@@ -371,7 +752,7 @@ public final class Session {
      * @return true if it has a figure, false otherwise
      */
     public boolean hasMatrixCellFigure(CellPosition pos) {
-        return this.gameMatrix[pos.getRow()][pos.getColumn()].hasFigure();
+        return board.hasFigure(board.index(pos));
     }
 
     /**
@@ -381,4 +762,69 @@ public final class Session {
     public Random getRandom() {
         return random;
     }
+
+    /**
+     * Getter for the bot playing the turns of a player.
+     * @param player the player
+     * @return the bot or null if the player is controlled by the user
+     */
+    public SimulationPolicy getBot(Player player) {
+        return bots[player.getIndex()];
+    }
+
+    /**
+     * Setter for the bot playing the turns of a player. Bots stay assigned to their player after a rematch.
+     * @param playerIndex the index of the player
+     * @param bot         the bot or null to give the player back to the user
+     */
+    public void setBot(int playerIndex, SimulationPolicy bot) {
+        bots[playerIndex] = bot;
+    }
+
+    /**
+     * Getter for the move generator used to play the turns of bots.
+     * It is created with its buffers the first time a bot plays and reused by all later turns.
+     * @return the move generator
+     */
+    public MoveGenerator getBotMoveGenerator() {
+        if (botMoveGenerator == null) {
+            botMoveGenerator = new MoveGenerator(this);
+            botMoves = new int[botMoveGenerator.getMaxMoves()];
+            botDestinations = new int[botMoves.length];
+        }
+
+        return botMoveGenerator;
+    }
+
+    /**
+     * Getter for the buffer of the actions generated for bots, see {@link #getBotMoveGenerator()}.
+     * @return the buffer of the encoded actions
+     */
+    public int[] getBotMoves() {
+        getBotMoveGenerator();
+        return botMoves;
+    }
+
+    /**
+     * Getter for the buffer of the destinations of the actions generated for bots, see {@link #getBotMoveGenerator()}.
+     * @return the buffer of the destinations
+     */
+    public int[] getBotDestinations() {
+        getBotMoveGenerator();
+        return botDestinations;
+    }
+
+    /**
+     * Getter for the random generator of the bots, it is separate from the dice, so searching does not change
+     * the rolled numbers. If the session has a seed, the generator is seeded from it, so games of bots with
+     * an iteration budget can be reproduced.
+     * @return the random generator of the bots
+     */
+    public Random getBotRandom() {
+        if (botRandom == null) {
+            botRandom = hasSeed() ? new Random(~(long) seed) : new Random();
+        }
+
+        return botRandom;
+    }
 }
@@ -0,0 +1,104 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.enums.SearchMode;
+import edu.kit.kastel.utils.Utility;
+
+/**
+ * This class creates the simulation policies by their names and holds what the search policies share:
+ * the budget values and finding the action a search chose among the generated actions.
+ *
+ * @author Programmieren-Team
+ */
+public final class SimulationPolicies {
+    /**
+     * Time budget per action in milliseconds, if no other budget is given.
+     */
+    public static final int DEFAULT_TIME_BUDGET_MILLIS = 100;
+    /**
+     * Budget value that does not limit the search.
+     */
+    public static final int UNLIMITED = 0;
+    /**
+     * Number of nanoseconds per millisecond, budgets are given in milliseconds and measured in nanoseconds.
+     */
+    static final long NANOS_PER_MILLI = 1_000_000L;
+    /**
+     * Largest number of threads of a search or a simulation, more threads than processors only add contention.
+     */
+    public static final int MAX_NR_OF_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int MIN_NR_OF_THREADS = 1;
+    private static final int START_ITERATION_INDEX = 0;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private SimulationPolicies() {
+    }
+
+    /**
+     * This method creates a policy that does not search by its name.
+     * These policies keep no state, so one instance can be shared by all games and threads.
+     *
+     * @param name the name of the policy
+     * @return the policy or null if the name is not random or greedy
+     */
+    public static SimulationPolicy create(String name) {
+        return switch (name) {
+            case RandomPolicy.NAME -> new RandomPolicy();
+            case GreedyPolicy.NAME -> new GreedyPolicy();
+            default -> null;
+        };
+    }
+
+    /**
+     * This method creates a policy by its name.
+     * The deterministic search mode needs a limited number of iterations and no time budget.
+     * The expectimax policy takes the number of iterations as its depth and does not use threads.
+     *
+     * @param name             the name of the policy
+     * @param timeBudgetMillis the time budget of a search per action in milliseconds
+     * @param maxIterations    the number of iterations of a search per action
+     * @param threads          the number of threads of a search, at most {@link #MAX_NR_OF_THREADS}
+     * @param mode             the search mode or null if it is not valid
+     * @return the policy or null if the name, the budget, the number of threads or the mode is not valid
+     */
+    public static SimulationPolicy create(String name, int timeBudgetMillis, int maxIterations, int threads,
+                                          SearchMode mode) {
+        return switch (name) {
+            case MctsPolicy.NAME -> timeBudgetMillis == Utility.INVALID_INTEGER_VALUE
+                    || maxIterations == Utility.INVALID_INTEGER_VALUE
+                    || timeBudgetMillis == UNLIMITED && maxIterations == UNLIMITED
+                    || threads < MIN_NR_OF_THREADS || threads > MAX_NR_OF_THREADS || mode == null
+                    || mode == SearchMode.DETERMINISTIC && (timeBudgetMillis != UNLIMITED
+                    || maxIterations == UNLIMITED)
+                    ? null
+                    : new MctsPolicy(timeBudgetMillis, maxIterations, threads, mode);
+            case ExpectimaxPolicy.NAME -> timeBudgetMillis == Utility.INVALID_INTEGER_VALUE
+                    || maxIterations == Utility.INVALID_INTEGER_VALUE
+                    || timeBudgetMillis == UNLIMITED && maxIterations == UNLIMITED
+                    ? null
+                    : new ExpectimaxPolicy(timeBudgetMillis, maxIterations);
+            default -> create(name);
+        };
+    }
+
+    /**
+     * This method returns the index of an action in the actions given to {@link SimulationPolicy#choose}.
+     *
+     * @param moves        the encoded actions
+     * @param destinations the destinations of the actions
+     * @param count        the number of actions
+     * @param move         the encoded action to find
+     * @param destination  the destination of the action to find
+     * @return the index of the action or zero if it is not found
+     */
+    static int findAction(int[] moves, int[] destinations, int count, int move, int destination) {
+        for (int i = START_ITERATION_INDEX; i < count; i++) {
+            if (moves[i] == move && destinations[i] == destination) {
+                return i;
+            }
+        }
+
+        return START_ITERATION_INDEX;
+    }
+}
@@ -0,0 +1,31 @@
+package edu.kit.kastel.game;
+
+import java.util.Random;
+
+/**
+ * This interface is a strategy choosing the actions of all players in games played by the {@link SelfPlaySimulator}.
+ * One policy is shared by all games and threads of a simulation, so it must not keep state between calls.
+ * Every random decision has to use the given random generator, which keeps the games reproducible.
+ *
+ * @author Programmieren-Team
+ */
+public interface SimulationPolicy {
+    /**
+     * This method chooses one of the actions the current player may take.
+     *
+     * @param session      the session, it must not be changed
+     * @param moves        the actions encoded by {@link MoveGenerator}
+     * @param destinations the cell each action ends on, see {@link MoveGenerator#generate(int[], int[])}
+     * @param count        the number of actions, at least one
+     * @param random       the random generator of the game
+     * @return the index of the chosen action
+     */
+    int choose(Session session, int[] moves, int[] destinations, int count, Random random);
+
+    /**
+     * This method forgets what the policy kept from earlier games, so a policy reused for a new game
+     * plays it the same way as a new policy would. Policies without such state do nothing.
+     */
+    default void reset() {
+    }
+}
@@ -0,0 +1,139 @@
+package edu.kit.kastel.game;
+
+/**
+ * This class collects the outcome of simulated games: the wins per player, the games without a winner
+ * and how many turns the games took. Results of parts of a simulation are combined by adding them up,
+ * so the combined result does not depend on how the games were split between threads.
+ *
+ * @author Programmieren-Team
+ */
+public final class SimulationResult {
+    /**
+     * Winner index of a game that reached the turn limit without a winner.
+     */
+    public static final int NO_WINNER = -1;
+    private static final int NO_PERCENTILE = -1;
+    private static final int PERCENT = 100;
+    private static final int SINGLE_GAME = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final long[] wins;
+    private final long[] turnCounts;
+    private long games;
+    private long draws;
+    private long totalTurns;
+
+    /**
+     * This constructor creates an empty result.
+     *
+     * @param nrOfPlayers the number of players of every game
+     * @param maxTurns    the largest number of turns a game can take
+     */
+    public SimulationResult(int nrOfPlayers, int maxTurns) {
+        this.wins = new long[nrOfPlayers];
+        this.turnCounts = new long[maxTurns + 1];
+    }
+
+    /**
+     * This method adds the outcome of a game.
+     *
+     * @param winnerIndex the index of the winner or {@link #NO_WINNER}
+     * @param turns       the number of turns of the game
+     */
+    public void addGame(int winnerIndex, int turns) {
+        games++;
+        totalTurns += turns;
+        turnCounts[turns]++;
+        if (winnerIndex == NO_WINNER) {
+            draws++;
+        } else {
+            wins[winnerIndex]++;
+        }
+    }
+
+    /**
+     * This method adds the outcomes of another result with the same number of players and turns.
+     *
+     * @param result the other result
+     */
+    public void merge(SimulationResult result) {
+        games += result.games;
+        draws += result.draws;
+        totalTurns += result.totalTurns;
+        for (int i = START_ITERATION_INDEX; i < wins.length; i++) {
+            wins[i] += result.wins[i];
+        }
+
+        for (int i = START_ITERATION_INDEX; i < turnCounts.length; i++) {
+            turnCounts[i] += result.turnCounts[i];
+        }
+    }
+
+    /**
+     * Getter for the number of games.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Getter for the number of games without a winner.
+     *
+     * @return the number of draws
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * Getter for the number of games won by a player.
+     *
+     * @param playerIndex the index of the player
+     * @return the number of wins
+     */
+    public long getWins(int playerIndex) {
+        return wins[playerIndex];
+    }
+
+    /**
+     * Getter for the number of turns of all games together.
+     *
+     * @return the number of turns
+     */
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    /**
+     * Getter for the number of games that took a number of turns.
+     *
+     * @param turns the number of turns
+     * @return the number of games
+     */
+    public long getGamesWithTurns(int turns) {
+        return turnCounts[turns];
+    }
+
+    /**
+     * This method returns the smallest number of turns that at least the given share of games did not exceed.
+     * Zero percent is the shortest game, one hundred percent the longest.
+     *
+     * @param percent the share of games in percent
+     * @return the number of turns or -1 if there are no games
+     */
+    public int getTurnPercentile(int percent) {
+        long needed = Math.max(SINGLE_GAME, (games * percent + PERCENT - 1) / PERCENT);
+        long seen = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int turns = START_ITERATION_INDEX; turns < turnCounts.length; turns++) {
+            seen += turnCounts[turns];
+            if (seen >= needed) {
+                return turns;
+            }
+        }
+
+        return NO_PERCENTILE;
+    }
+}
@@ -0,0 +1,57 @@
+package edu.kit.kastel.game;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class plays a range of simulated games on a fork/join pool.
+ * The range is split in halves until it is small enough to be played by the worker thread.
+ *
+ * @author Programmieren-Team
+ */
+final class SimulationTask extends RecursiveTask<SimulationResult> {
+    private static final long serialVersionUID = 1L;
+    private static final int HALF_DIVISOR = 2;
+
+    private final transient SelfPlaySimulator simulator;
+    private final long seed;
+    private final int firstGame;
+    private final int endGame;
+    private final int gamesPerTask;
+
+    /**
+     * This constructor creates a task for a range of games.
+     *
+     * @param simulator    the simulator playing the games
+     * @param seed         the seed of the simulation
+     * @param firstGame    the number of the first game of the range
+     * @param endGame      the number after the last game of the range
+     * @param gamesPerTask the number of games played without splitting the range
+     */
+    SimulationTask(SelfPlaySimulator simulator, long seed, int firstGame, int endGame, int gamesPerTask) {
+        this.simulator = simulator;
+        this.seed = seed;
+        this.firstGame = firstGame;
+        this.endGame = endGame;
+        this.gamesPerTask = gamesPerTask;
+    }
+
+    /**
+     * Compute method override.
+     * It plays the range of games or splits it in halves and adds up their results.
+     *
+     * @return the result of the range
+     */
+    @Override
+    protected SimulationResult compute() {
+        if (endGame - firstGame <= gamesPerTask) {
+            return simulator.play(seed, firstGame, endGame);
+        }
+
+        int middle = firstGame + (endGame - firstGame) / HALF_DIVISOR;
+        SimulationTask second = new SimulationTask(simulator, seed, middle, endGame, gamesPerTask);
+        second.fork();
+        SimulationResult result = new SimulationTask(simulator, seed, firstGame, middle, gamesPerTask).compute();
+        result.merge(second.join());
+        return result;
+    }
+}
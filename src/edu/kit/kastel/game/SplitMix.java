@@ -0,0 +1,37 @@
+package edu.kit.kastel.game;
+
+/**
+ * This class provides the mixing function of the SplitMix64 generator.
+ * It is used wherever a well distributed number has to be derived from a few small numbers,
+ * the keys of the Zobrist hash and the seeds of simulated games.
+ *
+ * @author Programmieren-Team
+ */
+final class SplitMix {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long FIRST_MIX_MULTIPLIER = 0xBF58476D1CE4E5B9L;
+    private static final long SECOND_MIX_MULTIPLIER = 0x94D049BB133111EBL;
+    private static final int FIRST_MIX_SHIFT = 30;
+    private static final int SECOND_MIX_SHIFT = 27;
+    private static final int THIRD_MIX_SHIFT = 31;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private SplitMix() {
+    }
+
+    /**
+     * This method returns the number the SplitMix64 generator started at a value produces after a number of steps.
+     *
+     * @param value the start value
+     * @param steps the number of steps
+     * @return the mixed number
+     */
+    static long mix(long value, long steps) {
+        long z = value + steps * GOLDEN_GAMMA;
+        z = (z ^ z >>> FIRST_MIX_SHIFT) * FIRST_MIX_MULTIPLIER;
+        z = (z ^ z >>> SECOND_MIX_SHIFT) * SECOND_MIX_MULTIPLIER;
+        return z ^ z >>> THIRD_MIX_SHIFT;
+    }
+}
@@ -0,0 +1,261 @@
+package edu.kit.kastel.game;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the number of steps from every walkable cell of a board to the target.
+ * Cells with an obstacle can be reached, but a path cannot pass them, the same way as for a figure move.
+ * The distances are computed once and repaired when an obstacle is placed or removed:
+ * a removed obstacle can only shorten distances, which are lowered by a search starting at its cell,
+ * a placed obstacle can only lengthen the distances of the cells whose every shortest path passed it,
+ * only these cells are recomputed from their unaffected neighbours.
+ *
+ * @author Programmieren-Team
+ */
+public final class TargetDistances {
+    /**
+     * Distance of cells that cannot reach the target or are not walkable.
+     */
+    public static final int UNREACHABLE = BoardGraph.UNREACHABLE;
+    private static final int INFINITE_DISTANCE = Integer.MAX_VALUE;
+    private static final int NO_GENERATION = 0;
+    private static final int DISTANCE_SHIFT = Integer.SIZE;
+    private static final long NODE_MASK = 0xFFFFFFFFL;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final GameBoard board;
+    private final BoardGraph graph;
+    private final int targetNode;
+    private final int[] distances;
+    private final int[] queue;
+    private final int[] affectedStamps;
+    private final long[] seeds;
+    private int generation;
+
+    /**
+     * This constructor computes the distances for the current obstacles of a board.
+     *
+     * @param board the game board, obstacle changes must be reported to this object
+     */
+    public TargetDistances(GameBoard board) {
+        this.board = board;
+        this.graph = board.getGraph();
+        this.distances = new int[graph.getNodeCount()];
+        this.queue = new int[graph.getNodeCount()];
+        this.affectedStamps = new int[graph.getNodeCount()];
+        this.seeds = new long[graph.getNodeCount()];
+        this.generation = NO_GENERATION;
+
+        int target = BoardGraph.NO_NODE;
+        for (int node = START_ITERATION_INDEX; node < graph.getNodeCount() && target == BoardGraph.NO_NODE; node++) {
+            if (graph.isTarget(node)) {
+                target = node;
+            }
+        }
+        this.targetNode = target;
+
+        recompute();
+    }
+
+    /**
+     * This method computes all distances from scratch.
+     */
+    public void recompute() {
+        Arrays.fill(distances, INFINITE_DISTANCE);
+        if (targetNode != BoardGraph.NO_NODE) {
+            distances[targetNode] = INTEGER_DEFAULT_INITIAL_VALUE;
+            propagate(targetNode);
+        }
+    }
+
+    /**
+     * Getter for the distance of a cell.
+     *
+     * @param index flat index of the cell
+     * @return the number of steps to the target or -1 if the target cannot be reached
+     */
+    public int getDistance(int index) {
+        int node = graph.getNode(index);
+        if (node == BoardGraph.NO_NODE || distances[node] == INFINITE_DISTANCE) {
+            return UNREACHABLE;
+        }
+
+        return distances[node];
+    }
+
+    /**
+     * This method updates the distances after the obstacle of a cell has been removed from the board.
+     *
+     * @param index flat index of the cell
+     */
+    public void handleObstacleRemoved(int index) {
+        int node = graph.getNode(index);
+        if (distances[node] != INFINITE_DISTANCE) {
+            propagate(node);
+        }
+    }
+
+    /**
+     * This method updates the distances after an obstacle has been placed on a cell of the board.
+     *
+     * @param index flat index of the cell
+     */
+    public void handleObstaclePlaced(int index) {
+        int blockedNode = graph.getNode(index);
+        if (distances[blockedNode] == INFINITE_DISTANCE) {
+            return;
+        }
+
+        int affectedCount = collectAffected(blockedNode);
+        if (affectedCount == INTEGER_DEFAULT_INITIAL_VALUE) {
+            return;
+        }
+
+        // seed every affected cell with its best unaffected neighbour and search in order of distance
+        for (int i = START_ITERATION_INDEX; i < affectedCount; i++) {
+            distances[queue[i]] = INFINITE_DISTANCE;
+        }
+        int seedCount = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int i = START_ITERATION_INDEX; i < affectedCount; i++) {
+            int node = queue[i];
+            int distance = getBestNeighbourDistance(node);
+            if (distance != INFINITE_DISTANCE) {
+                distances[node] = distance + 1;
+                seeds[seedCount++] = (long) distances[node] << DISTANCE_SHIFT | node;
+            }
+        }
+
+        Arrays.sort(seeds, START_ITERATION_INDEX, seedCount);
+        repair(seedCount);
+    }
+
+    /**
+     * This method collects the cells whose every shortest path passed the blocked cell into the queue.
+     * Cells are visited in order of distance, so all affected cells of a distance are known
+     * before the cells one step further are checked.
+     *
+     * @param blockedNode the node with the new obstacle
+     * @return the number of affected nodes
+     */
+    private int collectAffected(int blockedNode) {
+        nextGeneration();
+        int head = START_ITERATION_INDEX;
+        int tail = START_ITERATION_INDEX;
+        int current = blockedNode;
+        while (true) {
+            for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+                int next = graph.getEdgeTarget(edge);
+                if (affectedStamps[next] != generation && distances[next] == distances[current] + 1
+                        && !hasSupport(next)) {
+                    affectedStamps[next] = generation;
+                    queue[tail++] = next;
+                }
+            }
+
+            // the blocked node and affected nodes with obstacles do not lead anywhere
+            do {
+                if (head == tail) {
+                    return tail;
+                }
+                current = queue[head++];
+            } while (!isPassable(current));
+        }
+    }
+
+    private boolean hasSupport(int node) {
+        for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+            int neighbour = graph.getEdgeTarget(edge);
+            if (distances[neighbour] == distances[node] - 1 && affectedStamps[neighbour] != generation
+                    && isPassable(neighbour)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int getBestNeighbourDistance(int node) {
+        int best = INFINITE_DISTANCE;
+        for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+            int neighbour = graph.getEdgeTarget(edge);
+            if (affectedStamps[neighbour] != generation && isPassable(neighbour)) {
+                best = Math.min(best, distances[neighbour]);
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * This method lowers distances of affected nodes, taking the closest node from the sorted seeds
+     * or the queue of improved nodes next.
+     *
+     * @param seedCount the number of seeds, they are sorted by distance
+     */
+    private void repair(int seedCount) {
+        int seed = START_ITERATION_INDEX;
+        int head = START_ITERATION_INDEX;
+        int tail = START_ITERATION_INDEX;
+        while (seed < seedCount || head < tail) {
+            int node;
+            if (head == tail || seed < seedCount && seeds[seed] >>> DISTANCE_SHIFT <= distances[queue[head]]) {
+                node = (int) (seeds[seed++] & NODE_MASK);
+                if (seeds[seed - 1] >>> DISTANCE_SHIFT != distances[node]) {
+                    continue;
+                }
+            } else {
+                node = queue[head++];
+            }
+
+            if (!isPassable(node)) {
+                continue;
+            }
+            for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+                int next = graph.getEdgeTarget(edge);
+                if (distances[node] + 1 < distances[next]) {
+                    distances[next] = distances[node] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method lowers the distances of all nodes that can be reached shorter through the given node.
+     *
+     * @param source the node to start from, its distance must be final
+     */
+    private void propagate(int source) {
+        int head = START_ITERATION_INDEX;
+        int tail = START_ITERATION_INDEX;
+        queue[tail++] = source;
+        while (head < tail) {
+            int node = queue[head++];
+            if (!isPassable(node)) {
+                continue;
+            }
+
+            for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+                int next = graph.getEdgeTarget(edge);
+                if (distances[node] + 1 < distances[next]) {
+                    distances[next] = distances[node] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    private boolean isPassable(int node) {
+        return node == targetNode || !board.hasObstacle(graph.getCell(node));
+    }
+
+    private void nextGeneration() {
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(affectedStamps, NO_GENERATION);
+            generation = NO_GENERATION;
+        }
+
+        generation++;
+    }
+}
@@ -0,0 +1,177 @@
+package edu.kit.kastel.game;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the values of searched states in two primitive long arrays of a fixed size.
+ * Every state hash maps to a bucket of two entries: the first keeps the deepest search of the current
+ * search and is only replaced by a search at least as deep or by a newer search, the second always takes
+ * the latest entry. An entry stores its data and the hash xor the data, so an entry that was torn by two
+ * threads writing at the same time does not match any hash and is ignored. The table needs no locks.
+ * The value, the depth, the kind of bound, the search and the best child are packed into the data,
+ * a bit that is always set tells a stored entry from an empty one.
+ *
+ * @author Programmieren-Team
+ */
+final class TranspositionTable {
+    /**
+     * Kind of bound of a value that is exact.
+     */
+    static final int EXACT = 0;
+    /**
+     * Kind of bound of a value that is at least the real value of the state.
+     */
+    static final int LOWER_BOUND = 1;
+    /**
+     * Kind of bound of a value that is at most the real value of the state.
+     */
+    static final int UPPER_BOUND = 2;
+    /**
+     * Entry returned if no entry matches the hash.
+     */
+    static final long NO_ENTRY = 0L;
+    /**
+     * Best child stored if no child is known.
+     */
+    static final int NO_CHILD = -1;
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int VALUE_BITS = 32;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int USED_SHIFT = 42;
+    private static final int GENERATION_SHIFT = 43;
+    private static final int CHILD_SHIFT = 51;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_MASK = 0x3;
+    private static final int GENERATION_MASK = 0xFF;
+    private static final int CHILD_MASK = 0x1FFF;
+    private static final long USED_BIT = 1L << USED_SHIFT;
+    private static final int ALWAYS_REPLACE_OFFSET = 1;
+    private static final int FIRST_GENERATION = 0;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private int generation;
+
+    /**
+     * This constructor allocates a table.
+     *
+     * @param bucketBits the binary logarithm of the number of buckets
+     */
+    TranspositionTable(int bucketBits) {
+        int buckets = 1 << bucketBits;
+        this.keys = new long[buckets * ENTRIES_PER_BUCKET];
+        this.data = new long[buckets * ENTRIES_PER_BUCKET];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * This method starts a new search, entries of older searches are replaced first.
+     */
+    void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * This method removes all entries, the table is reused as if it was new.
+     */
+    void clear() {
+        Arrays.fill(keys, NO_ENTRY);
+        Arrays.fill(data, NO_ENTRY);
+        generation = FIRST_GENERATION;
+    }
+
+    /**
+     * This method returns the entry of a state.
+     *
+     * @param hash the hash of the state
+     * @return the packed data of the entry or {@link #NO_ENTRY}
+     */
+    long probe(long hash) {
+        int slot = getSlot(hash);
+        for (int i = slot; i < slot + ENTRIES_PER_BUCKET; i++) {
+            long entry = data[i];
+            if (entry != NO_ENTRY && (keys[i] ^ entry) == hash) {
+                return entry;
+            }
+        }
+
+        return NO_ENTRY;
+    }
+
+    /**
+     * This method stores the value of a state.
+     *
+     * @param hash      the hash of the state
+     * @param value     the value
+     * @param depth     the depth of the search of the value
+     * @param bound     the kind of bound of the value
+     * @param bestChild the index of the best child or {@link #NO_CHILD}
+     */
+    void store(long hash, double value, int depth, int bound, int bestChild) {
+        int storedChild = bestChild + 1 < CHILD_MASK ? bestChild + 1 : NO_CHILD + 1;
+        long entry = Float.floatToRawIntBits((float) value) & VALUE_MASK
+                | (long) Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT
+                | (long) bound << BOUND_SHIFT
+                | USED_BIT
+                | (long) generation << GENERATION_SHIFT
+                | (long) storedChild << CHILD_SHIFT;
+        int slot = getSlot(hash);
+        long stored = data[slot];
+        boolean isPreferred = stored == NO_ENTRY || (keys[slot] ^ stored) == hash || getDepth(stored) <= depth
+                || getGeneration(stored) != generation;
+        int target = isPreferred ? slot : slot + ALWAYS_REPLACE_OFFSET;
+        keys[target] = hash ^ entry;
+        data[target] = entry;
+    }
+
+    /**
+     * Getter for the value of an entry.
+     *
+     * @param entry the packed data of the entry
+     * @return the value
+     */
+    static double getValue(long entry) {
+        return Float.intBitsToFloat((int) (entry & VALUE_MASK));
+    }
+
+    /**
+     * Getter for the depth of the search of an entry.
+     *
+     * @param entry the packed data of the entry
+     * @return the depth
+     */
+    static int getDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    /**
+     * Getter for the kind of bound of an entry.
+     *
+     * @param entry the packed data of the entry
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    static int getBound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    /**
+     * Getter for the best child of an entry.
+     *
+     * @param entry the packed data of the entry
+     * @return the index of the child or {@link #NO_CHILD}
+     */
+    static int getBestChild(long entry) {
+        return ((int) (entry >>> CHILD_SHIFT) & CHILD_MASK) - 1;
+    }
+
+    private static int getGeneration(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    private int getSlot(long hash) {
+        return (int) (hash ^ hash >>> Integer.SIZE) & bucketMask * ENTRIES_PER_BUCKET;
+    }
+}
@@ -0,0 +1,171 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.utils.Utility;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static edu.kit.kastel.utils.SessionsHelper.MAX_NR_OF_PLAYERS;
+import static edu.kit.kastel.utils.SessionsHelper.RESERVED_CHARACTERS;
+
+/**
+ * This class decides whose turn is next. The players are stored in an array indexed by their player index,
+ * the turn passes to the next active player in ring order. Players can be made inactive, for example
+ * when they are eliminated, and are skipped until they are active again. The active players are a bitmask,
+ * so finding the next player takes constant time.
+ * The letters of the players are computed once, so converting between a letter and a player index
+ * takes constant time as well.
+ *
+ * @author Programmieren-Team
+ */
+public final class TurnScheduler {
+    /**
+     * Player index returned for a letter that does not belong to a player.
+     */
+    public static final int NO_PLAYER_INDEX = -1;
+    private static final char[] PLAYER_LETTERS = new char[MAX_NR_OF_PLAYERS];
+    private static final int[] PLAYER_INDICES = new int[Character.MAX_VALUE + 1];
+    private static final int NO_PLAYERS = 0;
+    private static final int SINGLE_BIT = 1;
+    private static final int START_ITERATION_INDEX = 0;
+
+    static {
+        Arrays.fill(PLAYER_INDICES, NO_PLAYER_INDEX);
+        for (int i = START_ITERATION_INDEX; i < MAX_NR_OF_PLAYERS; i++) {
+            PLAYER_LETTERS[i] = Utility.getLetterFromNumber(i, RESERVED_CHARACTERS);
+            PLAYER_INDICES[PLAYER_LETTERS[i]] = i;
+        }
+    }
+
+    private final Player[] players;
+    private final List<Player> playerList;
+    private final int allPlayersMask;
+    private int activeMask;
+
+    /**
+     * This constructor creates a scheduler for the players of a session, all of them are active.
+     *
+     * @param players the players ordered by their player index
+     */
+    public TurnScheduler(List<Player> players) {
+        this.players = players.toArray(new Player[0]);
+        this.playerList = Arrays.asList(this.players);
+        this.allPlayersMask = (SINGLE_BIT << this.players.length) - SINGLE_BIT;
+        this.activeMask = allPlayersMask;
+    }
+
+    /**
+     * This method returns the letter of a player.
+     *
+     * @param playerIndex the index of the player
+     * @return the letter
+     */
+    public static char getLetter(int playerIndex) {
+        return PLAYER_LETTERS[playerIndex];
+    }
+
+    /**
+     * This method returns the index of the player with a letter.
+     *
+     * @param letter the letter
+     * @return the player index or -1 if no player can have the letter
+     */
+    public static int getPlayerIndex(char letter) {
+        return PLAYER_INDICES[letter];
+    }
+
+    /**
+     * This method replaces the players for a new game, all of them are active again.
+     *
+     * @param newPlayers the players ordered by their player index, as many as before
+     */
+    public void setPlayers(List<Player> newPlayers) {
+        for (int i = START_ITERATION_INDEX; i < players.length; i++) {
+            players[i] = newPlayers.get(i);
+        }
+
+        activeMask = allPlayersMask;
+    }
+
+    /**
+     * Getter for the players. The list is a read only view ordered by the player index.
+     *
+     * @return the players
+     */
+    public List<Player> getPlayers() {
+        return playerList;
+    }
+
+    /**
+     * Getter for the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return players.length;
+    }
+
+    /**
+     * Getter for a player.
+     *
+     * @param playerIndex the index of the player
+     * @return the player
+     */
+    public Player getPlayer(int playerIndex) {
+        return players[playerIndex];
+    }
+
+    /**
+     * Getter for the player with a letter.
+     *
+     * @param letter the letter
+     * @return the player or null if there is no player with the letter
+     */
+    public Player getPlayerByLetter(char letter) {
+        int playerIndex = getPlayerIndex(letter);
+        return playerIndex == NO_PLAYER_INDEX || playerIndex >= players.length ? null : players[playerIndex];
+    }
+
+    /**
+     * Getter for the first player of a game.
+     *
+     * @return the first player
+     */
+    public Player getFirstPlayer() {
+        return players[START_ITERATION_INDEX];
+    }
+
+    /**
+     * This method returns the player whose turn follows the turn of a player.
+     * Inactive players are skipped. If no other player is active, the turn stays with the given player.
+     *
+     * @param player the player whose turn ends
+     * @return the next player
+     */
+    public Player getNextPlayer(Player player) {
+        int later = activeMask & -(SINGLE_BIT << player.getIndex() + SINGLE_BIT);
+        int candidates = later != NO_PLAYERS ? later : activeMask;
+        return candidates == NO_PLAYERS ? player : players[Integer.numberOfTrailingZeros(candidates)];
+    }
+
+    /**
+     * Setter for whether a player takes turns.
+     *
+     * @param playerIndex the index of the player
+     * @param isActive    false to skip the player, for example because it is eliminated
+     */
+    public void setActive(int playerIndex, boolean isActive) {
+        int bit = SINGLE_BIT << playerIndex;
+        activeMask = isActive ? activeMask | bit : activeMask & ~bit;
+    }
+
+    /**
+     * This method checks if a player takes turns.
+     *
+     * @param playerIndex the index of the player
+     * @return true if the player is not skipped
+     */
+    public boolean isActive(int playerIndex) {
+        return (activeMask & SINGLE_BIT << playerIndex) != NO_PLAYERS;
+    }
+}
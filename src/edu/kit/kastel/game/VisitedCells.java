@@ -0,0 +1,62 @@
+package edu.kit.kastel.game;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the cells visited by a figure during one move.
+ * Every walkable cell has a stamp, a cell is visited if its stamp equals the generation of the current move.
+ * Starting a new move only increments the generation, so the stamps never need to be cleared
+ * and checking or adding a cell takes constant time without allocation.
+ *
+ * @author Programmieren-Team
+ */
+public final class VisitedCells {
+    private static final int NO_GENERATION = 0;
+
+    private final BoardGraph graph;
+    private int[] stamps;
+    private int generation;
+
+    /**
+     * This constructor creates an empty set for the walkable cells of a graph.
+     * The stamps are allocated when the first move starts.
+     *
+     * @param graph the graph of the board
+     */
+    public VisitedCells(BoardGraph graph) {
+        this.graph = graph;
+        this.generation = NO_GENERATION;
+    }
+
+    /**
+     * This method starts a new move, so no cell is visited anymore.
+     */
+    public void clear() {
+        if (stamps == null) {
+            stamps = new int[graph.getNodeCount()];
+        }
+
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, NO_GENERATION);
+            generation = NO_GENERATION;
+        }
+
+        generation++;
+    }
+
+    /**
+     * This method marks a walkable cell as visited in the current move.
+     *
+     * @param index flat index of the cell
+     * @return true if the cell was not visited before
+     */
+    public boolean add(int index) {
+        int node = graph.getNode(index);
+        if (stamps[node] == generation) {
+            return false;
+        }
+
+        stamps[node] = generation;
+        return true;
+    }
+}
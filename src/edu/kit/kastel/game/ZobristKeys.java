@@ -0,0 +1,95 @@
+package edu.kit.kastel.game;
+
+/**
+ * This class provides the random keys of the Zobrist hash of a game state.
+ * A state hash is the exclusive or of the keys of all its parts, so changing a part only needs
+ * the old and the new key of that part. The keys are not stored in tables, which would grow with
+ * the map area, but derived from the part by a mixing function, so the same part always has the same key.
+ *
+ * @author Programmieren-Team
+ */
+public final class ZobristKeys {
+    private static final long CELL_DOMAIN = 1;
+    private static final long FOREST_DOMAIN = 2;
+    private static final long PLAYER_DOMAIN = 3;
+    private static final long CURRENT_PLAYER_DOMAIN = 4;
+    private static final long WINNER_DOMAIN = 5;
+    private static final int PLAYER_FIELD_SHIFT = 8;
+    private static final int PLAYER_FIELD_MASK = 0xFF;
+    private static final long LOW_INT_MASK = 0xFFFFFFFFL;
+    private static final int NO_VALUE = 0;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private ZobristKeys() {
+    }
+
+    /**
+     * This method returns the key of a packed cell value of a board.
+     *
+     * @param index flat index of the cell
+     * @param value the packed cell value
+     * @return the key
+     */
+    public static long cellKey(int index, int value) {
+        return mix(CELL_DOMAIN, index, value);
+    }
+
+    /**
+     * This method returns the key of a figure captured in the forest.
+     *
+     * @param figureId the id of the figure
+     * @return the key
+     */
+    public static long forestKey(int figureId) {
+        return mix(FOREST_DOMAIN, figureId, NO_VALUE);
+    }
+
+    /**
+     * This method returns the key of the state of a player.
+     *
+     * @param playerIndex     the index of the player
+     * @param dice            the rolled dice or -1
+     * @param unusedFigures   the number of unused figures
+     * @param pendingObstacle the ordinal of the type of the pending obstacle or -1
+     * @return the key
+     */
+    public static long playerKey(int playerIndex, int dice, int unusedFigures, int pendingObstacle) {
+        int state = (dice & PLAYER_FIELD_MASK) << PLAYER_FIELD_SHIFT | unusedFigures & PLAYER_FIELD_MASK;
+        state = state << PLAYER_FIELD_SHIFT | pendingObstacle & PLAYER_FIELD_MASK;
+        return mix(PLAYER_DOMAIN, playerIndex, state);
+    }
+
+    /**
+     * This method returns the key of the player whose turn it is.
+     *
+     * @param playerIndex the index of the player
+     * @return the key
+     */
+    public static long currentPlayerKey(int playerIndex) {
+        return mix(CURRENT_PLAYER_DOMAIN, playerIndex, NO_VALUE);
+    }
+
+    /**
+     * This method returns the key of the winner of a game.
+     *
+     * @param playerIndex the index of the player
+     * @return the key
+     */
+    public static long winnerKey(int playerIndex) {
+        return mix(WINNER_DOMAIN, playerIndex, NO_VALUE);
+    }
+
+    /**
+     * This method mixes a part of a state to a key, see {@link SplitMix}.
+     *
+     * @param domain the kind of the part
+     * @param first  the first number of the part
+     * @param second the second number of the part
+     * @return the key
+     */
+    private static long mix(long domain, int first, int second) {
+        return SplitMix.mix((long) first << Integer.SIZE | second & LOW_INT_MASK, domain);
+    }
+}
@@ -0,0 +1,256 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.enums.CellType;
+import edu.kit.kastel.enums.CommandType;
+import edu.kit.kastel.game.GameBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * This class reads and writes maps in the binary map format and handles the convert map command.
+ * A binary map starts with a header holding a magic number, the format version, the dimensions,
+ * the number of starting positions, the forest and target cells and a checksum of the rest of the file.
+ * It is followed by the starting positions as flat index and player symbol and the cell types
+ * packed into four bits per cell in row order.
+ *
+ * @author Programmieren-Team
+ */
+public final class BinaryMapHelper {
+    /**
+     * Magic number at the start of every binary map. It starts with a byte that cannot start a text map,
+     * followed by the characters "CCM".
+     */
+    public static final int MAGIC_NUMBER = 0x8943434D;
+    /**
+     * Version of the binary map format written by this class.
+     */
+    public static final int FORMAT_VERSION = 1;
+    private static final String INVALID_PATH_ERROR_MESSAGE = "an invalid path has been passed!";
+    private static final String INVALID_FIELD_ERROR_MESSAGE = "the given game field is not valid. "
+            + "Please add new file path.";
+    private static final String WRONG_COMMAND_ERROR_MESSAGE = "wrong command or parameters.";
+    private static final String COMMAND_SEPARATOR_SYMBOL = " ";
+    private static final int NR_OF_PARAMS_FOR_CONVERT_COMMAND = 2;
+    private static final int SOURCE_PATH_PARAM_INDEX = 0;
+    private static final int TARGET_PATH_PARAM_INDEX = 1;
+    private static final int MAGIC_NUMBER_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int ROWS_OFFSET = 8;
+    private static final int COLUMNS_OFFSET = 12;
+    private static final int START_COUNT_OFFSET = 16;
+    private static final int FOREST_OFFSET = 20;
+    private static final int TARGET_OFFSET = 24;
+    private static final int CHECKSUM_OFFSET = 28;
+    private static final int HEADER_SIZE = 36;
+    private static final int START_ENTRY_SIZE = Integer.BYTES + Character.BYTES;
+    private static final int CELLS_PER_BYTE = 2;
+    private static final int BITS_PER_CELL = 4;
+    private static final int CELL_MASK = 0x0F;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+    private static final CellType[] CELL_TYPES = CellType.values();
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private BinaryMapHelper() {
+    }
+
+    /**
+     * This method checks if a mapped file starts with the magic number of the binary map format.
+     *
+     * @param buffer the mapped file
+     * @return true if the file is a binary map
+     */
+    static boolean isBinaryMap(ByteBuffer buffer) {
+        return buffer.limit() >= Integer.BYTES && buffer.getInt(MAGIC_NUMBER_OFFSET) == MAGIC_NUMBER;
+    }
+
+    /**
+     * This method handles the convert map command.
+     * It loads a map file and writes it in the binary map format to the given path.
+     * If the map cannot be loaded or the file cannot be written, an error is shown.
+     *
+     * @param command the command to be handled
+     */
+    public static void handleConvertMapCommand(String command) {
+        String parameters = CommandHelper.getSingleParameter(command, CommandType.CONVERT_MAP);
+        String[] paths = parameters == null ? null : parameters.split(COMMAND_SEPARATOR_SYMBOL);
+        if (paths == null || paths.length != NR_OF_PARAMS_FOR_CONVERT_COMMAND) {
+            InputOutputHandler.showError(WRONG_COMMAND_ERROR_MESSAGE);
+            return;
+        }
+
+        GameBoard board = MapLoader.load(paths[SOURCE_PATH_PARAM_INDEX]);
+        if (board != null && write(board, paths[TARGET_PATH_PARAM_INDEX])) {
+            System.out.println(paths[TARGET_PATH_PARAM_INDEX]);
+        }
+    }
+
+    /**
+     * This method writes a map template in the binary map format.
+     * If the file cannot be written, an error is shown.
+     *
+     * @param board    the map template
+     * @param filePath the path of the binary map
+     * @return true if the map was written
+     */
+    static boolean write(GameBoard board, String filePath) {
+        int cellCount = board.getRowLength() * board.getColumnLength();
+        int startCount = INTEGER_DEFAULT_INITIAL_VALUE;
+        int targetIndex = GameBoard.INVALID_INDEX;
+        for (int i = START_ITERATION_INDEX; i < cellCount; i++) {
+            CellType type = board.getType(i);
+            if (type == CellType.PLAYER_STARTING_POSITION) {
+                startCount++;
+            } else if (type == CellType.TARGET && targetIndex == GameBoard.INVALID_INDEX) {
+                targetIndex = i;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) getFileSize(startCount, cellCount));
+        buffer.putInt(MAGIC_NUMBER_OFFSET, MAGIC_NUMBER)
+                .putInt(VERSION_OFFSET, FORMAT_VERSION)
+                .putInt(ROWS_OFFSET, board.getRowLength())
+                .putInt(COLUMNS_OFFSET, board.getColumnLength())
+                .putInt(START_COUNT_OFFSET, startCount)
+                .putInt(FOREST_OFFSET, board.getForestIndex())
+                .putInt(TARGET_OFFSET, targetIndex);
+
+        buffer.position(HEADER_SIZE);
+        for (int i = START_ITERATION_INDEX; i < cellCount; i++) {
+            if (board.getType(i) == CellType.PLAYER_STARTING_POSITION) {
+                buffer.putInt(i).putChar(board.getPlayerSymbol(i));
+            }
+        }
+
+        for (int i = START_ITERATION_INDEX; i < cellCount; i += CELLS_PER_BYTE) {
+            int low = board.getType(i).ordinal();
+            int high = i + 1 < cellCount ? board.getType(i + 1).ordinal() : INTEGER_DEFAULT_INITIAL_VALUE;
+            buffer.put((byte) (low | high << BITS_PER_CELL));
+        }
+
+        buffer.putLong(CHECKSUM_OFFSET, computeChecksum(buffer));
+        buffer.rewind();
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * This method decodes a binary map.
+     * The header, the checksum and every cell type are checked before the board is returned.
+     * If the map is not valid, an error is shown and null is returned.
+     *
+     * @param buffer the mapped file
+     * @return the game board
+     */
+    static GameBoard read(ByteBuffer buffer) {
+        if (!hasValidHeader(buffer)) {
+            InputOutputHandler.showError(INVALID_FIELD_ERROR_MESSAGE);
+            return null;
+        }
+
+        int rows = buffer.getInt(ROWS_OFFSET);
+        int columns = buffer.getInt(COLUMNS_OFFSET);
+        int cellCount = rows * columns;
+        int startCount = buffer.getInt(START_COUNT_OFFSET);
+        GameBoard board = new GameBoard(rows, columns);
+        boolean hasForest = false;
+        boolean hasVillage = false;
+
+        int offset = HEADER_SIZE + startCount * START_ENTRY_SIZE;
+        for (int i = START_ITERATION_INDEX; i < cellCount; i++) {
+            int ordinal = buffer.get(offset + i / CELLS_PER_BYTE) >> i % CELLS_PER_BYTE * BITS_PER_CELL & CELL_MASK;
+            if (ordinal >= CELL_TYPES.length) {
+                InputOutputHandler.showError(INVALID_FIELD_ERROR_MESSAGE);
+                return null;
+            }
+
+            CellType type = CELL_TYPES[ordinal];
+            board.setType(i, type);
+            hasForest |= type == CellType.EMPTY_FOREST;
+            hasVillage |= type == CellType.OBSTACLE_VILLAGE || type == CellType.PATHWAY_VILLAGE;
+        }
+
+        if (!readStartingPositions(buffer, board, startCount) || !hasValidSpecialCells(buffer, board)) {
+            InputOutputHandler.showError(INVALID_FIELD_ERROR_MESSAGE);
+            return null;
+        }
+
+        return Utility.isValidMatrix(hasVillage, hasForest, false, board) ? null : board;
+    }
+
+    private static boolean hasValidHeader(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(VERSION_OFFSET) != FORMAT_VERSION) {
+            return false;
+        }
+
+        int rows = buffer.getInt(ROWS_OFFSET);
+        int columns = buffer.getInt(COLUMNS_OFFSET);
+        int startCount = buffer.getInt(START_COUNT_OFFSET);
+        if (rows <= INTEGER_DEFAULT_INITIAL_VALUE || columns <= INTEGER_DEFAULT_INITIAL_VALUE
+                || (long) rows * columns > Integer.MAX_VALUE || startCount < INTEGER_DEFAULT_INITIAL_VALUE
+                || startCount > rows * columns) {
+            return false;
+        }
+
+        return buffer.limit() == getFileSize(startCount, rows * columns)
+                && buffer.getLong(CHECKSUM_OFFSET) == computeChecksum(buffer);
+    }
+
+    private static boolean readStartingPositions(ByteBuffer buffer, GameBoard board, int startCount) {
+        int cellCount = board.getRowLength() * board.getColumnLength();
+        for (int i = START_ITERATION_INDEX; i < startCount; i++) {
+            int entry = HEADER_SIZE + i * START_ENTRY_SIZE;
+            int index = buffer.getInt(entry);
+            if (index < START_ITERATION_INDEX || index >= cellCount
+                    || board.getType(index) != CellType.PLAYER_STARTING_POSITION) {
+                return false;
+            }
+
+            board.setPlayerSymbol(index, buffer.getChar(entry + Integer.BYTES));
+        }
+
+        return true;
+    }
+
+    private static boolean hasValidSpecialCells(ByteBuffer buffer, GameBoard board) {
+        int cellCount = board.getRowLength() * board.getColumnLength();
+        int targetIndex = buffer.getInt(TARGET_OFFSET);
+        boolean hasValidTarget = targetIndex == GameBoard.INVALID_INDEX
+                || targetIndex >= START_ITERATION_INDEX && targetIndex < cellCount
+                && board.getType(targetIndex) == CellType.TARGET;
+
+        return hasValidTarget && buffer.getInt(FOREST_OFFSET) == board.getForestIndex();
+    }
+
+    private static long getFileSize(int startCount, int cellCount) {
+        return HEADER_SIZE + (long) startCount * START_ENTRY_SIZE + ((long) cellCount + 1) / CELLS_PER_BYTE;
+    }
+
+    /**
+     * This method computes the checksum of everything after the header.
+     *
+     * @param buffer the binary map
+     * @return the CRC-32 value
+     */
+    private static long computeChecksum(ByteBuffer buffer) {
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE));
+        return checksum.getValue();
+    }
+}
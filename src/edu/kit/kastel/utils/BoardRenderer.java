@@ -0,0 +1,108 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.enums.CellType;
+import edu.kit.kastel.game.Figure;
+import edu.kit.kastel.game.GameBoard;
+
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * This class renders a game board into a reused byte buffer.
+ * The board is read in place and the whole frame is written to the stream with a single write.
+ *
+ * @author Programmieren-Team
+ */
+public final class BoardRenderer {
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_ASCII_VALUE = 0x7F;
+    private static final int DECIMAL_BASE = 10;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(Charset.defaultCharset());
+
+    private byte[] buffer;
+    private int length;
+
+    /**
+     * This constructor creates a renderer with an empty buffer.
+     */
+    public BoardRenderer() {
+        this.buffer = new byte[INITIAL_BUFFER_SIZE];
+    }
+
+    /**
+     * This method renders the board and writes it to the given stream.
+     * Figures of the current player are shown with their index, other figures with their letter.
+     * Starting positions are shown with their player symbol and non-existing cells are skipped.
+     *
+     * @param board             game board
+     * @param currentPlayerName current player name
+     * @param out               the stream to write to
+     */
+    public synchronized void render(GameBoard board, char currentPlayerName, PrintStream out) {
+        length = START_ITERATION_INDEX;
+        ensureCapacity(board.getRowLength() * (board.getColumnLength() + LINE_SEPARATOR.length));
+
+        for (int i = START_ITERATION_INDEX; i < board.getRowLength(); i++) {
+            int index = board.index(i, START_ITERATION_INDEX);
+            for (int j = START_ITERATION_INDEX; j < board.getColumnLength(); j++, index++) {
+                encodeCell(board, index, currentPlayerName);
+            }
+
+            ensureCapacity(LINE_SEPARATOR.length);
+            System.arraycopy(LINE_SEPARATOR, START_ITERATION_INDEX, buffer, length, LINE_SEPARATOR.length);
+            length += LINE_SEPARATOR.length;
+        }
+
+        out.write(buffer, START_ITERATION_INDEX, length);
+        out.flush();
+    }
+
+    private void encodeCell(GameBoard board, int index, char currentPlayerName) {
+        CellType type = board.getType(index);
+        if (board.hasFigure(index) && !board.isForest(index)) {
+            encodeFigure(board.getFigure(index), currentPlayerName);
+        } else if (type == CellType.PLAYER_STARTING_POSITION) {
+            encodeChar(board.getPlayerSymbol(index));
+        } else if (type != CellType.NON_EXISTING_CELL) {
+            encodeChar(type.getSymbol());
+        }
+    }
+
+    private void encodeFigure(Figure figure, char currentPlayerName) {
+        if (figure.getLetter() != currentPlayerName) {
+            encodeChar(figure.getLetter());
+            return;
+        }
+
+        int figureIndex = figure.getIndex();
+        int divisor = 1;
+        while (figureIndex / divisor >= DECIMAL_BASE) {
+            divisor *= DECIMAL_BASE;
+        }
+
+        for (; divisor > 0; divisor /= DECIMAL_BASE) {
+            encodeChar((char) ('0' + figureIndex / divisor % DECIMAL_BASE));
+        }
+    }
+
+    private void encodeChar(char symbol) {
+        if (symbol <= MAX_ASCII_VALUE) {
+            ensureCapacity(1);
+            buffer[length++] = (byte) symbol;
+            return;
+        }
+
+        byte[] encoded = String.valueOf(symbol).getBytes(Charset.defaultCharset());
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, START_ITERATION_INDEX, buffer, length, encoded.length);
+        length += encoded.length;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (length + additionalBytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additionalBytes));
+        }
+    }
+}
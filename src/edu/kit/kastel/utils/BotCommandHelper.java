@@ -0,0 +1,199 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.enums.CommandType;
+import edu.kit.kastel.enums.Direction;
+import edu.kit.kastel.enums.SearchMode;
+import edu.kit.kastel.game.ExpectimaxPolicy;
+import edu.kit.kastel.game.GameBoard;
+import edu.kit.kastel.game.MctsPolicy;
+import edu.kit.kastel.game.MoveGenerator;
+import edu.kit.kastel.game.Player;
+import edu.kit.kastel.game.Session;
+import edu.kit.kastel.game.SimulationPolicies;
+import edu.kit.kastel.game.SimulationPolicy;
+
+/**
+ * This class handles the bot command and plays the turns of bots.
+ * A bot plays by entering the same commands a user would enter, so its actions are checked and shown
+ * the same way. Each command of a bot is shown before its output.
+ *
+ * @author Programmieren-Team
+ */
+public final class BotCommandHelper {
+    /**
+     * Name used by the bot command to give a player back to the user.
+     */
+    public static final String USER_PLAYER_NAME = "off";
+    private static final String WRONG_COMMAND_ERROR_MESSAGE = "wrong command or parameters.";
+    private static final String COMMAND_SEPARATOR_SYMBOL = " ";
+    private static final String EMPTY_STRING_SYMBOL = "";
+    private static final int MIN_NR_OF_PARAMS = 2;
+    private static final int MAX_NR_OF_PARAMS = 6;
+    private static final int PLAYER_PARAM_INDEX = 0;
+    private static final int POLICY_PARAM_INDEX = 1;
+    private static final int TIME_BUDGET_PARAM_INDEX = 2;
+    private static final int ITERATIONS_PARAM_INDEX = 3;
+    private static final int THREADS_PARAM_INDEX = 4;
+    private static final int MODE_PARAM_INDEX = 5;
+    private static final int PLAYER_NAME_LENGTH = 1;
+    private static final int NO_MOVES = 0;
+    private static final int NO_DISTANCE = 0;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final SearchMode[] SEARCH_MODES = SearchMode.values();
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private BotCommandHelper() {
+    }
+
+    /**
+     * This method handles the bot command.
+     * The parameters are the letter of a player and the policy of the bot, random, greedy, mcts or expectimax,
+     * or off to give the player back to the user. The mcts policy optionally takes a time budget
+     * in milliseconds and a number of iterations per action, zero does not limit the search,
+     * the number of threads, all available processors by default, and the search mode, tree by default.
+     * The expectimax policy optionally takes a time budget and a depth in actions.
+     * If a parameter is not valid, an error is shown.
+     *
+     * @param activeSession the active session
+     * @param command       the command
+     */
+    public static void handleBotCommand(Session activeSession, String command) {
+        String parameters = CommandHelper.getSingleParameter(command, CommandType.BOT);
+        String[] params = parameters == null ? null : parameters.split(COMMAND_SEPARATOR_SYMBOL);
+        if (params == null || params.length < MIN_NR_OF_PARAMS || params.length > MAX_NR_OF_PARAMS
+                || params[PLAYER_PARAM_INDEX].length() != PLAYER_NAME_LENGTH) {
+            InputOutputHandler.showError(WRONG_COMMAND_ERROR_MESSAGE);
+            return;
+        }
+
+        Player player = activeSession.getTurnScheduler().getPlayerByLetter(params[PLAYER_PARAM_INDEX].charAt(
+                START_ITERATION_INDEX));
+        boolean hasBudget = params.length > TIME_BUDGET_PARAM_INDEX;
+        int timeBudget = hasBudget
+                ? Utility.parseIntegerParam(params[TIME_BUDGET_PARAM_INDEX])
+                : SimulationPolicies.DEFAULT_TIME_BUDGET_MILLIS;
+        int iterations = params.length > ITERATIONS_PARAM_INDEX
+                ? Utility.parseIntegerParam(params[ITERATIONS_PARAM_INDEX])
+                : SimulationPolicies.UNLIMITED;
+        int threads = params.length > THREADS_PARAM_INDEX
+                ? Utility.parseIntegerParam(params[THREADS_PARAM_INDEX])
+                : SimulationPolicies.MAX_NR_OF_THREADS;
+        SearchMode mode = params.length > MODE_PARAM_INDEX ? getSearchMode(params[MODE_PARAM_INDEX]) : SearchMode.TREE;
+        boolean isUserPlayer = params[POLICY_PARAM_INDEX].equals(USER_PLAYER_NAME);
+        boolean isMcts = params[POLICY_PARAM_INDEX].equals(MctsPolicy.NAME);
+        boolean isSearch = isMcts || params[POLICY_PARAM_INDEX].equals(ExpectimaxPolicy.NAME);
+        SimulationPolicy bot = SimulationPolicies.create(params[POLICY_PARAM_INDEX], timeBudget, iterations, threads,
+                mode);
+
+        if (player == null || !isUserPlayer && bot == null || !isSearch && hasBudget
+                || !isMcts && params.length > THREADS_PARAM_INDEX) {
+            InputOutputHandler.showError(WRONG_COMMAND_ERROR_MESSAGE);
+            return;
+        }
+
+        activeSession.setBot(player.getIndex(), bot);
+        System.out.println(player.getName() + COMMAND_SEPARATOR_SYMBOL + params[POLICY_PARAM_INDEX]);
+    }
+
+    /**
+     * This method plays the actions of bots as long as a bot is the current player and the game is not won.
+     * If the session has no seed, a bot stops before rolling the dice and waits for the user to enter the
+     * rolled number, as a user would do.
+     *
+     * @param activeSession the active session
+     */
+    public static void playBotTurns(Session activeSession) {
+        if (activeSession.getBot(activeSession.getCurrentPlayer()) == null) {
+            return;
+        }
+
+        MoveGenerator generator = activeSession.getBotMoveGenerator();
+        int[] moves = activeSession.getBotMoves();
+        int[] destinations = activeSession.getBotDestinations();
+
+        while (activeSession.getWinner() == null) {
+            SimulationPolicy bot = activeSession.getBot(activeSession.getCurrentPlayer());
+            int count = bot == null ? NO_MOVES : generator.generate(moves, destinations);
+            if (count == NO_MOVES) {
+                return;
+            }
+
+            int choice = bot.choose(activeSession, moves, destinations, count, activeSession.getBotRandom());
+            if (MoveGenerator.getKind(moves[choice]) == MoveGenerator.ROLL_DICE && !activeSession.hasSeed()) {
+                return;
+            }
+
+            String command = getCommand(activeSession, moves[choice], destinations[choice]);
+            long stateHash = activeSession.stateHash();
+            System.out.println(command);
+            GameCommandHelper.handleActiveSessionCommand(CommandHelper.getCommandType(command), activeSession,
+                    command);
+
+            if (activeSession.stateHash() == stateHash) {
+                return;
+            }
+        }
+    }
+
+    private static SearchMode getSearchMode(String name) {
+        for (SearchMode mode : SEARCH_MODES) {
+            if (mode.toString().equals(name)) {
+                return mode;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * This method returns the command a user would enter for an action.
+     *
+     * @param session     the session
+     * @param move        the action encoded by {@link MoveGenerator}
+     * @param destination the flat index of the cell the action ends on
+     * @return the command
+     */
+    private static String getCommand(Session session, int move, int destination) {
+        return switch (MoveGenerator.getKind(move)) {
+            case MoveGenerator.NEW_FIGURE -> CommandType.NEW_FIGURE.toString();
+            case MoveGenerator.MOVE -> CommandType.MOVE + COMMAND_SEPARATOR_SYMBOL
+                    + session.getCurrentPlayer().getName() + MoveGenerator.getFigureIndex(move)
+                    + MoveCommandsHelper.getMoveParameters(MoveGenerator.getPath(move),
+                            session.getCurrentPlayer().getDice());
+            case MoveGenerator.MOVE_OBSTACLE -> CommandType.MOVE_OBSTACLE + getObstacleParameters(session,
+                    destination);
+            case MoveGenerator.SKIP_TURN -> CommandType.SKIP_TURN.toString();
+            default -> CommandType.ROLL_DICE.toString();
+        };
+    }
+
+    /**
+     * This method returns the distances and directions moving the pending obstacle to a cell,
+     * first along the column and then along the row.
+     *
+     * @param session     the session
+     * @param destination the flat index of the cell
+     * @return the parameters, starting with a separator
+     */
+    private static String getObstacleParameters(Session session, int destination) {
+        GameBoard board = session.getBoard();
+        int source = board.index(session.getCurrentPlayer().getPendingObstacle().getPos());
+        int rowDistance = board.getRow(destination) - board.getRow(source);
+        int columnDistance = board.getColumn(destination) - board.getColumn(source);
+
+        String parameters = EMPTY_STRING_SYMBOL;
+        if (rowDistance != NO_DISTANCE) {
+            parameters += COMMAND_SEPARATOR_SYMBOL + Math.abs(rowDistance) + COMMAND_SEPARATOR_SYMBOL
+                    + (rowDistance < NO_DISTANCE ? Direction.UP : Direction.DOWN);
+        }
+
+        if (columnDistance != NO_DISTANCE) {
+            parameters += COMMAND_SEPARATOR_SYMBOL + Math.abs(columnDistance) + COMMAND_SEPARATOR_SYMBOL
+                    + (columnDistance < NO_DISTANCE ? Direction.LEFT : Direction.RIGHT);
+        }
+
+        return parameters;
+    }
+}
@@ -126,14 +126,19 @@ public final class CommandHelper {
         options.put(CommandType.DELETE_SESSION, true);
         options.put(CommandType.SWITCH_SESSION, true);
         options.put(CommandType.START_SESSION, true);
+        options.put(CommandType.CONVERT_MAP, true);
+        options.put(CommandType.SIMULATE, true);
+        options.put(CommandType.TOURNAMENT, true);
         options.put(CommandType.SHOW, false);
         options.put(CommandType.CURRENT_PLAYER, false);
         options.put(CommandType.ROLL_DICE, true);
         options.put(CommandType.NEW_FIGURE, false);
         options.put(CommandType.MOVE_OBSTACLE, true);
         options.put(CommandType.MOVE, true);
+        options.put(CommandType.HINTS, true);
         options.put(CommandType.SKIP_TURN, false);
         options.put(CommandType.REMATCH, false);
+        options.put(CommandType.BOT, true);
         return options;
     }
 
@@ -190,9 +195,9 @@ public final class CommandHelper {
             case DELETE_SESSION, SWITCH_SESSION, SHOW_SESSION ->
                     checkIfAvailableOneParameterCommand(type, sessions, activeSession);
 
-            case HELP, START_SESSION, QUIT -> true;
+            case HELP, START_SESSION, CONVERT_MAP, SIMULATE, TOURNAMENT, QUIT -> true;
 
-            case SHOW -> hasActiveSession;
+            case SHOW, BOT -> hasActiveSession;
 
             case CURRENT_PLAYER -> hasActiveSession && !hasWinner;
 
@@ -201,7 +206,7 @@ public final class CommandHelper {
             case NEW_FIGURE -> hasActiveSession && !hasWinner && !allPiecesAreInPlay
                     && isEmptyStartingPosition;
 
-            case MOVE ->
+            case MOVE, HINTS ->
                     hasActiveSession && !hasWinner && hasRolledDice && !hasObstacle;
 
             case SKIP_TURN ->
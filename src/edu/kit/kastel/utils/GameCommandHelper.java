@@ -1,14 +1,12 @@
 package edu.kit.kastel.utils;
 
 import edu.kit.kastel.enums.CommandType;
-import edu.kit.kastel.enums.Direction;
 import edu.kit.kastel.game.CellPosition;
 import edu.kit.kastel.game.Figure;
 import edu.kit.kastel.game.Player;
 import edu.kit.kastel.game.Session;
 
 import static edu.kit.kastel.game.Session.NON_EXISTENT_DICE_NUMBER_VALUE;
-import static edu.kit.kastel.utils.Utility.INVALID_INTEGER_VALUE;
 
 /**
  * A helper class for game commands.
@@ -16,17 +14,9 @@ import static edu.kit.kastel.utils.Utility.INVALID_INTEGER_VALUE;
  * @author Programmieren-Team
  */
 public final class GameCommandHelper {
-    private static final String UP_DIRECTION_STRING = "up";
-    private static final String DOWN_DIRECTION_STRING = "down";
-    private static final String LEFT_DIRECTION_STRING = "left";
-    private static final String RIGHT_DIRECTION_STRING = "right";
-    private static final String INVALID_PATH_ERROR_MESSAGE = "an invalid path has been passed!";
     private static final String INVALID_DICE_ROLL_PARAMETER_ERROR_MESSAGE = "an invalid parameter for the command "
             + "dice roll. Please parse an valid digit between 1 and 6.";
     private static final String ALREADY_ROLLED_PARAMETER_ERROR_MESSAGE = "this player already rolled the dice.";
-    private static final String EMPTY_STRING_SYMBOL = "";
-    private static final int FIGURE_LETTER_INDEX = 0;
-    private static final int FIGURE_NUMBER_INDEX = 1;
     private static final int MIN_ROLL_DICE_VALUE = 1;
     private static final int MAX_ROLL_DICE_VALUE = 6;
 
@@ -64,12 +54,13 @@ public final class GameCommandHelper {
                 handleNewFigureCommand(activeSession);
                 break;
             case MOVE:
-                String[] params = MoveCommandsHelper.getParamsFromMoveCommand(command);
-                MoveCommandsHelper.handleMoveCommand(activeSession, params);
+                MoveCommandsHelper.handleMoveCommand(activeSession, command);
                 break;
             case MOVE_OBSTACLE:
-                String[] obstacleParams = MoveCommandsHelper.getParamsFromMoveObstacleCommand(command);
-                MoveCommandsHelper.handleMoveObstacleCommand(activeSession, obstacleParams);
+                MoveCommandsHelper.handleMoveObstacleCommand(activeSession, command);
+                break;
+            case HINTS:
+                MoveCommandsHelper.handleHintsCommand(activeSession, command);
                 break;
             case SKIP_TURN:
                 GameCommandHelper.handleSkipTurnCommand(activeSession);
@@ -77,27 +68,14 @@ public final class GameCommandHelper {
             case REMATCH:
                 GameCommandHelper.handleRematchCommand(activeSession);
                 break;
+            case BOT:
+                BotCommandHelper.handleBotCommand(activeSession, command);
+                break;
             default:
                 break;
         }
     }
 
-    /**
-     * This method returns direction from string.
-     *
-     * @param dir the direction as string
-     * @return the direction
-     */
-    public static Direction getDirectionFromString(String dir) {
-        return switch (dir) {
-            case UP_DIRECTION_STRING -> Direction.UP;
-            case DOWN_DIRECTION_STRING -> Direction.DOWN;
-            case LEFT_DIRECTION_STRING -> Direction.LEFT;
-            case RIGHT_DIRECTION_STRING -> Direction.RIGHT;
-            default -> null;
-        };
-    }
-
     /**
      * This method handles the show command.
      * It prints the game matrix.
@@ -105,7 +83,7 @@ public final class GameCommandHelper {
      * @param activeSession the active session
      */
     private static void handleShowCommand(Session activeSession) {
-        InputOutputHandler.printMatrix(activeSession.getMatrix(false),
+        InputOutputHandler.printMatrix(activeSession.getBoard(),
                 activeSession.getCurrentPlayer().getName());
     }
 
@@ -139,20 +117,6 @@ public final class GameCommandHelper {
         InputOutputHandler.printPlayer(activeSession.getCurrentPlayer());
     }
 
-    /**
-     * This method checks if the figure name is valid.
-     *
-     * @param figureName the figure name
-     * @return true if the figure name is valid
-     */
-    public static boolean checkFigure(String figureName) {
-        char figureLetter = figureName.charAt(FIGURE_LETTER_INDEX);
-        char figureNumber = figureName.charAt(FIGURE_NUMBER_INDEX);
-
-        return Character.isLetter(figureLetter)
-                && Utility.parseIntegerParam(figureNumber + EMPTY_STRING_SYMBOL) != INVALID_INTEGER_VALUE;
-    }
-
     /**
      * This method handles the roll dice command.
      * It checks if the dice is already rolled and if the dice is valid.
@@ -216,9 +180,7 @@ public final class GameCommandHelper {
 
         Player player = activeSession.getCurrentPlayer();
         CellPosition startPosition = player.getStartPos();
-        CellPosition oldPosition = new CellPosition(INVALID_INTEGER_VALUE, INVALID_INTEGER_VALUE);
-
-        activeSession.placeFigureOnMatrix(oldPosition, startPosition, figure);
+        activeSession.placeFigureOnMatrix(CellPosition.INVALID_CELL_POSITION, startPosition, figure);
         System.out.println(figure);
     }
 
@@ -231,21 +193,4 @@ public final class GameCommandHelper {
     private static boolean isValidActiveSession(Session activeSession) {
         return activeSession != null;
     }
-
-    /**
-     * This method checks if the command data is valid.
-     * It prints an error message if the command data is invalid.
-     *
-     * @param activeSession the active session
-     * @param params        the parameters
-     * @return true if the command data is valid
-     */
-    public static boolean isValidCommandData(Session activeSession, String[] params) {
-        if (isValidActiveSession(activeSession) && params == null) {
-            InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
-            return false;
-        }
-
-        return true;
-    }
 }
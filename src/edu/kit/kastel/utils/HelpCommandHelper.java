@@ -31,6 +31,23 @@ public final class HelpCommandHelper {
     private static final String START_SESSION_COMMAND_DESCRIPTION = "start session: This command creates and starts "
             + "a game session. The command must have three or four parameters, each separated by a space: session_id, "
             + "file_to_field, num_of_players and optionally seed. Number of players must be between 2 and 21.";
+    private static final String CONVERT_MAP_COMMAND_DESCRIPTION = "convert map: This command converts a map file "
+            + "to the binary map format, which can be passed to start session instead of the text file. The command "
+            + "must have two parameters separated by a space: file_to_field and file_to_binary_field. "
+            + "Example: convert map field.txt field.bin";
+    private static final String SIMULATE_COMMAND_DESCRIPTION = "simulate: This command plays games without a user "
+            + "and shows games per second, the number of turns and the wins of every starting position. The command "
+            + "must have three to six parameters, each separated by a space: file_to_field, num_of_players, "
+            + "num_of_games and optionally seed, policy (random or greedy) and num_of_threads. "
+            + "Example: simulate field.txt 4 10000 42 greedy 8";
+    private static final String TOURNAMENT_COMMAND_DESCRIPTION = "tournament: This command plays every seating of "
+            + "bots on every map for every seed and appends each result to a csv file, or a jsonl file if its name "
+            + "ends with .jsonl. Running it again resumes it without playing finished games again. The command must "
+            + "have five to seven parameters, each separated by a space: file_to_results, the files_to_field and the "
+            + "policies each separated by a comma, first_seed, last_seed and optionally num_of_players and "
+            + "num_of_threads. A policy is random, greedy, mcts or expectimax, optionally followed by a colon and "
+            + "the iterations or the depth of its search. "
+            + "Example: tournament results.csv a.txt,b.txt greedy,mcts:500,expectimax:2 1 100 2 8";
     private static final String SHOW_COMMAND_DESCRIPTION = "show: This command displays the playing field of the "
             + "current session. No parameters needed.";
     private static final String CURRENT_PLAYER_COMMAND_DESCRIPTION = "current player: This command displays the current "
@@ -46,8 +63,20 @@ public final class HelpCommandHelper {
     private static final String MOVE_OBSTACLE_COMMAND_DESCRIPTION = "move obstacle: This command moves an obstacle "
             + "that is currently reached by a figure. The command must contain 2 distances and 2 directions. "
             + "Example : move obstacle 3 up 4 right.";
+    private static final String HINTS_COMMAND_DESCRIPTION = "hints: This command shows every cell a figure of the "
+            + "current player can reach with exactly the rolled dice, each with a move command leading there. "
+            + "Please add a valid figure name. Example: hints A1.";
     private static final String SKIP_TURN_COMMAND_DESCRIPTION = "skip turn: This command skips the current players "
             + "turn. No need for parameters.";
+    private static final String BOT_COMMAND_DESCRIPTION = "bot: This command lets a bot play the turns of a player. "
+            + "The command must have two parameters separated by a space: the letter of the player and random, "
+            + "greedy, mcts or expectimax, or off to play the turns yourself again. "
+            + "The mcts bot optionally takes the time in milliseconds and the number of iterations it may search "
+            + "per action, zero means no limit, "
+            + "the number of threads and root, tree or deterministic as the way the threads search. "
+            + "The deterministic search needs zero as the time and plays the same way again with the same seed. "
+            + "The expectimax bot optionally takes the time and the depth in actions it may search. "
+            + "Without a seed, the bot waits for you to roll the dice. Example: bot B mcts 100 0 4 tree";
     private static final String REMATCH_COMMAND_DESCRIPTION = "rematch: This command the same game one more time. "
             + "No need for parameters.";
 
@@ -59,14 +88,19 @@ public final class HelpCommandHelper {
         commandDescriptions.put(CommandType.SHOW_SESSION, SHOW_SESSION_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.SWITCH_SESSION, SWITCH_SESSION_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.START_SESSION, START_SESSION_COMMAND_DESCRIPTION);
+        commandDescriptions.put(CommandType.CONVERT_MAP, CONVERT_MAP_COMMAND_DESCRIPTION);
+        commandDescriptions.put(CommandType.SIMULATE, SIMULATE_COMMAND_DESCRIPTION);
+        commandDescriptions.put(CommandType.TOURNAMENT, TOURNAMENT_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.SHOW, SHOW_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.CURRENT_PLAYER, CURRENT_PLAYER_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.ROLL_DICE, ROLL_DICE_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.NEW_FIGURE, NEW_FIGURE_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.MOVE, MOVE_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.MOVE_OBSTACLE, MOVE_OBSTACLE_COMMAND_DESCRIPTION);
+        commandDescriptions.put(CommandType.HINTS, HINTS_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.SKIP_TURN, SKIP_TURN_COMMAND_DESCRIPTION);
         commandDescriptions.put(CommandType.REMATCH, REMATCH_COMMAND_DESCRIPTION);
+        commandDescriptions.put(CommandType.BOT, BOT_COMMAND_DESCRIPTION);
 
         SORTED_COMMAND_DESCRIPTIONS = sortByEnumKeyLexicographically(commandDescriptions);
     }
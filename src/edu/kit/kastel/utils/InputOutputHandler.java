@@ -1,9 +1,7 @@
 package edu.kit.kastel.utils;
 
-import edu.kit.kastel.enums.CellType;
 import edu.kit.kastel.enums.CommandType;
-import edu.kit.kastel.game.Figure;
-import edu.kit.kastel.game.GameCell;
+import edu.kit.kastel.game.GameBoard;
 import edu.kit.kastel.game.Player;
 import edu.kit.kastel.game.Session;
 
@@ -26,6 +24,7 @@ public final class InputOutputHandler {
     private static final String PLAYER_TURN_SUFFIX_MESSAGE = "'s turn.";
     private static final String HAS_HIT_MESSAGE = " has hit ";
     private static final String HAS_WON_MESSAGE = " has won!";
+    private static final BoardRenderer RENDERER = new BoardRenderer();
 
     /**
      * Scanner to read input.
@@ -65,27 +64,11 @@ public final class InputOutputHandler {
      * This method prints the matrix.
      * It prints the matrix with the current player's figures.
      * It also prints the player's starting positions.
-     * @param gameMatrix game matrix
+     * @param board game board
      * @param currentPlayerName current player name
      */
-    public static void printMatrix(GameCell[][] gameMatrix, char currentPlayerName) {
-        for (GameCell[] matrix : gameMatrix) {
-            for (GameCell cell : matrix) {
-                handleShowCell(currentPlayerName, cell);
-            }
-            System.out.println();
-        }
-    }
-
-    private static void handleShowCell(char currentPlayerName, GameCell cell) {
-        if (cell.hasFigure() && !cell.isForest()) {
-            Figure figure = cell.getFigure();
-            printMatrixCell(figure, currentPlayerName);
-        } else if (cell.getType() == CellType.PLAYER_STARTING_POSITION) {
-            System.out.print(cell.getPlayerSymbol());
-        } else if (cell.getType() != CellType.NON_EXISTING_CELL) {
-            System.out.print(cell.getType().getSymbol());
-        }
+    public static void printMatrix(GameBoard board, char currentPlayerName) {
+        RENDERER.render(board, currentPlayerName, System.out);
     }
 
     /**
@@ -142,11 +125,11 @@ public final class InputOutputHandler {
      * Function that shows an error for start command.
      *
      * @param error error message to show
-     * @param matrix game matrix
+     * @param board game board
      * @param currentPlayer current player of the active game
      */
-    public static void showStartCommandError(String error, GameCell[][] matrix, char currentPlayer) {
-        printMatrix(matrix, currentPlayer);
+    public static void showStartCommandError(String error, GameBoard board, char currentPlayer) {
+        printMatrix(board, currentPlayer);
         System.err.println(ERROR_PREFIX + error);
     }
 
@@ -165,16 +148,6 @@ public final class InputOutputHandler {
         return false;
     }
 
-    /**
-     * Function that prints the matrix cell.
-     *
-     * @param figure the figure
-     * @param name   the name
-     */
-    private static void printMatrixCell(Figure figure, char name) {
-        System.out.print(figure.getLetter() == name ? figure.getIndex() : String.valueOf(figure.getLetter()));
-    }
-
     /**
      * Function that prints the session.
      *
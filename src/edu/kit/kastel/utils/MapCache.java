@@ -0,0 +1,186 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.game.GameBoard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class stores parsed maps shared by all sessions of the process.
+ * Maps are keyed by their canonical path, modification time and size, so a changed file is parsed again.
+ * The cached boards are templates and must not be modified, sessions work on copies of them.
+ * The least recently used maps are evicted when the number of maps or cells exceeds the limits.
+ *
+ * @author Programmieren-Team
+ */
+public final class MapCache {
+    /**
+     * Maximum number of maps kept in the cache.
+     */
+    public static final int MAX_CACHED_MAPS = 16;
+    /**
+     * Maximum number of cells of all cached maps together.
+     */
+    public static final long MAX_CACHED_CELLS = 1L << 24;
+    private static final String INVALID_PATH_ERROR_MESSAGE = "an invalid path has been passed!";
+    private static final String KEY_SEPARATOR = "|";
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final Map<String, GameBoard> TEMPLATES = new LinkedHashMap<>(MAX_CACHED_MAPS, LOAD_FACTOR, true);
+    private static final Map<String, CompletableFuture<GameBoard>> LOADS = new HashMap<>();
+
+    private static long cachedCells;
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private MapCache() {
+    }
+
+    /**
+     * This method returns the parsed map template for a file.
+     * The map is loaded only if it is not cached yet or the file has changed since it was cached.
+     * The file is loaded outside the lock of the cache, so loading a large map does not block requests for
+     * other maps. Concurrent requests for the same map wait for a single load and are counted as misses.
+     * If that load fails, a waiting request loads the file itself, so every request shows the error of the loader.
+     * If the file cannot be read or the map is not valid, an error is shown and null is returned.
+     *
+     * @param filePath the file path
+     * @return the map template, must not be modified
+     */
+    public static GameBoard getBoard(String filePath) {
+        Path path;
+        String key;
+        try {
+            path = Path.of(filePath).toRealPath();
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            key = path + KEY_SEPARATOR + attributes.lastModifiedTime().toMillis() + KEY_SEPARATOR + attributes.size();
+        } catch (IOException | IllegalArgumentException e) {
+            InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
+            return null;
+        }
+
+        CompletableFuture<GameBoard> load;
+        boolean isLoader;
+        synchronized (MapCache.class) {
+            GameBoard template = TEMPLATES.get(key);
+            if (template != null) {
+                hits++;
+                return template;
+            }
+
+            misses++;
+            load = LOADS.get(key);
+            isLoader = load == null;
+            if (isLoader) {
+                load = new CompletableFuture<>();
+                LOADS.put(key, load);
+            }
+        }
+
+        if (!isLoader) {
+            GameBoard template = load.join();
+            return template != null ? template : MapLoader.load(path.toString());
+        }
+
+        GameBoard template = null;
+        try {
+            template = MapLoader.load(path.toString());
+        } finally {
+            synchronized (MapCache.class) {
+                LOADS.remove(key);
+                if (template != null) {
+                    put(key, template);
+                }
+            }
+
+            load.complete(template);
+        }
+
+        return template;
+    }
+
+    private static void put(String key, GameBoard template) {
+        long cells = getCellCount(template);
+        if (cells > MAX_CACHED_CELLS) {
+            return;
+        }
+
+        TEMPLATES.put(key, template);
+        cachedCells += cells;
+
+        Iterator<GameBoard> iterator = TEMPLATES.values().iterator();
+        while (TEMPLATES.size() > MAX_CACHED_MAPS || cachedCells > MAX_CACHED_CELLS) {
+            GameBoard eldest = iterator.next();
+            iterator.remove();
+            cachedCells -= getCellCount(eldest);
+            evictions++;
+        }
+    }
+
+    private static long getCellCount(GameBoard board) {
+        return (long) board.getRowLength() * board.getColumnLength();
+    }
+
+    /**
+     * This method removes all maps from the cache. The counters are not reset.
+     */
+    public static synchronized void clear() {
+        TEMPLATES.clear();
+        cachedCells = 0;
+    }
+
+    /**
+     * Getter for number of cached maps.
+     *
+     * @return the number of cached maps
+     */
+    public static synchronized int getSize() {
+        return TEMPLATES.size();
+    }
+
+    /**
+     * Getter for number of cells of all cached maps.
+     *
+     * @return the number of cached cells
+     */
+    public static synchronized long getCachedCells() {
+        return cachedCells;
+    }
+
+    /**
+     * Getter for number of requests served from the cache.
+     *
+     * @return the number of hits
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Getter for number of requests that had to load the map file or wait for another request loading it.
+     *
+     * @return the number of misses
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Getter for number of maps removed to stay within the limits.
+     *
+     * @return the number of evictions
+     */
+    public static synchronized long getEvictions() {
+        return evictions;
+    }
+}
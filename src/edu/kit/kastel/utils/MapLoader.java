@@ -0,0 +1,168 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.enums.CellType;
+import edu.kit.kastel.game.GameBoard;
+import edu.kit.kastel.game.GameCell;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * This class loads map files directly into a game board.
+ * The file is memory-mapped and decoded byte by byte without creating a string per row.
+ * Maps containing non-ASCII characters are decoded line by line as before.
+ * Files in the binary map format are detected by their magic number and decoded from the mapping.
+ *
+ * @author Programmieren-Team
+ */
+public final class MapLoader {
+    private static final String INVALID_PATH_ERROR_MESSAGE = "an invalid path has been passed!";
+    private static final String INVALID_FIELD_ERROR_MESSAGE = "the given game field is not valid. "
+            + "Please add new file path.";
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int ASCII_TABLE_SIZE = 128;
+    private static final int ROWS_INDEX = 0;
+    private static final int COLUMNS_INDEX = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+    private static final CellType[] ASCII_CELL_TYPES = new CellType[ASCII_TABLE_SIZE];
+
+    static {
+        for (int i = START_ITERATION_INDEX; i < ASCII_TABLE_SIZE; i++) {
+            ASCII_CELL_TYPES[i] = GameCell.getCellTypeFromSymbol((char) i);
+        }
+    }
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private MapLoader() {
+    }
+
+    /**
+     * This method loads the game board from a text or binary map file.
+     * Row widths, start positions, forest and village markers and invalid characters
+     * are detected while the cells are decoded.
+     * If the file cannot be read or the map is not valid, an error is shown and null is returned.
+     *
+     * @param filePath the file path
+     * @return the game board
+     */
+    public static GameBoard load(String filePath) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, INTEGER_DEFAULT_INITIAL_VALUE, channel.size());
+        } catch (IOException | IllegalArgumentException e) {
+            InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
+            return null;
+        }
+
+        if (BinaryMapHelper.isBinaryMap(buffer)) {
+            return BinaryMapHelper.read(buffer);
+        }
+
+        int[] dimensions = getDimensions(buffer);
+        if (dimensions == null) {
+            List<String> rows = FileHelper.readAllLines(filePath);
+            return rows == null ? null : Utility.convertFromListToMatrix(rows);
+        }
+
+        if (dimensions[ROWS_INDEX] == INTEGER_DEFAULT_INITIAL_VALUE) {
+            InputOutputHandler.showError(INVALID_FIELD_ERROR_MESSAGE);
+            return null;
+        }
+
+        return decode(buffer, dimensions[ROWS_INDEX], dimensions[COLUMNS_INDEX]);
+    }
+
+    /**
+     * This method counts the rows and the length of the longest row.
+     * Lines are separated the same way as {@link java.nio.file.Files#readAllLines(Path)} does.
+     *
+     * @param buffer the mapped file
+     * @return number of rows and columns or null if the file is not pure ASCII
+     */
+    private static int[] getDimensions(MappedByteBuffer buffer) {
+        int size = buffer.limit();
+        int rows = INTEGER_DEFAULT_INITIAL_VALUE;
+        int columns = INTEGER_DEFAULT_INITIAL_VALUE;
+        int width = INTEGER_DEFAULT_INITIAL_VALUE;
+
+        for (int i = START_ITERATION_INDEX; i < size; i++) {
+            byte b = buffer.get(i);
+            if (b == LINE_FEED || b == CARRIAGE_RETURN) {
+                if (b == CARRIAGE_RETURN && i + 1 < size && buffer.get(i + 1) == LINE_FEED) {
+                    i++;
+                }
+
+                rows++;
+                columns = Math.max(columns, width);
+                width = INTEGER_DEFAULT_INITIAL_VALUE;
+            } else if (b < 0) {
+                return null;
+            } else {
+                width++;
+            }
+        }
+
+        if (width > INTEGER_DEFAULT_INITIAL_VALUE) {
+            rows++;
+            columns = Math.max(columns, width);
+        }
+
+        return new int[]{rows, columns};
+    }
+
+    private static GameBoard decode(MappedByteBuffer buffer, int rows, int columns) {
+        GameBoard board = new GameBoard(rows, columns);
+        int size = buffer.limit();
+        int row = INTEGER_DEFAULT_INITIAL_VALUE;
+        int column = INTEGER_DEFAULT_INITIAL_VALUE;
+        boolean hasForest = false;
+        boolean hasVillage = false;
+        boolean hasInvalidCharacters = false;
+
+        for (int i = START_ITERATION_INDEX; i < size; i++) {
+            byte b = buffer.get(i);
+            if (b == LINE_FEED || b == CARRIAGE_RETURN) {
+                if (b == CARRIAGE_RETURN && i + 1 < size && buffer.get(i + 1) == LINE_FEED) {
+                    i++;
+                }
+
+                row++;
+                column = INTEGER_DEFAULT_INITIAL_VALUE;
+                continue;
+            }
+
+            char currentChar = (char) b;
+            CellType cellType = ASCII_CELL_TYPES[b];
+            int index = board.index(row, column);
+
+            board.setType(index, cellType);
+            if (cellType == CellType.PLAYER_STARTING_POSITION) {
+                board.setPlayerSymbol(index, currentChar);
+            }
+
+            if (cellType == CellType.EMPTY_FOREST) {
+                hasForest = true;
+            } else if (cellType == CellType.OBSTACLE_VILLAGE || cellType == CellType.PATHWAY_VILLAGE) {
+                hasVillage = true;
+            } else if (Utility.isInvalidFieldCharacter(currentChar)) {
+                hasInvalidCharacters = true;
+            }
+
+            column++;
+        }
+
+        if (Utility.isValidMatrix(hasVillage, hasForest, hasInvalidCharacters, board)) {
+            return null;
+        }
+
+        return board;
+    }
+}
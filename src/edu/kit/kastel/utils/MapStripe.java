@@ -0,0 +1,221 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.game.BoardGraph;
+import edu.kit.kastel.game.GameBoard;
+
+/**
+ * This class checks the map rules for a horizontal stripe of rows.
+ * Stripes are independent of each other, so they can be checked in parallel.
+ * The connected components of the nodes of a stripe are labelled in a union-find forest shared by all stripes;
+ * a stripe only links its own nodes, so the components are merged at the seams after all stripes are done.
+ *
+ * @author Programmieren-Team
+ */
+final class MapStripe {
+    private static final int BLOCK_SIZE = 2;
+    private static final int FULL_BLOCK_PLAYABLE_CELLS = BLOCK_SIZE * BLOCK_SIZE;
+    private static final int MIN_DEGREE = 2;
+    private static final int SPECIAL_FIELD_FLAGS =
+            BoardGraph.START_FLAG | BoardGraph.TARGET_FLAG | BoardGraph.FOREST_FLAG;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private final int firstRow;
+    private final int endRow;
+    private int targetCount;
+    private int firstTarget = GameBoard.INVALID_INDEX;
+    private int secondTarget = GameBoard.INVALID_INDEX;
+    private int fullBlock = GameBoard.INVALID_INDEX;
+    private int lowDegreeField = GameBoard.INVALID_INDEX;
+    private int freeFields;
+
+    /**
+     * This constructor creates a stripe of rows.
+     *
+     * @param firstRow the first row of the stripe
+     * @param endRow   the row after the last row of the stripe
+     */
+    MapStripe(int firstRow, int endRow) {
+        this.firstRow = firstRow;
+        this.endRow = endRow;
+    }
+
+    /**
+     * This method checks the rules for the cells of the stripe and links its nodes in the union-find forest.
+     * The 2x2 blocks starting in the last row of the stripe read the first row of the next stripe.
+     *
+     * @param board   the map template
+     * @param graph   the graph of the map
+     * @param parents the union-find forest of all nodes
+     */
+    void check(GameBoard board, BoardGraph graph, int[] parents) {
+        int columns = board.getColumnLength();
+        for (int row = firstRow; row < endRow; row++) {
+            int rowStart = board.index(row, START_ITERATION_INDEX);
+            int previousColumn = row + 1 < board.getRowLength()
+                    ? countPlayable(graph, rowStart, rowStart + columns)
+                    : INTEGER_DEFAULT_INITIAL_VALUE;
+
+            for (int column = START_ITERATION_INDEX; column < columns; column++) {
+                int cell = rowStart + column;
+                if (column > START_ITERATION_INDEX && row + 1 < board.getRowLength()) {
+                    int currentColumn = countPlayable(graph, cell, cell + columns);
+                    if (fullBlock == GameBoard.INVALID_INDEX
+                            && previousColumn + currentColumn == FULL_BLOCK_PLAYABLE_CELLS) {
+                        fullBlock = cell - 1;
+                    }
+                    previousColumn = currentColumn;
+                }
+
+                int node = graph.getNode(cell);
+                if (node != BoardGraph.NO_NODE) {
+                    checkNode(board, graph, parents, node, row, column);
+                }
+            }
+        }
+    }
+
+    private void checkNode(GameBoard board, BoardGraph graph, int[] parents, int node, int row, int column) {
+        int cell = graph.getCell(node);
+        parents[node] = node;
+
+        if (graph.isTarget(node)) {
+            targetCount++;
+            if (firstTarget == GameBoard.INVALID_INDEX) {
+                firstTarget = cell;
+            } else if (secondTarget == GameBoard.INVALID_INDEX) {
+                secondTarget = cell;
+            }
+        }
+
+        boolean isSpecial = graph.hasAttribute(node, SPECIAL_FIELD_FLAGS);
+        if (!isSpecial && graph.getDegree(node) < MIN_DEGREE && lowDegreeField == GameBoard.INVALID_INDEX) {
+            lowDegreeField = cell;
+        }
+        if (!isSpecial && !board.hasObstacle(cell)) {
+            freeFields++;
+        }
+
+        if (column > START_ITERATION_INDEX) {
+            link(parents, node, graph.getNode(cell - 1));
+        }
+        if (row > firstRow) {
+            link(parents, node, graph.getNode(cell - board.getColumnLength()));
+        }
+    }
+
+    private static int countPlayable(BoardGraph graph, int upperCell, int lowerCell) {
+        int count = INTEGER_DEFAULT_INITIAL_VALUE;
+        if (graph.getNode(upperCell) != BoardGraph.NO_NODE) {
+            count++;
+        }
+        if (graph.getNode(lowerCell) != BoardGraph.NO_NODE) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * This method merges the components of two nodes.
+     * The smaller root becomes the root of the merged component, so the result does not depend on the order
+     * in which stripes are linked.
+     *
+     * @param parents the union-find forest
+     * @param node    the first node
+     * @param other   the second node, ignored if it is no node
+     */
+    static void link(int[] parents, int node, int other) {
+        if (other == BoardGraph.NO_NODE) {
+            return;
+        }
+
+        int root = find(parents, node);
+        int otherRoot = find(parents, other);
+        if (root < otherRoot) {
+            parents[otherRoot] = root;
+        } else if (otherRoot < root) {
+            parents[root] = otherRoot;
+        }
+    }
+
+    /**
+     * This method finds the root of the component of a node and halves the path to it.
+     *
+     * @param parents the union-find forest
+     * @param node    the node
+     * @return the root node
+     */
+    static int find(int[] parents, int node) {
+        int current = node;
+        while (parents[current] != current) {
+            parents[current] = parents[parents[current]];
+            current = parents[current];
+        }
+
+        return current;
+    }
+
+    /**
+     * Getter for first row.
+     *
+     * @return the first row of the stripe
+     */
+    int getFirstRow() {
+        return firstRow;
+    }
+
+    /**
+     * Getter for number of target fields.
+     *
+     * @return the number of target fields in the stripe
+     */
+    int getTargetCount() {
+        return targetCount;
+    }
+
+    /**
+     * Getter for first target.
+     *
+     * @return flat index of the first target field or -1
+     */
+    int getFirstTarget() {
+        return firstTarget;
+    }
+
+    /**
+     * Getter for second target.
+     *
+     * @return flat index of the second target field or -1
+     */
+    int getSecondTarget() {
+        return secondTarget;
+    }
+
+    /**
+     * Getter for first full block.
+     *
+     * @return flat index of the upper left cell of the first block without non-playable field or -1
+     */
+    int getFullBlock() {
+        return fullBlock;
+    }
+
+    /**
+     * Getter for first low degree field.
+     *
+     * @return flat index of the first ordinary field with less than two connections or -1
+     */
+    int getLowDegreeField() {
+        return lowDegreeField;
+    }
+
+    /**
+     * Getter for number of free fields.
+     *
+     * @return the number of free fields in the stripe
+     */
+    int getFreeFields() {
+        return freeFields;
+    }
+}
@@ -0,0 +1,61 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.game.BoardGraph;
+import edu.kit.kastel.game.GameBoard;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class checks a range of map stripes on a fork/join pool.
+ * The range is split in halves until a single stripe is left, which is checked by the worker thread.
+ *
+ * @author Programmieren-Team
+ */
+final class MapStripeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private static final int SINGLE_STRIPE = 1;
+    private static final int HALF_DIVISOR = 2;
+
+    private final transient GameBoard board;
+    private final transient BoardGraph graph;
+    private final transient MapStripe[] stripes;
+    private final int[] parents;
+    private final int firstStripe;
+    private final int endStripe;
+
+    /**
+     * This constructor creates a task for a range of stripes.
+     *
+     * @param board       the map template
+     * @param graph       the graph of the map
+     * @param stripes     all stripes of the map
+     * @param parents     the union-find forest of all nodes
+     * @param firstStripe the first stripe of the range
+     * @param endStripe   the stripe after the last stripe of the range
+     */
+    MapStripeTask(GameBoard board, BoardGraph graph, MapStripe[] stripes, int[] parents, int firstStripe,
+                  int endStripe) {
+        this.board = board;
+        this.graph = graph;
+        this.stripes = stripes;
+        this.parents = parents;
+        this.firstStripe = firstStripe;
+        this.endStripe = endStripe;
+    }
+
+    /**
+     * Compute method override.
+     * It checks a single stripe or splits the range of stripes in halves.
+     */
+    @Override
+    protected void compute() {
+        if (endStripe - firstStripe == SINGLE_STRIPE) {
+            stripes[firstStripe].check(board, graph, parents);
+            return;
+        }
+
+        int middle = firstStripe + (endStripe - firstStripe) / HALF_DIVISOR;
+        invokeAll(new MapStripeTask(board, graph, stripes, parents, firstStripe, middle),
+                new MapStripeTask(board, graph, stripes, parents, middle, endStripe));
+    }
+}
@@ -0,0 +1,236 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.game.BoardGraph;
+import edu.kit.kastel.game.GameBoard;
+import edu.kit.kastel.game.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static edu.kit.kastel.game.GameCell.EMPTY_CELL_SYMBOL;
+
+/**
+ * This class checks the rules a map must follow before a session can be started on it.
+ * All rules are checked in time linear to the number of cells and without recursion:
+ * exactly one target field, a non-playable field in every 2x2 block, at least two connections
+ * for ordinary fields, one connected graph of fields and enough free fields for all figures.
+ * Large maps are split into horizontal stripes which are checked on a fork/join pool.
+ *
+ * @author Programmieren-Team
+ */
+public final class MapValidator {
+    /**
+     * Minimum number of cells of a map to be checked in parallel.
+     */
+    public static final int PARALLEL_MIN_CELLS = 1 << 20;
+    private static final String NO_TARGET_ERROR_MESSAGE = "the map has no target field.";
+    private static final String MULTIPLE_TARGETS_ERROR_MESSAGE = "the map has more than one target field, "
+            + "second target found at ";
+    private static final String FULL_BLOCK_ERROR_MESSAGE = "every 2x2 block must contain a non-playable field, "
+            + "block without one found at ";
+    private static final String LOW_DEGREE_ERROR_MESSAGE = "every field except start, target and forest must have "
+            + "at least two connections, field without them found at ";
+    private static final String NOT_CONNECTED_ERROR_MESSAGE = "the fields must form one connected graph, "
+            + "unreachable field found at ";
+    private static final String NOT_ENOUGH_FREE_FIELDS_ERROR_MESSAGE = "the map has not enough free fields for all "
+            + "figures: ";
+    private static final String FREE_FIELDS_SEPARATOR = " free fields for ";
+    private static final String FIGURES_SUFFIX = " figures.";
+    private static final String POSITION_PREFIX = "(";
+    private static final String POSITION_SEPARATOR = ", ";
+    private static final String POSITION_SUFFIX = ").";
+    private static final int SINGLE_THREAD = 1;
+    private static final int STRIPES_PER_THREAD = 4;
+    private static final int ONE_TARGET = 1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    private static int parallelism = Runtime.getRuntime().availableProcessors();
+    private static ForkJoinPool pool;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private MapValidator() {
+    }
+
+    /**
+     * This method checks if a session with the given number of players can be started on a map.
+     * If a rule is violated, the map and one error per violated rule are shown.
+     *
+     * @param board       the map template
+     * @param nrOfPlayers the number of players
+     * @return true if the map follows all rules
+     */
+    public static boolean isValidMap(GameBoard board, int nrOfPlayers) {
+        List<String> violations = findViolations(board, nrOfPlayers * Player.MAX_NUMBER_OF_FIGURES);
+        if (violations.isEmpty()) {
+            return true;
+        }
+
+        InputOutputHandler.showStartCommandError(violations.get(START_ITERATION_INDEX), board, EMPTY_CELL_SYMBOL);
+        for (int i = START_ITERATION_INDEX + 1; i < violations.size(); i++) {
+            InputOutputHandler.showError(violations.get(i));
+        }
+
+        return false;
+    }
+
+    /**
+     * Setter for parallelism of the validation.
+     * Maps with at least {@link #PARALLEL_MIN_CELLS} cells are split into stripes checked by this many threads,
+     * a parallelism of one keeps all maps on the single-threaded path.
+     *
+     * @param parallelism the number of threads, values below one are treated as one
+     */
+    public static synchronized void setParallelism(int parallelism) {
+        MapValidator.parallelism = Math.max(SINGLE_THREAD, parallelism);
+    }
+
+    /**
+     * Getter for parallelism of the validation.
+     *
+     * @return the number of threads
+     */
+    public static synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null || pool.getParallelism() != parallelism) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(parallelism);
+        }
+
+        return pool;
+    }
+
+    /**
+     * This method collects the violated rules of a map, at most one message per rule.
+     * Only the number of free fields depends on the number of figures, the other rules are checked
+     * once per template and their result is stored on it, see {@link GameBoard#getRuleViolations()}.
+     *
+     * @param board        the map template
+     * @param figureCount  the number of figures of all players
+     * @return the error messages, empty if the map is valid
+     */
+    static List<String> findViolations(GameBoard board, int figureCount) {
+        if (board.getRuleViolations() == null) {
+            checkRules(board);
+        }
+
+        List<String> violations = new ArrayList<>(board.getRuleViolations());
+        int freeFields = board.getFreeFieldCount();
+        if (freeFields < figureCount) {
+            violations.add(NOT_ENOUGH_FREE_FIELDS_ERROR_MESSAGE + freeFields + FREE_FIELDS_SEPARATOR + figureCount
+                    + FIGURES_SUFFIX);
+        }
+
+        return violations;
+    }
+
+    /**
+     * This method checks the rules of a map that do not depend on the number of figures and stores the result
+     * on the map. The map is checked in horizontal stripes, which are processed in parallel for large maps.
+     * The results of the stripes are combined in row order, so the messages do not depend on the parallelism.
+     *
+     * @param board the map template
+     */
+    private static void checkRules(GameBoard board) {
+        BoardGraph graph = board.getGraph();
+        int[] parents = new int[graph.getNodeCount()];
+        MapStripe[] stripes = checkStripes(board, graph, parents);
+
+        int targetCount = INTEGER_DEFAULT_INITIAL_VALUE;
+        int secondTarget = GameBoard.INVALID_INDEX;
+        int fullBlock = GameBoard.INVALID_INDEX;
+        int lowDegreeField = GameBoard.INVALID_INDEX;
+        int freeFields = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (MapStripe stripe : stripes) {
+            if (secondTarget == GameBoard.INVALID_INDEX) {
+                secondTarget = targetCount == ONE_TARGET ? stripe.getFirstTarget() : stripe.getSecondTarget();
+            }
+            targetCount += stripe.getTargetCount();
+            fullBlock = fullBlock == GameBoard.INVALID_INDEX ? stripe.getFullBlock() : fullBlock;
+            lowDegreeField = lowDegreeField == GameBoard.INVALID_INDEX ? stripe.getLowDegreeField() : lowDegreeField;
+            freeFields += stripe.getFreeFields();
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (targetCount < ONE_TARGET) {
+            violations.add(NO_TARGET_ERROR_MESSAGE);
+        } else if (targetCount > ONE_TARGET) {
+            violations.add(MULTIPLE_TARGETS_ERROR_MESSAGE + formatPosition(board, secondTarget));
+        }
+        if (fullBlock != GameBoard.INVALID_INDEX) {
+            violations.add(FULL_BLOCK_ERROR_MESSAGE + formatPosition(board, fullBlock));
+        }
+        if (lowDegreeField != GameBoard.INVALID_INDEX) {
+            violations.add(LOW_DEGREE_ERROR_MESSAGE + formatPosition(board, lowDegreeField));
+        }
+        int unreachableField = findUnreachableField(board, graph, stripes, parents);
+        if (unreachableField != GameBoard.INVALID_INDEX) {
+            violations.add(NOT_CONNECTED_ERROR_MESSAGE + formatPosition(board, unreachableField));
+        }
+
+        board.setRuleViolations(violations, freeFields);
+    }
+
+    private static MapStripe[] checkStripes(GameBoard board, BoardGraph graph, int[] parents) {
+        int rows = board.getRowLength();
+        int threads = getParallelism();
+        if (threads == SINGLE_THREAD || (long) rows * board.getColumnLength() < PARALLEL_MIN_CELLS) {
+            MapStripe stripe = new MapStripe(START_ITERATION_INDEX, rows);
+            stripe.check(board, graph, parents);
+            return new MapStripe[]{stripe};
+        }
+
+        int stripeCount = Math.min(rows, threads * STRIPES_PER_THREAD);
+        MapStripe[] stripes = new MapStripe[stripeCount];
+        for (int i = START_ITERATION_INDEX; i < stripeCount; i++) {
+            stripes[i] = new MapStripe((int) ((long) rows * i / stripeCount),
+                    (int) ((long) rows * (i + 1) / stripeCount));
+        }
+
+        getPool().invoke(new MapStripeTask(board, graph, stripes, parents, START_ITERATION_INDEX, stripeCount));
+        return stripes;
+    }
+
+    /**
+     * This method merges the components of the stripes at the seams and finds the first node
+     * that is not in the component of the first node.
+     *
+     * @param board   the map template
+     * @param graph   the graph of the map
+     * @param stripes the checked stripes
+     * @param parents the union-find forest of all nodes
+     * @return flat index of the first unreachable field or -1 if all fields are connected
+     */
+    private static int findUnreachableField(GameBoard board, BoardGraph graph, MapStripe[] stripes, int[] parents) {
+        for (int i = START_ITERATION_INDEX + 1; i < stripes.length; i++) {
+            int seam = board.index(stripes[i].getFirstRow(), START_ITERATION_INDEX);
+            for (int cell = seam; cell < seam + board.getColumnLength(); cell++) {
+                int node = graph.getNode(cell);
+                if (node != BoardGraph.NO_NODE) {
+                    MapStripe.link(parents, node, graph.getNode(cell - board.getColumnLength()));
+                }
+            }
+        }
+
+        // the first node is always the root of its component, since the smaller root is kept when linking
+        for (int node = START_ITERATION_INDEX + 1; node < graph.getNodeCount(); node++) {
+            if (MapStripe.find(parents, node) != START_ITERATION_INDEX) {
+                return graph.getCell(node);
+            }
+        }
+
+        return GameBoard.INVALID_INDEX;
+    }
+
+    private static String formatPosition(GameBoard board, int index) {
+        return POSITION_PREFIX + board.getRow(index) + POSITION_SEPARATOR + board.getColumn(index) + POSITION_SUFFIX;
+    }
+}
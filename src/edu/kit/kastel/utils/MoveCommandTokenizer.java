@@ -0,0 +1,269 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.enums.CommandType;
+import edu.kit.kastel.enums.Direction;
+import edu.kit.kastel.game.Figure;
+import edu.kit.kastel.game.Player;
+
+import java.util.Arrays;
+
+/**
+ * This class splits move and move obstacle commands into steps in a single pass over the command.
+ * Every pair of distance and direction is encoded as one int step, holding the distance, a flag for a distance
+ * that is not a number and the direction ordinal or {@link #INVALID_DIRECTION}.
+ * Invalid parameters are kept as steps, so the command handlers report them in the same order as before.
+ * The tokens are read the same way as by replacing the command word, trimming and splitting at single spaces,
+ * but without creating any strings. The step array is reused and only grows for unusually long commands.
+ *
+ * @author Programmieren-Team
+ */
+public final class MoveCommandTokenizer {
+    /**
+     * Direction value of a step whose direction is not valid.
+     */
+    public static final int INVALID_DIRECTION = Direction.values().length;
+    /**
+     * Largest distance a step can hold, larger numbers are stored as this value.
+     */
+    public static final int MAX_DISTANCE = Integer.MAX_VALUE >>> MoveCommandTokenizer.DISTANCE_SHIFT;
+    /**
+     * Figure index of a figure token that cannot name a figure.
+     */
+    public static final int NO_FIGURE_INDEX = -1;
+    private static final String MOVE_PREFIX = CommandType.MOVE + " ";
+    private static final String MOVE_OBSTACLE_PREFIX = CommandType.MOVE_OBSTACLE + " ";
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final String[] DIRECTION_NAMES = new String[DIRECTIONS.length];
+    private static final char PARAMETER_SEPARATOR = ' ';
+    private static final char LAST_WHITESPACE_SYMBOL = ' ';
+    private static final char FIRST_DIGIT_SYMBOL = '0';
+    private static final char LAST_DIGIT_SYMBOL = '9';
+    private static final int DECIMAL_BASE = 10;
+    private static final int DIRECTION_MASK = 0b111;
+    private static final int INVALID_NUMBER_FLAG = 1 << 3;
+    private static final int DISTANCE_SHIFT = 4;
+    private static final int ALL_DIRECTIONS = (1 << DIRECTIONS.length) - 1;
+    private static final int MIN_NR_OF_PARAMS_FOR_MOVE_COMMAND = 3;
+    private static final int MIN_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND = 2;
+    private static final int MAX_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND = 4;
+    private static final int FIGURE_TOKEN_LENGTH = 2;
+    private static final int FIGURE_LETTER_INDEX = 0;
+    private static final int FIGURE_NUMBER_INDEX = 1;
+    private static final int FIRST_FIGURE_INDEX = 1;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    static {
+        for (int i = START_ITERATION_INDEX; i < DIRECTIONS.length; i++) {
+            DIRECTION_NAMES[i] = DIRECTIONS[i].toString();
+        }
+    }
+
+    private int[] steps = new int[INITIAL_CAPACITY];
+    private int stepCount;
+    private int tokenCount;
+    private char figureLetter;
+    private char figureNumber;
+    private int figureIndex;
+    private int tokenLength;
+    private int number;
+    private boolean isNumber;
+    private int directionCandidates;
+    private int pendingDistance;
+
+    /**
+     * This method splits the parameters of a move command, the first one is the figure name.
+     *
+     * @param command the command
+     * @return true if the command has a figure and at least one pair of distance and direction
+     */
+    public boolean tokenizeMove(String command) {
+        tokenize(command, MOVE_PREFIX, true);
+        return tokenCount >= MIN_NR_OF_PARAMS_FOR_MOVE_COMMAND && tokenCount % 2 != 0;
+    }
+
+    /**
+     * This method splits the parameters of a move obstacle command.
+     *
+     * @param command the command
+     * @return true if the command has one or two pairs of distance and direction
+     */
+    public boolean tokenizeMoveObstacle(String command) {
+        tokenize(command, MOVE_OBSTACLE_PREFIX, false);
+        return tokenCount == MIN_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND
+                || tokenCount == MAX_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND;
+    }
+
+    /**
+     * Getter for the steps of the last command, only the first {@link #getStepCount()} entries are valid.
+     *
+     * @return the step array
+     */
+    public int[] getSteps() {
+        return steps;
+    }
+
+    /**
+     * Getter for the number of steps of the last command.
+     *
+     * @return the number of steps
+     */
+    public int getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * This method returns the figure named by the last move command.
+     *
+     * @param player the current player
+     * @return the figure or null if the name does not belong to a figure of the player on the playing field
+     */
+    public Figure findFigure(Player player) {
+        return figureIndex == NO_FIGURE_INDEX || figureLetter != player.getName()
+                ? null
+                : player.getPlayingFigure(figureIndex);
+    }
+
+    /**
+     * Getter for the distance of a step.
+     *
+     * @param step the encoded step
+     * @return the distance or -1 if the distance was not a number
+     */
+    public static int getDistance(int step) {
+        return (step & INVALID_NUMBER_FLAG) != INTEGER_DEFAULT_INITIAL_VALUE
+                ? Utility.INVALID_INTEGER_VALUE
+                : step >>> DISTANCE_SHIFT;
+    }
+
+    /**
+     * Getter for the direction of a step.
+     *
+     * @param step the encoded step
+     * @return the direction or null if the direction was not valid
+     */
+    public static Direction getDirection(int step) {
+        int direction = step & DIRECTION_MASK;
+        return direction == INVALID_DIRECTION ? null : DIRECTIONS[direction];
+    }
+
+    /**
+     * This method reads all tokens of a command. Occurrences of the command word are skipped wherever they are,
+     * the parameters are trimmed and every single space ends a token.
+     *
+     * @param command   the command
+     * @param prefix    the command word followed by a space
+     * @param hasFigure true if the first token is a figure name
+     */
+    private void tokenize(String command, String prefix, boolean hasFigure) {
+        stepCount = INTEGER_DEFAULT_INITIAL_VALUE;
+        tokenCount = INTEGER_DEFAULT_INITIAL_VALUE;
+        figureIndex = NO_FIGURE_INDEX;
+        if (command == null) {
+            return;
+        }
+
+        // first pass: find the parameters without leading and trailing whitespace
+        int first = Utility.INVALID_INTEGER_VALUE;
+        int end = Utility.INVALID_INTEGER_VALUE;
+        int i = START_ITERATION_INDEX;
+        while (i < command.length()) {
+            if (command.startsWith(prefix, i)) {
+                i += prefix.length();
+                continue;
+            }
+
+            if (command.charAt(i) > LAST_WHITESPACE_SYMBOL) {
+                first = first == Utility.INVALID_INTEGER_VALUE ? i : first;
+                end = i + 1;
+            }
+            i++;
+        }
+
+        startToken();
+        i = first;
+        while (i < end) {
+            if (command.startsWith(prefix, i)) {
+                i += prefix.length();
+                continue;
+            }
+
+            char symbol = command.charAt(i);
+            if (symbol == PARAMETER_SEPARATOR) {
+                finishToken(hasFigure);
+                startToken();
+            } else {
+                addSymbol(symbol);
+            }
+            i++;
+        }
+
+        finishToken(hasFigure);
+    }
+
+    private void startToken() {
+        tokenLength = INTEGER_DEFAULT_INITIAL_VALUE;
+        number = INTEGER_DEFAULT_INITIAL_VALUE;
+        isNumber = true;
+        directionCandidates = ALL_DIRECTIONS;
+    }
+
+    private void addSymbol(char symbol) {
+        if (symbol >= FIRST_DIGIT_SYMBOL && symbol <= LAST_DIGIT_SYMBOL) {
+            number = Math.min(MAX_DISTANCE, number * DECIMAL_BASE + symbol - FIRST_DIGIT_SYMBOL);
+        } else {
+            isNumber = false;
+        }
+
+        for (int d = START_ITERATION_INDEX; d < DIRECTIONS.length; d++) {
+            String name = DIRECTION_NAMES[d];
+            if (tokenLength >= name.length() || name.charAt(tokenLength) != symbol) {
+                directionCandidates &= ~(1 << d);
+            }
+        }
+
+        if (tokenCount == START_ITERATION_INDEX && tokenLength == FIGURE_LETTER_INDEX) {
+            figureLetter = symbol;
+        } else if (tokenCount == START_ITERATION_INDEX && tokenLength == FIGURE_NUMBER_INDEX) {
+            figureNumber = symbol;
+        }
+        tokenLength++;
+    }
+
+    private void finishToken(boolean hasFigure) {
+        int parameter = hasFigure ? tokenCount - 1 : tokenCount;
+        if (parameter < START_ITERATION_INDEX) {
+            int index = figureNumber - FIRST_DIGIT_SYMBOL;
+            boolean isFigure = tokenLength == FIGURE_TOKEN_LENGTH && index >= FIRST_FIGURE_INDEX
+                    && index <= Player.MAX_NUMBER_OF_FIGURES;
+            figureIndex = isFigure ? index : NO_FIGURE_INDEX;
+        } else if (parameter % 2 == 0) {
+            pendingDistance = isNumber && tokenLength > INTEGER_DEFAULT_INITIAL_VALUE
+                    ? number << DISTANCE_SHIFT
+                    : INVALID_NUMBER_FLAG;
+        } else {
+            addStep(pendingDistance | getTokenDirection());
+        }
+        tokenCount++;
+    }
+
+    private int getTokenDirection() {
+        for (int d = START_ITERATION_INDEX; d < DIRECTIONS.length; d++) {
+            if ((directionCandidates & 1 << d) != INTEGER_DEFAULT_INITIAL_VALUE
+                    && DIRECTION_NAMES[d].length() == tokenLength) {
+                return d;
+            }
+        }
+
+        return INVALID_DIRECTION;
+    }
+
+    private void addStep(int step) {
+        if (stepCount == steps.length) {
+            steps = Arrays.copyOf(steps, steps.length * 2);
+        }
+
+        steps[stepCount++] = step;
+    }
+}
@@ -1,15 +1,15 @@
 package edu.kit.kastel.utils;
 
-import edu.kit.kastel.enums.CellType;
 import edu.kit.kastel.enums.CommandType;
 import edu.kit.kastel.enums.Direction;
+import edu.kit.kastel.game.BoardGraph;
 import edu.kit.kastel.game.CellPosition;
 import edu.kit.kastel.game.Figure;
+import edu.kit.kastel.game.GameBoard;
 import edu.kit.kastel.game.GameCell;
+import edu.kit.kastel.game.PathSearch;
 import edu.kit.kastel.game.Session;
-
-import java.util.Arrays;
-import java.util.List;
+import edu.kit.kastel.game.VisitedCells;
 
 import static edu.kit.kastel.utils.Utility.INVALID_INTEGER_VALUE;
 
@@ -27,16 +27,15 @@ public final class MoveCommandsHelper {
             + "Please use: up, right, left or down.";
     private static final String COMMAND_SEPARATOR_SYMBOL = " ";
     private static final String EMPTY_STRING_SYMBOL = "";
+    private static final String POSITION_PREFIX = "(";
+    private static final String POSITION_SEPARATOR = ", ";
+    private static final String POSITION_SUFFIX = "): ";
     private static final int START_ITERATION_INDEX = 0;
     private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
     private static final int SINGLE_MOVE_DISTANCE = 1;
-    private static final int MIN_NR_OF_PARAMS_FOR_MOVE_COMMAND = 3;
-    private static final int MIN_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND = 2;
-    private static final int MAX_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND = 4;
-    private static final int MAX_NR_OF_VARIABLES_FOR_MOVE_OBS_COMMAND = 4;
-    private static final int FIRST_DIR_IDX = 1;
-    private static final int SECOND_DIR_INDEX = 3;
-    private static final int FIGURE_LETTER_INDEX = 0;
+    private static final int MAX_NR_OF_STEPS_FOR_MOVE_OBST_COMMAND = 2;
+    private static final int FIRST_STEP_INDEX = 0;
+    private static final int SECOND_STEP_INDEX = 1;
 
     private MoveCommandsHelper() {
     }
@@ -47,154 +46,207 @@ public final class MoveCommandsHelper {
      * If the figure is not on the playing field, it prints an error message.
      *
      * @param activeSession the active session
-     * @param params        the parameters
+     * @param command       the command
      */
-    public static void handleMoveCommand(Session activeSession, String[] params) {
-        if (!GameCommandHelper.isValidCommandData(activeSession, params)) {
+    public static void handleMoveCommand(Session activeSession, String command) {
+        MoveCommandTokenizer tokenizer = activeSession.getCommandTokenizer();
+        if (!tokenizer.tokenizeMove(command)) {
+            InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
             return;
         }
 
-        String figureName = params[FIGURE_LETTER_INDEX];
-        Figure figure = activeSession.getCurrentPlayer().checkIfFigureOnPlayingField(figureName);
-        if (!GameCommandHelper.checkFigure(figureName) || figure == null) {
+        Figure figure = tokenizer.findFigure(activeSession.getCurrentPlayer());
+        if (figure == null) {
             InputOutputHandler.showError(INVALID_FIGURE_ERROR_MESSAGE);
             return;
         }
 
-        String[] directions = Arrays.copyOfRange(params, 1, params.length);
-        activeSession.handleMove(figure, directions);
+        activeSession.handleMove(figure, tokenizer.getSteps(), tokenizer.getStepCount());
+    }
+
+    /**
+     * This method handles the hints command.
+     * It prints every cell the figure can end its move on with the rolled dice,
+     * followed by a move command that leads there.
+     * If the figure is not on the playing field, it prints an error message.
+     *
+     * @param activeSession the active session
+     * @param command       the command
+     */
+    public static void handleHintsCommand(Session activeSession, String command) {
+        String figureName = CommandHelper.getSingleParameter(command, CommandType.HINTS);
+        Figure figure = figureName == null
+                ? null
+                : activeSession.getCurrentPlayer().checkIfFigureOnPlayingField(figureName);
+        if (figure == null) {
+            InputOutputHandler.showError(INVALID_FIGURE_ERROR_MESSAGE);
+            return;
+        }
+
+        int dice = activeSession.getCurrentPlayer().getDice();
+        int[] destinations = new int[PathSearch.getMaxDestinations(dice)];
+        int[] paths = new int[destinations.length];
+        int count = activeSession.findDestinations(figure, destinations, paths);
+
+        GameBoard board = activeSession.getBoard();
+        for (int i = START_ITERATION_INDEX; i < count; i++) {
+            System.out.println(POSITION_PREFIX + board.getRow(destinations[i]) + POSITION_SEPARATOR
+                    + board.getColumn(destinations[i]) + POSITION_SUFFIX + CommandType.MOVE
+                    + COMMAND_SEPARATOR_SYMBOL + figureName + getMoveParameters(paths[i], dice));
+        }
+    }
+
+    /**
+     * This method converts an encoded path to the distances and directions of a move command.
+     * Consecutive steps in the same direction are merged.
+     *
+     * @param path  the encoded path
+     * @param steps the number of steps
+     * @return the parameters, starting with a separator
+     */
+    static String getMoveParameters(int path, int steps) {
+        StringBuilder parameters = new StringBuilder();
+        int distance = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int i = START_ITERATION_INDEX; i < steps; i++) {
+            distance++;
+            Direction direction = PathSearch.getStep(path, i);
+            if (i == steps - 1 || PathSearch.getStep(path, i + 1) != direction) {
+                parameters.append(COMMAND_SEPARATOR_SYMBOL).append(distance)
+                        .append(COMMAND_SEPARATOR_SYMBOL).append(direction);
+                distance = INTEGER_DEFAULT_INITIAL_VALUE;
+            }
+        }
 
+        return parameters.toString();
     }
 
     /**
      * Method that processes move command steps. Iterate throw user parameter and checks if new
-     * position is valid.
-     * @param directions directions given by the user in command
+     * position is valid. Positions are handled as flat indices, so no position is created per step.
+     * @param steps steps given by the user in command, encoded by {@link MoveCommandTokenizer}
+     * @param stepCount number of steps
      * @param dice current dice value
-     * @param initialPos initial position for figure
-     * @param visited list of visited positions
-     * @param gameMatrix game matrix
-     * @return new position after moves
+     * @param initialIndex flat index of the initial position of the figure, already added to visited
+     * @param visited cells visited in this move
+     * @param board game board
+     * @return flat index of the new position after moves or -1 if the move is not valid
      */
-    public static CellPosition processMoveSteps(String[] directions, int dice, CellPosition initialPos,
-                                         List<CellPosition> visited, GameCell[][] gameMatrix) {
-        int number = INTEGER_DEFAULT_INITIAL_VALUE;
+    public static int processMoveSteps(int[] steps, int stepCount, int dice, int initialIndex, VisitedCells visited,
+                                       GameBoard board) {
         int directionSum = INTEGER_DEFAULT_INITIAL_VALUE;
-        CellPosition newPosition = new CellPosition(initialPos);
+        int newIndex = initialIndex;
 
-        for (int i = START_ITERATION_INDEX; i < directions.length; i++) {
-            if (i % 2 == 0) {
-                number = processNumber(directions[i], directionSum, false, dice);
+        for (int i = START_ITERATION_INDEX; i < stepCount; i++) {
+            int number = processNumber(steps[i], directionSum, false, dice);
 
-                if (number == INVALID_INTEGER_VALUE) {
-                    return null;
-                }
+            if (number == INVALID_INTEGER_VALUE) {
+                return GameBoard.INVALID_INDEX;
+            }
 
-                directionSum += number;
-            } else {
-                newPosition = processDirection(directions[i], newPosition, number,
-                        i == directions.length - 1, visited, gameMatrix);
+            directionSum += number;
+            newIndex = processDirection(steps[i], newIndex, number, i == stepCount - 1, visited, board);
 
-                if (newPosition == null) {
-                    return null;
-                }
+            if (newIndex == GameBoard.INVALID_INDEX) {
+                return GameBoard.INVALID_INDEX;
             }
         }
 
         if (directionSum != dice) {
             InputOutputHandler.showError(INVALID_NUMBER_OF_MOVES_ERROR_MESSAGE);
-            return null;
+            return GameBoard.INVALID_INDEX;
         }
 
-        return newPosition;
+        return newIndex;
     }
 
     /**
      * Method that processes move obstacle steps.
-     * @param directions directions given by the user
+     * @param steps steps given by the user, encoded by {@link MoveCommandTokenizer}
+     * @param stepCount number of steps
      * @param activeSession active session
      * @return true if successfully processed
      */
-    public static boolean processMoveObstacleSteps(String[] directions, Session activeSession) {
-        int number = INVALID_INTEGER_VALUE;
-        Direction direction;
-        for (int i = START_ITERATION_INDEX; i < directions.length; i++) {
-            if (i % 2 == 0) {
-                number = processNumber(directions[i], INVALID_INTEGER_VALUE, true, INVALID_INTEGER_VALUE);
-
-                if (number == INVALID_INTEGER_VALUE) {
-                    return false;
-                }
-            } else {
-
-                direction = GameCommandHelper.getDirectionFromString(directions[i]);
-
-                if (isValidDirection(directions, direction)) {
-                    InputOutputHandler.showError(INVALID_DIRECTION_ERROR_MESSAGE);
-                    return false;
-                }
-
-                if (!MoveCommandsHelper.moveObstacle(number, direction, activeSession, i == directions.length - 1)) {
-                    return false;
-                }
+    public static boolean processMoveObstacleSteps(int[] steps, int stepCount, Session activeSession) {
+        for (int i = START_ITERATION_INDEX; i < stepCount; i++) {
+            int number = processNumber(steps[i], INVALID_INTEGER_VALUE, true, INVALID_INTEGER_VALUE);
+
+            if (number == INVALID_INTEGER_VALUE) {
+                return false;
+            }
+
+            Direction direction = MoveCommandTokenizer.getDirection(steps[i]);
+
+            if (isInvalidDirection(steps, stepCount, direction)) {
+                InputOutputHandler.showError(INVALID_DIRECTION_ERROR_MESSAGE);
+                return false;
+            }
+
+            if (!MoveCommandsHelper.moveObstacle(number, direction, activeSession, i == stepCount - 1)) {
+                return false;
             }
         }
 
         return true;
     }
 
-    private static boolean isValidDirection(String[] directions, Direction direction) {
-        return direction == null || directions.length == MAX_NR_OF_VARIABLES_FOR_MOVE_OBS_COMMAND
-                && directions[FIRST_DIR_IDX].equals(directions[SECOND_DIR_INDEX]);
+    private static boolean isInvalidDirection(int[] steps, int stepCount, Direction direction) {
+        return direction == null || stepCount == MAX_NR_OF_STEPS_FOR_MOVE_OBST_COMMAND
+                && MoveCommandTokenizer.getDirection(steps[FIRST_STEP_INDEX])
+                == MoveCommandTokenizer.getDirection(steps[SECOND_STEP_INDEX]);
     }
 
     /**
      * This method moves the figure in the given direction.
-     * @param currentPos    the current pos
+     * @param currentIndex  flat index of the current position
      * @param numberOfMoves the number of moves
      * @param direction     the direction
      * @param isLastMove    if it is the last move
      * @param visited       the visited cells
-     * @param gameMatrix    matrix of the game
-     * @return the new position
+     * @param board         board of the game
+     * @return flat index of the new position or -1 if the move is not valid
      */
-    private static CellPosition move(CellPosition currentPos, int numberOfMoves, Direction direction,
-                              boolean isLastMove, List<CellPosition> visited, GameCell[][] gameMatrix) {
-        CellPosition newPos = currentPos;
+    private static int move(int currentIndex, int numberOfMoves, Direction direction,
+                            boolean isLastMove, VisitedCells visited, GameBoard board) {
+        BoardGraph graph = board.getGraph();
+        int index = currentIndex;
+        int node = graph.getNode(index);
         for (int j = START_ITERATION_INDEX; j < numberOfMoves; j++) {
-            newPos = getNewPositionAfterOneMove(direction, newPos);
+            node = graph.getNeighbour(node, direction);
 
-            if (!Utility.checkNewFigurePosition(visited, newPos, isLastMove && j == numberOfMoves - 1,
-                    gameMatrix)) {
-                return null;
-            }
+            // only the error message depends on why there is no walkable neighbour
+            index = node != BoardGraph.NO_NODE
+                    ? graph.getCell(node)
+                    : board.getNeighbour(index, direction, SINGLE_MOVE_DISTANCE);
 
-            visited.add(newPos);
+            if (!Utility.checkNewFigurePosition(visited, index, isLastMove && j == numberOfMoves - 1,
+                    board)) {
+                return GameBoard.INVALID_INDEX;
+            }
         }
 
-        return newPos;
+        return index;
     }
 
     /**
      * This method processes the direction.
      *
-     * @param givenDirection the given direction
-     * @param newPos         the new position
+     * @param step           the step encoded by {@link MoveCommandTokenizer}
+     * @param newIndex       flat index of the current position
      * @param number         the number of moves
      * @param lastMove       if it is the last move
      * @param visited        the visited cells
-     * @param gameMatrix     matrix of the game
-     * @return the new position
+     * @param board          board of the game
+     * @return flat index of the new position or -1 if the move is not valid
      */
-    public static CellPosition processDirection(String givenDirection, CellPosition newPos, int number,
-                                         boolean lastMove, List<CellPosition> visited, GameCell[][] gameMatrix) {
-        Direction direction = GameCommandHelper.getDirectionFromString(givenDirection);
+    public static int processDirection(int step, int newIndex, int number,
+                                       boolean lastMove, VisitedCells visited, GameBoard board) {
+        Direction direction = MoveCommandTokenizer.getDirection(step);
         if (direction == null) {
             InputOutputHandler.showError(INVALID_DIRECTION_ERROR_MESSAGE);
-            return null;
+            return GameBoard.INVALID_INDEX;
         }
 
-        return move(newPos, number, direction, lastMove, visited, gameMatrix);
+        return move(newIndex, number, direction, lastMove, visited, board);
     }
 
 
@@ -212,9 +264,7 @@ public final class MoveCommandsHelper {
                                        boolean isLastMove) {
         GameCell obstacle = activeSession.getCurrentPlayer().getPendingObstacle();
 
-        int matrixRowLength = activeSession.getMatrixRowLength();
-        int matrixColLength = activeSession.getMatrixColumnLength();
-        CellPosition newPos = getNewObstaclePos(numberOfMoves, direction, obstacle.getPos(), matrixRowLength, matrixColLength);
+        CellPosition newPos = getNewObstaclePos(numberOfMoves, direction, obstacle.getPos(), activeSession.getBoard());
 
         if (newPos == null) {
             InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
@@ -223,9 +273,7 @@ public final class MoveCommandsHelper {
 
         // verify if obstacle new position is on pathway
         if (isLastMove) {
-            CellType newCellType = activeSession.getCellType(newPos);
-            boolean hasFigure = activeSession.hasMatrixCellFigure(newPos);
-            if (newCellType != CellType.PATHWAY && newCellType != CellType.PATHWAY_VILLAGE || hasFigure) {
+            if (!activeSession.getDropCells().contains(activeSession.getBoard().index(newPos))) {
                 InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
                 return false;
             }
@@ -239,141 +287,46 @@ public final class MoveCommandsHelper {
      * This method handles the move obstacle command.
      *
      * @param activeSession the active session
-     * @param directions    the directions
+     * @param command       the command
      */
-    public static void handleMoveObstacleCommand(Session activeSession, String[] directions) {
-        if (directions == null || directions.length < 2 || directions.length > MAX_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND) {
+    public static void handleMoveObstacleCommand(Session activeSession, String command) {
+        MoveCommandTokenizer tokenizer = activeSession.getCommandTokenizer();
+        if (!tokenizer.tokenizeMoveObstacle(command)) {
             InputOutputHandler.showError(INVALID_PATH_ERROR_MESSAGE);
             return;
         }
-        activeSession.handleMoveObstacle(directions);
-    }
-
-    /**
-     * This method returns the parameters from a move command.
-     * It returns the figure id, directions and distances.
-     * If the command is not valid, it returns null.
-     *
-     * @param command the command
-     * @return the parameters, figure id, directions and distances
-     */
-    public static String[] getParamsFromMoveCommand(String command) {
-        if (command == null || command.isEmpty()) {
-            return null;
-        }
-
-        String[] params = command.replace(CommandType.MOVE + COMMAND_SEPARATOR_SYMBOL,
-                EMPTY_STRING_SYMBOL).trim().split(COMMAND_SEPARATOR_SYMBOL);
-        return params.length >= MIN_NR_OF_PARAMS_FOR_MOVE_COMMAND && params.length % 2 != 0
-                ? params
-                : null;
-    }
-
-
-    /**
-     * This method returns the parameters from a move obstacle command.
-     * It returns the directions and distances.
-     * If the command is not valid, it returns null.
-     *
-     * @param command the command
-     * @return the parameters, directions and distances
-     */
-    public static String[] getParamsFromMoveObstacleCommand(String command) {
-        if (command == null || command.isEmpty()) {
-            return null;
-        }
-
-        String[] params = command.replace(CommandType.MOVE_OBSTACLE + COMMAND_SEPARATOR_SYMBOL,
-                EMPTY_STRING_SYMBOL).trim().split(COMMAND_SEPARATOR_SYMBOL);
-        return params.length == MIN_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND
-                || params.length == MAX_NR_OF_PARAMS_FOR_MOVE_OBST_COMMAND
-                ? params
-                : null;
-    }
-
-    /**
-     * This method returns new position after one move.
-     *
-     * @param direction the direction
-     * @param pos    the position
-     * @return the new position
-     */
-    public static CellPosition getNewPositionAfterOneMove(Direction direction, CellPosition pos) {
-        int newRow = pos.getRow();
-        int newCol = pos.getColumn();
-        switch (direction) {
-            case UP:
-                newRow -= SINGLE_MOVE_DISTANCE;
-                break;
-            case DOWN:
-                newRow += SINGLE_MOVE_DISTANCE;
-                break;
-            case LEFT:
-                newCol -= SINGLE_MOVE_DISTANCE;
-                break;
-            case RIGHT:
-                newCol += SINGLE_MOVE_DISTANCE;
-                break;
-            default:
-                break;
-        }
-
-        return new CellPosition(newRow, newCol);
+        activeSession.handleMoveObstacle(tokenizer.getSteps(), tokenizer.getStepCount());
     }
 
     /**
      * This method returns new position for an obstacle.
      * If the new position is out of bounds, the method returns null.
-     * Otherwise, it returns the new position.
+     * Otherwise, it returns the canonical position of the board.
      *
-     * @param numberOfMoves the list of sessions
-     * @param direction the list of sessions
+     * @param numberOfMoves the number of moves
+     * @param direction the direction
      * @param pos the position
-     * @param matrixRowLength row length
-     * @param matrixColLength column length
-     * @return the active session
+     * @param board the game board
+     * @return the new position
      */
     public static CellPosition getNewObstaclePos(int numberOfMoves, Direction direction, CellPosition pos,
-                                                 int matrixRowLength, int matrixColLength) {
-        int newRow = pos.getRow();
-        int newCol = pos.getColumn();
-        switch (direction) {
-            case UP:
-                newRow -= numberOfMoves;
-                break;
-            case DOWN:
-                newRow += numberOfMoves;
-                break;
-            case LEFT:
-                newCol -= numberOfMoves;
-                break;
-            case RIGHT:
-                newCol += numberOfMoves;
-                break;
-            default:
-                break;
-        }
-
-        CellPosition newPos = new CellPosition(newRow, newCol);
-        if (Utility.isOutOfBounds(newPos, matrixRowLength, matrixColLength)) {
-            return null;
-        }
-
-        return newPos;
+                                                 GameBoard board) {
+        int index = board.getNeighbour(board.index(pos), direction, numberOfMoves);
+        return index == GameBoard.INVALID_INDEX ? null : board.getPosition(index);
     }
 
 
     /**
      * This method processes the number of moves given as a parameter for move commands.
      *
-     * @param direction direction
+     * @param step the step encoded by {@link MoveCommandTokenizer}
      * @param directionSum sum of directions
      * @param isMoveObstacle is move obstacle
      * @param dice dice
      * @return number
      */
-    public static int processNumber(String direction, int directionSum, boolean isMoveObstacle, int dice) {
-        int number = Utility.parseIntegerParam(direction);
+    public static int processNumber(int step, int directionSum, boolean isMoveObstacle, int dice) {
+        int number = MoveCommandTokenizer.getDistance(step);
         if (number == INVALID_INTEGER_VALUE
                 || (!isMoveObstacle && directionSum + number > dice)) {
             InputOutputHandler.showError(INVALID_NUMBER_OF_MOVES_ERROR_MESSAGE);
@@ -3,8 +3,9 @@ package edu.kit.kastel.utils;
 import edu.kit.kastel.enums.CellType;
 import edu.kit.kastel.game.CellPosition;
 import edu.kit.kastel.game.Forest;
-import edu.kit.kastel.game.GameCell;
+import edu.kit.kastel.game.GameBoard;
 import edu.kit.kastel.game.Session;
+import edu.kit.kastel.game.TurnScheduler;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -32,6 +33,10 @@ public final class SessionsHelper {
                     CellType.TARGET.getSymbol(),
                     CellType.OCCUPIED_FOREST.getSymbol(),
             };
+    /**
+     * Maximum number of players in a session.
+     */
+    public static final int MAX_NR_OF_PLAYERS = 21;
     private static final int MIN_NR_OF_PLAYERS = 2;
     private static final String TO_MUCH_PLAYERS_ERROR_MESSAGE = "wrong command or parameters.";
     private static final String WRONG_START_SESSION_PARAMS_ERROR_MESSAGE = "wrong command parameters.";
@@ -41,7 +46,6 @@ public final class SessionsHelper {
             + "players do not fall within the range 2-21.";
     private static final String EMPTY_STRING_SYMBOL = "";
     private static final int START_ITERATION_INDEX = 0;
-    private static final int MAX_NR_OF_PLAYERS = 21;
     private static final int SESSION_ID_PARAM_INDEX = 0;
     private static final int FILE_PATH_PARAM_INDEX = 1;
     private static final int NR_OF_PLAYERS_PARAM_INDEX = 2;
@@ -111,64 +115,48 @@ public final class SessionsHelper {
     }
 
     /**
-     * This method reads the game matrix from a file.
-     * If the file is not found, the method returns null.
-     * Otherwise, it converts the list of lines to a matrix.
+     * This method returns the shared map template of a file.
+     * If the file is not found or not valid, the method returns null.
      *
      * @param filePath the file path
-     * @return the game matrix
+     * @return the game board template
      */
-    private static GameCell[][] getSessionGameMatrix(String filePath) {
-        List<String> matrixLinesList =
-                FileHelper.readAllLines(filePath);
-        return matrixLinesList == null ? null : Utility.convertFromListToMatrix(matrixLinesList);
+    private static GameBoard getSessionGameMatrix(String filePath) {
+        return MapCache.getBoard(filePath);
     }
 
     /**
      * This method gets the starting position of the players.
      * It returns a map with the player symbol as key and the starting position as value.
-     * If the matrix is null, the method returns an empty map.
-     * If the matrix is not null, it iterates through the matrix and adds the starting positions to the map.
+     * The starting positions and the forest are looked up in the cells recorded while loading the map.
      *
-     * @param matrix      the game matrix
+     * @param board       the game board
      * @param nrOfPlayers the number of players
      * @return the starting positions
      */
-    private static Map<Character, CellPosition> getForestAndStartingPosition(GameCell[][] matrix, int nrOfPlayers) {
+    private static Map<Character, CellPosition> getForestAndStartingPosition(GameBoard board, int nrOfPlayers) {
         ArrayList<Character> letters = new ArrayList<>();
         Map<Character, CellPosition> positions = new HashMap<>();
 
         setLettersToFind(nrOfPlayers, letters);
 
-        for (int i = START_ITERATION_INDEX; i < matrix.length; i++) {
-            for (int j = START_ITERATION_INDEX; j < matrix[i].length; j++) {
-                GameCell cell = matrix[i][j];
-                boolean foundPlayerStartingPos = isFoundPlayerStartingPos(cell, letters);
-                boolean foundForest = cell.getType() == CellType.EMPTY_FOREST;
-
-                if (foundPlayerStartingPos || foundForest) {
-                    CellPosition position = new CellPosition(i, j);
-
-                    if (foundPlayerStartingPos) {
-                        positions.put(Character.toUpperCase(cell.getPlayerSymbol()), position);
-                    } else {
-                        positions.put(EMPTY_FOREST_SYMBOL, position);
-                    }
-                }
+        for (char letter : letters) {
+            int index = board.getStartIndex(letter);
+            if (index != GameBoard.INVALID_INDEX) {
+                positions.put(Character.toUpperCase(letter), board.getPosition(index));
             }
         }
 
-        return positions;
-    }
+        if (board.getForestIndex() != GameBoard.INVALID_INDEX) {
+            positions.put(EMPTY_FOREST_SYMBOL, board.getPosition(board.getForestIndex()));
+        }
 
-    private static boolean isFoundPlayerStartingPos(GameCell cell, ArrayList<Character> letters) {
-        return cell.getType() == CellType.PLAYER_STARTING_POSITION
-                && letters.contains(cell.getPlayerSymbol());
+        return positions;
     }
 
     private static void setLettersToFind(int nrOfPlayers, ArrayList<Character> letters) {
         for (int i = START_ITERATION_INDEX; i < nrOfPlayers; i++) {
-            letters.add(Character.toLowerCase(Utility.getLetterFromNumber(i, RESERVED_CHARACTERS)));
+            letters.add(Character.toLowerCase(TurnScheduler.getLetter(i)));
         }
     }
 
@@ -228,34 +216,72 @@ public final class SessionsHelper {
                         : null);
 
 
-        GameCell[][] matrix = SessionsHelper.getSessionGameMatrix(filePath);
-        if (!validateStartSessionCommand(matrix, sessions, sessionID, params, nrOfPlayers, seed)) {
+        GameBoard board = SessionsHelper.getSessionGameMatrix(filePath);
+        if (!validateStartSessionCommand(board, sessions, sessionID, params, nrOfPlayers, seed)) {
             return null;
         }
 
-        Map<Character, CellPosition> startingPositions = getForestAndStartingPosition(matrix, nrOfPlayers);
+        Map<Character, CellPosition> startingPositions = getForestAndStartingPosition(board, nrOfPlayers);
+        if (!isPlayableMap(board, nrOfPlayers, startingPositions)) {
+            return null;
+        }
 
+        // find if the session has a forest
+        Forest forest = getForest(startingPositions);
+
+        return new Session(sessionID, filePath, nrOfPlayers, board, startingPositions, seed, forest);
+    }
+
+    /**
+     * This method checks if a session with the given number of players can be started on a map template.
+     * If not, the same errors as for the start session command are shown.
+     *
+     * @param board       the map template
+     * @param nrOfPlayers the number of players
+     * @return true if the map has enough starting positions and follows all rules
+     */
+    public static boolean isPlayableMap(GameBoard board, int nrOfPlayers) {
+        return isPlayableMap(board, nrOfPlayers, getForestAndStartingPosition(board, nrOfPlayers));
+    }
+
+    private static boolean isPlayableMap(GameBoard board, int nrOfPlayers,
+                                         Map<Character, CellPosition> startingPositions) {
         if (startingPositions.size() < nrOfPlayers) {
             InputOutputHandler.showStartCommandError(TO_MUCH_PLAYERS_ERROR_MESSAGE,
-                    matrix, EMPTY_CELL_SYMBOL);
-            return null;
+                    board, EMPTY_CELL_SYMBOL);
+            return false;
         }
 
-        // find if the session has a forest
+        return MapValidator.isValidMap(board, nrOfPlayers);
+    }
+
+    /**
+     * This method creates a session without a seed on a map template checked by {@link #isPlayableMap(GameBoard,
+     * int)}. Nothing is shown, so it can be used to play games without a user.
+     *
+     * @param sessionID   the session id
+     * @param filePath    the file path of the map
+     * @param board       the map template
+     * @param nrOfPlayers the number of players
+     * @return the new session
+     */
+    public static Session createSession(String sessionID, String filePath, GameBoard board, int nrOfPlayers) {
+        Map<Character, CellPosition> startingPositions = getForestAndStartingPosition(board, nrOfPlayers);
         Forest forest = getForest(startingPositions);
 
-        return new Session(sessionID, filePath, nrOfPlayers, matrix, startingPositions, seed, forest);
+        return new Session(sessionID, filePath, nrOfPlayers, board, startingPositions, INVALID_INTEGER_VALUE,
+                forest);
     }
 
-    private static boolean validateStartSessionCommand(GameCell[][] matrix, List<Session> sessions, String sessionID,
+    private static boolean validateStartSessionCommand(GameBoard board, List<Session> sessions, String sessionID,
         String[] params, int nrOfPlayers, int seed) {
-        if (matrix == null || !SessionsHelper.isStartSessionIdValid(sessions, sessionID, matrix)) {
+        if (board == null || !SessionsHelper.isStartSessionIdValid(sessions, sessionID, board)) {
             return false;
         }
 
         if (!SessionsHelper.checkIfValidNrOfPlayersAndSeed(params, nrOfPlayers, seed)) {
             InputOutputHandler.showStartCommandError(NOT_IN_RANGE_ERROR_MESSAGE,
-                    matrix, EMPTY_CELL_SYMBOL);
+                    board, EMPTY_CELL_SYMBOL);
             return false;
         }
 
@@ -278,10 +304,10 @@ public final class SessionsHelper {
      *
      * @param sessions  list of sessions
      * @param sessionID session id to check
-     * @param matrix game matrix
+     * @param board game board
      * @return true if is valid
      */
-    private static boolean isStartSessionIdValid(List<Session> sessions, String sessionID, GameCell[][] matrix) {
+    private static boolean isStartSessionIdValid(List<Session> sessions, String sessionID, GameBoard board) {
         boolean isValid = true;
         String errorText = EMPTY_STRING_SYMBOL;
 
@@ -291,7 +317,7 @@ public final class SessionsHelper {
         }
 
         if (!isValid) {
-            InputOutputHandler.showStartCommandError(errorText, matrix, EMPTY_CELL_SYMBOL);
+            InputOutputHandler.showStartCommandError(errorText, board, EMPTY_CELL_SYMBOL);
         }
 
         return isValid;
@@ -0,0 +1,144 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.enums.CommandType;
+import edu.kit.kastel.game.CellPosition;
+import edu.kit.kastel.game.GameBoard;
+import edu.kit.kastel.game.RandomPolicy;
+import edu.kit.kastel.game.SelfPlaySimulator;
+import edu.kit.kastel.game.SimulationPolicies;
+import edu.kit.kastel.game.SimulationPolicy;
+import edu.kit.kastel.game.SimulationResult;
+import edu.kit.kastel.game.TurnScheduler;
+
+/**
+ * This class handles the simulate command.
+ * It plays games without a user on a map and shows how fast they were played, how many turns they took
+ * and how often each starting position won.
+ *
+ * @author Programmieren-Team
+ */
+public final class SimulationHelper {
+    private static final String WRONG_COMMAND_ERROR_MESSAGE = "wrong command or parameters.";
+    private static final String COMMAND_SEPARATOR_SYMBOL = " ";
+    private static final String GAMES_PREFIX = "games: ";
+    private static final String THREADS_PREFIX = ", threads: ";
+    private static final String POLICY_PREFIX = ", policy: ";
+    private static final String SEED_PREFIX = ", seed: ";
+    private static final String SPEED_PREFIX = "games per second: ";
+    private static final String TURNS_PREFIX = "turns: min ";
+    private static final String MEAN_PREFIX = ", mean ";
+    private static final String MEDIAN_PREFIX = ", p50 ";
+    private static final String NINETIETH_PREFIX = ", p90 ";
+    private static final String NINETY_NINTH_PREFIX = ", p99 ";
+    private static final String MAX_PREFIX = ", max ";
+    private static final String DRAWS_PREFIX = "no winner after ";
+    private static final String DRAWS_INFIX = " turns: ";
+    private static final String POSITION_PREFIX = " (";
+    private static final String POSITION_SEPARATOR = ", ";
+    private static final String WINS_PREFIX = "): ";
+    private static final String SHARE_PREFIX = " wins, ";
+    private static final String PERCENT_SUFFIX = "%";
+    private static final char DECIMAL_SEPARATOR = '.';
+    private static final int MIN_NR_OF_PARAMS = 3;
+    private static final int MAX_NR_OF_PARAMS = 6;
+    private static final int FILE_PATH_PARAM_INDEX = 0;
+    private static final int NR_OF_PLAYERS_PARAM_INDEX = 1;
+    private static final int NR_OF_GAMES_PARAM_INDEX = 2;
+    private static final int SEED_PARAM_INDEX = 3;
+    private static final int POLICY_PARAM_INDEX = 4;
+    private static final int THREADS_PARAM_INDEX = 5;
+    private static final int MIN_NR_OF_PLAYERS = 2;
+    private static final int MIN_VALUE = 1;
+    private static final int DEFAULT_SEED = 0;
+    private static final int MEDIAN_PERCENT = 50;
+    private static final int NINETIETH_PERCENT = 90;
+    private static final int NINETY_NINTH_PERCENT = 99;
+    private static final int MAX_PERCENT = 100;
+    private static final int MIN_PERCENT = 0;
+    private static final long TENTHS_PER_UNIT = 10;
+    private static final long TENTHS_PER_PERCENT = 1000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MIN_ELAPSED_NANOS = 1;
+    private static final int START_ITERATION_INDEX = 0;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private SimulationHelper() {
+    }
+
+    /**
+     * This method handles the simulate command.
+     * The parameters are the map file, the number of players, the number of games and optionally the seed,
+     * the policy of all players and the number of threads, each separated by a space.
+     * If a parameter is not valid or the map cannot be played, an error is shown.
+     *
+     * @param command the command to be handled
+     */
+    public static void handleSimulateCommand(String command) {
+        String parameters = CommandHelper.getSingleParameter(command, CommandType.SIMULATE);
+        String[] params = parameters == null ? null : parameters.split(COMMAND_SEPARATOR_SYMBOL);
+        if (params == null || params.length < MIN_NR_OF_PARAMS || params.length > MAX_NR_OF_PARAMS) {
+            InputOutputHandler.showError(WRONG_COMMAND_ERROR_MESSAGE);
+            return;
+        }
+
+        int nrOfPlayers = Utility.parseIntegerParam(params[NR_OF_PLAYERS_PARAM_INDEX]);
+        int games = Utility.parseIntegerParam(params[NR_OF_GAMES_PARAM_INDEX]);
+        int seed = params.length > SEED_PARAM_INDEX
+                ? Utility.parseIntegerParam(params[SEED_PARAM_INDEX])
+                : DEFAULT_SEED;
+        String policyName = params.length > POLICY_PARAM_INDEX ? params[POLICY_PARAM_INDEX] : RandomPolicy.NAME;
+        SimulationPolicy policy = SimulationPolicies.create(policyName);
+        int threads = params.length > THREADS_PARAM_INDEX
+                ? Utility.parseIntegerParam(params[THREADS_PARAM_INDEX])
+                : SimulationPolicies.MAX_NR_OF_THREADS;
+
+        if (nrOfPlayers < MIN_NR_OF_PLAYERS || nrOfPlayers > SessionsHelper.MAX_NR_OF_PLAYERS
+                || games < MIN_VALUE || seed == Utility.INVALID_INTEGER_VALUE || policy == null
+                || threads < MIN_VALUE || threads > SimulationPolicies.MAX_NR_OF_THREADS) {
+            InputOutputHandler.showError(WRONG_COMMAND_ERROR_MESSAGE);
+            return;
+        }
+
+        String filePath = params[FILE_PATH_PARAM_INDEX];
+        GameBoard board = MapCache.getBoard(filePath);
+        if (board == null || !SessionsHelper.isPlayableMap(board, nrOfPlayers)) {
+            return;
+        }
+
+        SelfPlaySimulator simulator = new SelfPlaySimulator(filePath, board, nrOfPlayers, policy,
+                SelfPlaySimulator.DEFAULT_MAX_TURNS);
+        long start = System.nanoTime();
+        SimulationResult result = simulator.run(seed, games, threads);
+        long elapsed = Math.max(MIN_ELAPSED_NANOS, System.nanoTime() - start);
+
+        System.out.println(GAMES_PREFIX + games + THREADS_PREFIX + threads + POLICY_PREFIX + policyName
+                + SEED_PREFIX + seed);
+        System.out.println(SPEED_PREFIX + games * NANOS_PER_SECOND / elapsed);
+        printResult(simulator, result);
+    }
+
+    private static void printResult(SelfPlaySimulator simulator, SimulationResult result) {
+        long games = result.getGames();
+        System.out.println(TURNS_PREFIX + result.getTurnPercentile(MIN_PERCENT)
+                + MEAN_PREFIX + formatTenths(result.getTotalTurns() * TENTHS_PER_UNIT / games)
+                + MEDIAN_PREFIX + result.getTurnPercentile(MEDIAN_PERCENT)
+                + NINETIETH_PREFIX + result.getTurnPercentile(NINETIETH_PERCENT)
+                + NINETY_NINTH_PREFIX + result.getTurnPercentile(NINETY_NINTH_PERCENT)
+                + MAX_PREFIX + result.getTurnPercentile(MAX_PERCENT));
+        System.out.println(DRAWS_PREFIX + SelfPlaySimulator.DEFAULT_MAX_TURNS + DRAWS_INFIX + result.getDraws());
+
+        for (int i = START_ITERATION_INDEX; i < simulator.getPlayerCount(); i++) {
+            CellPosition position = simulator.getStartPosition(i);
+            long wins = result.getWins(i);
+            System.out.println(TurnScheduler.getLetter(i) + POSITION_PREFIX + position.getRow()
+                    + POSITION_SEPARATOR + position.getColumn() + WINS_PREFIX + wins + SHARE_PREFIX
+                    + formatTenths(wins * TENTHS_PER_PERCENT / games) + PERCENT_SUFFIX);
+        }
+    }
+
+    private static String formatTenths(long tenths) {
+        return tenths / TENTHS_PER_UNIT + String.valueOf(DECIMAL_SEPARATOR) + tenths % TENTHS_PER_UNIT;
+    }
+}
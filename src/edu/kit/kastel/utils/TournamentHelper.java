@@ -0,0 +1,414 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.enums.CommandType;
+import edu.kit.kastel.enums.SearchMode;
+import edu.kit.kastel.game.ExpectimaxPolicy;
+import edu.kit.kastel.game.GameBoard;
+import edu.kit.kastel.game.MctsPolicy;
+import edu.kit.kastel.game.SelfPlaySimulator;
+import edu.kit.kastel.game.SimulationPolicies;
+import edu.kit.kastel.game.SimulationPolicy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class handles the tournament command.
+ * A tournament plays every seating of the given policies on every map for every seed of a range.
+ * The games are independent jobs run by a fixed number of worker threads, at most a few jobs per thread
+ * wait at a time. Every finished game is appended to the results file at once, so a tournament that was
+ * interrupted is resumed by running the same command again: the games already in the file are not played again,
+ * but they are counted in the summary together with the games played now.
+ * Every map is parsed once and shared by all its games. The search bots search a fixed number of iterations
+ * or a fixed depth on one thread, so a game is played the same way every time.
+ *
+ * @author Programmieren-Team
+ */
+public final class TournamentHelper {
+    private static final String WRONG_COMMAND_ERROR_MESSAGE = "wrong command or parameters.";
+    private static final String RESULTS_FILE_ERROR_MESSAGE = "the results file cannot be read or written.";
+    private static final String FAILED_GAME_ERROR_MESSAGE = "a game of the tournament failed: ";
+    private static final String INTERRUPTED_ERROR_MESSAGE = "the tournament was interrupted.";
+    private static final String COMMAND_SEPARATOR_SYMBOL = " ";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String LIMIT_SEPARATOR = ":";
+    private static final String LINE_BREAK = "\n";
+    private static final String JOBS_PREFIX = "jobs: ";
+    private static final String FINISHED_PREFIX = ", already finished: ";
+    private static final String PLAYED_PREFIX = ", played: ";
+    private static final String THREADS_PREFIX = ", threads: ";
+    private static final String POLICY_SUFFIX = ": ";
+    private static final String WINS_INFIX = " wins in ";
+    private static final String GAMES_SUFFIX = " games";
+    private static final String DRAWS_PREFIX = "no winner after ";
+    private static final String DRAWS_INFIX = " turns: ";
+    private static final int MIN_NR_OF_PARAMS = 5;
+    private static final int MAX_NR_OF_PARAMS = 7;
+    private static final int RESULTS_PARAM_INDEX = 0;
+    private static final int MAPS_PARAM_INDEX = 1;
+    private static final int POLICIES_PARAM_INDEX = 2;
+    private static final int FIRST_SEED_PARAM_INDEX = 3;
+    private static final int LAST_SEED_PARAM_INDEX = 4;
+    private static final int NR_OF_PLAYERS_PARAM_INDEX = 5;
+    private static final int THREADS_PARAM_INDEX = 6;
+    private static final int DEFAULT_NR_OF_PLAYERS = 2;
+    private static final int MIN_NR_OF_PLAYERS = 2;
+    private static final int MIN_VALUE = 1;
+    private static final int MAX_SEATINGS = 1 << 16;
+    private static final int NEXT_SEAT_OFFSET = 1;
+    private static final int JOBS_PER_THREAD = 2;
+    private static final int SINGLE_THREAD = 1;
+    private static final int MAX_POLICY_PARTS = 2;
+    private static final int NAME_PART_INDEX = 0;
+    private static final int LIMIT_PART_INDEX = 1;
+    private static final int DEFAULT_MCTS_ITERATIONS = 1000;
+    private static final int DEFAULT_EXPECTIMAX_DEPTH = 2;
+    private static final int KEEP_EMPTY_FIELDS_LIMIT = -1;
+    private static final int NOT_FOUND = -1;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private TournamentHelper() {
+    }
+
+    /**
+     * This method handles the tournament command.
+     * The parameters are the results file, the maps and the policies each separated by a comma, the first
+     * and the last seed and optionally the number of players and the number of threads, each separated by a space.
+     * A policy is random, greedy, mcts or expectimax, the search bots may be followed by a colon and
+     * the number of iterations or the depth of their searches.
+     * If a parameter is not valid or a map cannot be played, an error is shown.
+     *
+     * @param command the command to be handled
+     */
+    public static void handleTournamentCommand(String command) {
+        String parameters = CommandHelper.getSingleParameter(command, CommandType.TOURNAMENT);
+        String[] params = parameters == null ? null : parameters.split(COMMAND_SEPARATOR_SYMBOL);
+        if (params == null || params.length < MIN_NR_OF_PARAMS || params.length > MAX_NR_OF_PARAMS) {
+            InputOutputHandler.showError(WRONG_COMMAND_ERROR_MESSAGE);
+            return;
+        }
+
+        String[] mapPaths = params[MAPS_PARAM_INDEX].split(LIST_SEPARATOR);
+        String[] policies = params[POLICIES_PARAM_INDEX].split(LIST_SEPARATOR);
+        int firstSeed = Utility.parseIntegerParam(params[FIRST_SEED_PARAM_INDEX]);
+        int lastSeed = Utility.parseIntegerParam(params[LAST_SEED_PARAM_INDEX]);
+        int nrOfPlayers = params.length > NR_OF_PLAYERS_PARAM_INDEX
+                ? Utility.parseIntegerParam(params[NR_OF_PLAYERS_PARAM_INDEX])
+                : DEFAULT_NR_OF_PLAYERS;
+        int threads = params.length > THREADS_PARAM_INDEX
+                ? Utility.parseIntegerParam(params[THREADS_PARAM_INDEX])
+                : SimulationPolicies.MAX_NR_OF_THREADS;
+        List<String[]> seatings = nrOfPlayers < MIN_NR_OF_PLAYERS || nrOfPlayers > SessionsHelper.MAX_NR_OF_PLAYERS
+                ? null
+                : getSeatings(policies, nrOfPlayers);
+
+        if (firstSeed == Utility.INVALID_INTEGER_VALUE || lastSeed < firstSeed || threads < MIN_VALUE
+                || threads > SimulationPolicies.MAX_NR_OF_THREADS || seatings == null) {
+            InputOutputHandler.showError(WRONG_COMMAND_ERROR_MESSAGE);
+            return;
+        }
+
+        GameBoard[] templates = new GameBoard[mapPaths.length];
+        for (int i = START_ITERATION_INDEX; i < mapPaths.length; i++) {
+            templates[i] = MapCache.getBoard(mapPaths[i]);
+            if (templates[i] == null || !SessionsHelper.isPlayableMap(templates[i], nrOfPlayers)) {
+                return;
+            }
+
+            templates[i].getGraph();
+        }
+
+        runJobs(params[RESULTS_PARAM_INDEX], mapPaths, templates, seatings, firstSeed, lastSeed, threads, policies);
+    }
+
+    /**
+     * This method creates the policy of a seat.
+     * The search bots search a fixed number of iterations or a fixed depth on one thread.
+     *
+     * @param token the name of the policy, for a search bot optionally followed by a colon and its limit
+     * @return the policy or null if the token is not valid
+     */
+    static SimulationPolicy createPolicy(String token) {
+        String[] parts = token.split(LIMIT_SEPARATOR, KEEP_EMPTY_FIELDS_LIMIT);
+        if (parts.length > MAX_POLICY_PARTS) {
+            return null;
+        }
+
+        String name = parts[NAME_PART_INDEX];
+        boolean hasLimit = parts.length == MAX_POLICY_PARTS;
+        int limit = hasLimit ? Utility.parseIntegerParam(parts[LIMIT_PART_INDEX]) : switch (name) {
+            case MctsPolicy.NAME -> DEFAULT_MCTS_ITERATIONS;
+            case ExpectimaxPolicy.NAME -> DEFAULT_EXPECTIMAX_DEPTH;
+            default -> SimulationPolicies.UNLIMITED;
+        };
+        boolean isSearch = name.equals(MctsPolicy.NAME) || name.equals(ExpectimaxPolicy.NAME);
+
+        if (isSearch ? limit < MIN_VALUE : hasLimit) {
+            return null;
+        }
+
+        return SimulationPolicies.create(name, SimulationPolicies.UNLIMITED, limit, SINGLE_THREAD,
+                SearchMode.DETERMINISTIC);
+    }
+
+    /**
+     * This method returns every seating of different policies on the seats of a game.
+     *
+     * @param policies    the policies
+     * @param nrOfPlayers the number of seats
+     * @return the policies of the seats of every seating or null if a policy is not valid, a policy is given twice,
+     *         there are fewer policies than seats or too many seatings
+     */
+    private static List<String[]> getSeatings(String[] policies, int nrOfPlayers) {
+        Set<String> distinct = new HashSet<>();
+        for (String policy : policies) {
+            if (createPolicy(policy) == null || !distinct.add(policy)) {
+                return null;
+            }
+        }
+
+        if (policies.length < nrOfPlayers) {
+            return null;
+        }
+
+        List<String[]> seatings = new ArrayList<>();
+        boolean isComplete = addSeatings(policies, new String[nrOfPlayers], new boolean[policies.length],
+                START_ITERATION_INDEX, seatings);
+        return isComplete ? seatings : null;
+    }
+
+    /**
+     * This method adds every seating of the free seats, keeping the policies of the seats before.
+     *
+     * @param policies the policies
+     * @param seats    the policies of the seats
+     * @param isSeated whether a policy has a seat
+     * @param seat     the first free seat
+     * @param seatings the seatings found
+     * @return false if there are too many seatings
+     */
+    private static boolean addSeatings(String[] policies, String[] seats, boolean[] isSeated, int seat,
+                                       List<String[]> seatings) {
+        if (seat == seats.length) {
+            seatings.add(seats.clone());
+            return seatings.size() <= MAX_SEATINGS;
+        }
+
+        for (int i = START_ITERATION_INDEX; i < policies.length; i++) {
+            if (isSeated[i]) {
+                continue;
+            }
+
+            isSeated[i] = true;
+            seats[seat] = policies[i];
+            boolean isComplete = addSeatings(policies, seats, isSeated, seat + NEXT_SEAT_OFFSET, seatings);
+            isSeated[i] = false;
+            if (!isComplete) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void runJobs(String resultsPath, String[] mapPaths, GameBoard[] templates, List<String[]> seatings,
+                                int firstSeed, int lastSeed, int threads, String[] policies) {
+        boolean isJson = TournamentRecords.isJsonLines(resultsPath);
+        Path path;
+        String existing;
+        try {
+            path = Path.of(resultsPath);
+            existing = Files.exists(path) ? Files.readString(path) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            InputOutputHandler.showError(RESULTS_FILE_ERROR_MESSAGE);
+            return;
+        }
+
+        int nrOfPlayers = seatings.get(START_ITERATION_INDEX).length;
+        Map<String, Integer> finished = getFinishedGames(existing, isJson, nrOfPlayers);
+        long[] wins = new long[policies.length];
+        long[] games = new long[policies.length];
+        long jobs = INTEGER_DEFAULT_INITIAL_VALUE;
+        long played = INTEGER_DEFAULT_INITIAL_VALUE;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CompletionService<TournamentJob> completed = new ExecutorCompletionService<>(pool);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+            boolean isEmpty = existing == null || existing.isEmpty();
+            if (isEmpty && !isJson) {
+                writeLine(writer, TournamentRecords.CSV_HEADER);
+            } else if (!isEmpty && !existing.endsWith(LINE_BREAK)) {
+                writer.write(LINE_BREAK);
+            }
+
+            int running = INTEGER_DEFAULT_INITIAL_VALUE;
+            for (long seed = firstSeed; seed <= lastSeed; seed++) {
+                for (int i = START_ITERATION_INDEX; i < mapPaths.length; i++) {
+                    for (String[] seats : seatings) {
+                        jobs++;
+                        String key = TournamentRecords.getKey(mapPaths[i], seed,
+                                String.join(TournamentRecords.SEAT_SEPARATOR, seats));
+                        Integer winnerSeat = finished.get(key);
+                        if (winnerSeat != null) {
+                            count(seats, winnerSeat, policies, wins, games);
+                            continue;
+                        }
+
+                        completed.submit(new TournamentJob(mapPaths[i], templates[i], seed, seats));
+                        running++;
+                        played++;
+                        if (running == threads * JOBS_PER_THREAD) {
+                            record(writer, completed.take().get(), isJson, policies, wins, games);
+                            running--;
+                        }
+                    }
+                }
+            }
+
+            while (running > INTEGER_DEFAULT_INITIAL_VALUE) {
+                record(writer, completed.take().get(), isJson, policies, wins, games);
+                running--;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            InputOutputHandler.showError(RESULTS_FILE_ERROR_MESSAGE);
+            return;
+        } catch (ExecutionException e) {
+            InputOutputHandler.showError(FAILED_GAME_ERROR_MESSAGE + e.getCause());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InputOutputHandler.showError(INTERRUPTED_ERROR_MESSAGE);
+            return;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        printSummary(jobs, played, threads, policies, wins, games, nrOfPlayers);
+    }
+
+    /**
+     * This method reads the games already in the results file.
+     *
+     * @param existing    the content of the results file or null if it does not exist
+     * @param isJson      true for JSON lines, false for comma separated values
+     * @param nrOfPlayers the number of seats of a game
+     * @return the seat of the winner of every game by the key of the game
+     */
+    private static Map<String, Integer> getFinishedGames(String existing, boolean isJson, int nrOfPlayers) {
+        Map<String, Integer> games = new HashMap<>();
+        if (existing == null) {
+            return games;
+        }
+
+        for (String line : existing.split(LINE_BREAK)) {
+            String key = TournamentRecords.parseKey(line, isJson);
+            int winnerSeat = TournamentRecords.parseWinnerSeat(line, isJson, nrOfPlayers);
+            if (key != null && winnerSeat >= TournamentJob.NO_WINNER) {
+                games.put(key, winnerSeat);
+            }
+        }
+
+        return games;
+    }
+
+    /**
+     * This method appends the record of a finished game to the results file and counts its outcome.
+     *
+     * @param writer   the writer of the results file
+     * @param job      the finished job
+     * @param isJson   true for JSON lines, false for comma separated values
+     * @param policies the policies of the tournament
+     * @param wins     the number of wins of every policy
+     * @param games    the number of games of every policy
+     * @throws IOException if the record cannot be written
+     */
+    private static void record(BufferedWriter writer, TournamentJob job, boolean isJson, String[] policies,
+                               long[] wins, long[] games) throws IOException {
+        writeLine(writer, TournamentRecords.format(job, isJson));
+        count(job.getSeats(), job.getWinnerSeat(), policies, wins, games);
+    }
+
+    /**
+     * This method counts the outcome of a game for the policies of its seats.
+     *
+     * @param seats      the policies of the seats
+     * @param winnerSeat the seat of the winner or {@link TournamentJob#NO_WINNER}
+     * @param policies   the policies of the tournament
+     * @param wins       the number of wins of every policy
+     * @param games      the number of games of every policy
+     */
+    private static void count(String[] seats, int winnerSeat, String[] policies, long[] wins, long[] games) {
+        for (String seat : seats) {
+            games[indexOf(policies, seat)]++;
+        }
+
+        if (winnerSeat != TournamentJob.NO_WINNER) {
+            wins[indexOf(policies, seats[winnerSeat])]++;
+        }
+    }
+
+    private static void writeLine(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.write(LINE_BREAK);
+        writer.flush();
+    }
+
+    private static int indexOf(String[] policies, String policy) {
+        for (int i = START_ITERATION_INDEX; i < policies.length; i++) {
+            if (policies[i].equals(policy)) {
+                return i;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * This method shows the outcome of all games of the tournament, the games already in the results file
+     * are counted together with the games played now.
+     *
+     * @param jobs        the number of games of the tournament
+     * @param played      the number of games played now
+     * @param threads     the number of threads
+     * @param policies    the policies of the tournament
+     * @param wins        the number of wins of every policy
+     * @param games       the number of games of every policy
+     * @param nrOfPlayers the number of seats of a game
+     */
+    private static void printSummary(long jobs, long played, int threads, String[] policies, long[] wins,
+                                     long[] games, int nrOfPlayers) {
+        long seats = INTEGER_DEFAULT_INITIAL_VALUE;
+        long decided = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int i = START_ITERATION_INDEX; i < policies.length; i++) {
+            seats += games[i];
+            decided += wins[i];
+        }
+
+        long total = seats / nrOfPlayers;
+        System.out.println(JOBS_PREFIX + jobs + FINISHED_PREFIX + (jobs - played) + PLAYED_PREFIX + played
+                + THREADS_PREFIX + threads);
+        for (int i = START_ITERATION_INDEX; i < policies.length; i++) {
+            System.out.println(policies[i] + POLICY_SUFFIX + wins[i] + WINS_INFIX + games[i] + GAMES_SUFFIX);
+        }
+
+        System.out.println(DRAWS_PREFIX + SelfPlaySimulator.DEFAULT_MAX_TURNS + DRAWS_INFIX + (total - decided));
+    }
+}
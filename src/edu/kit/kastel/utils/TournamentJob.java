@@ -0,0 +1,136 @@
+package edu.kit.kastel.utils;
+
+import edu.kit.kastel.game.GameBoard;
+import edu.kit.kastel.game.Player;
+import edu.kit.kastel.game.SelfPlaySimulator;
+import edu.kit.kastel.game.Session;
+import edu.kit.kastel.game.SimulationPolicy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * This class is one game of a tournament: a map, a seed and the policy of every seat.
+ * Every worker thread creates the policy of a seat once and reuses it for all its jobs, so jobs running
+ * in parallel never share a policy and the search bots do not allocate their tables again for every game.
+ * The dice are rolled by a generator of their own that only depends on the seed and the policies draw
+ * from another one, so every seating of the same map and seed rolls the same sequence of numbers.
+ *
+ * @author Programmieren-Team
+ */
+final class TournamentJob implements Callable<TournamentJob> {
+    /**
+     * Seat of the winner if no player has won.
+     */
+    static final int NO_WINNER = -1;
+    private static final String SESSION_ID = "tournament";
+    private static final int GAME_NUMBER = 0;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final int START_ITERATION_INDEX = 0;
+    private static final ThreadLocal<Map<String, SimulationPolicy>> POLICIES = ThreadLocal.withInitial(HashMap::new);
+
+    private final String mapPath;
+    private final GameBoard template;
+    private final long seed;
+    private final String[] seats;
+    private int winnerSeat = NO_WINNER;
+    private int turns;
+    private long millis;
+
+    /**
+     * This constructor creates a job.
+     *
+     * @param mapPath  the path of the map as given by the user
+     * @param template the map template, prepared for sessions on several threads
+     * @param seed     the seed of the game
+     * @param seats    the policy of every seat, as accepted by {@link TournamentHelper#createPolicy(String)}
+     */
+    TournamentJob(String mapPath, GameBoard template, long seed, String[] seats) {
+        this.mapPath = mapPath;
+        this.template = template;
+        this.seed = seed;
+        this.seats = seats;
+    }
+
+    /**
+     * Call method override.
+     * It plays the game and keeps its outcome.
+     *
+     * @return this job
+     */
+    @Override
+    public TournamentJob call() {
+        SimulationPolicy[] policies = new SimulationPolicy[seats.length];
+        for (int i = START_ITERATION_INDEX; i < seats.length; i++) {
+            policies[i] = POLICIES.get().computeIfAbsent(seats[i], TournamentHelper::createPolicy);
+            policies[i].reset();
+        }
+
+        long start = System.nanoTime();
+        Session session = SessionsHelper.createSession(SESSION_ID, mapPath, template, seats.length);
+        turns = SelfPlaySimulator.playGame(session, policies,
+                new Random(SelfPlaySimulator.getGameSeed(seed, GAME_NUMBER)),
+                new Random(SelfPlaySimulator.getPolicySeed(seed, GAME_NUMBER)), SelfPlaySimulator.DEFAULT_MAX_TURNS);
+        millis = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+        Player winner = session.getWinner();
+        winnerSeat = winner == null ? NO_WINNER : winner.getIndex();
+        return this;
+    }
+
+    /**
+     * Getter for the path of the map.
+     *
+     * @return the path as given by the user
+     */
+    String getMapPath() {
+        return mapPath;
+    }
+
+    /**
+     * Getter for the seed of the game.
+     *
+     * @return the seed
+     */
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for the policies of the seats.
+     *
+     * @return the policy of every seat
+     */
+    String[] getSeats() {
+        return seats;
+    }
+
+    /**
+     * Getter for the seat of the winner.
+     *
+     * @return the index of the seat or {@link #NO_WINNER}
+     */
+    int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    /**
+     * Getter for the number of turns played.
+     *
+     * @return the number of turns
+     */
+    int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Getter for the time the game took.
+     *
+     * @return the time in milliseconds
+     */
+    long getMillis() {
+        return millis;
+    }
+}
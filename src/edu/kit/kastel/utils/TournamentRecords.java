@@ -0,0 +1,287 @@
+package edu.kit.kastel.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class writes the results of tournament games as records and reads back which games a results file holds.
+ * A results file ending with .jsonl holds one JSON object per line, any other file holds comma separated values
+ * with a header line, a value containing a comma or a quote is quoted. A game is identified by its map, its seed
+ * and its seats, which are the policies of the seats joined by a plus sign. Lines that cannot be read,
+ * like a line cut off when a tournament was interrupted, are ignored, so their games are played again.
+ *
+ * @author Programmieren-Team
+ */
+final class TournamentRecords {
+    /**
+     * Header line of a results file with comma separated values.
+     */
+    static final String CSV_HEADER = "map,seed,seats,winner_seat,winner_policy,turns,millis";
+    /**
+     * Separator of the policies of the seats.
+     */
+    static final String SEAT_SEPARATOR = "+";
+    private static final String JSONL_EXTENSION = ".jsonl";
+    private static final String CSV_SEPARATOR = ",";
+    private static final String KEY_SEPARATOR = "|";
+    private static final String EMPTY_STRING_SYMBOL = "";
+    private static final String JSON_START = "{";
+    private static final String JSON_END = "}";
+    private static final String JSON_NULL = "null";
+    private static final String MAP_FIELD = "\"map\":";
+    private static final String SEED_FIELD = ",\"seed\":";
+    private static final String SEATS_FIELD = ",\"seats\":";
+    private static final String WINNER_SEAT_FIELD = ",\"winnerSeat\":";
+    private static final String WINNER_POLICY_FIELD = ",\"winnerPolicy\":";
+    private static final String TURNS_FIELD = ",\"turns\":";
+    private static final String MILLIS_FIELD = ",\"millis\":";
+    private static final char QUOTE = '"';
+    private static final char CSV_SEPARATOR_SYMBOL = ',';
+    private static final char ESCAPE = '\\';
+    private static final int NR_OF_CSV_FIELDS = 7;
+    private static final int NR_OF_KEY_FIELDS = 3;
+    private static final int MAP_FIELD_INDEX = 0;
+    private static final int SEED_FIELD_INDEX = 1;
+    private static final int SEATS_FIELD_INDEX = 2;
+    private static final int WINNER_SEAT_FIELD_INDEX = 3;
+    private static final int NR_OF_READ_FIELDS = 4;
+    private static final int INVALID_SEAT = -2;
+    private static final int NOT_FOUND = -1;
+    private static final int NEXT_CHAR_OFFSET = 1;
+    private static final int EMPTY_LENGTH = 0;
+    private static final int START_ITERATION_INDEX = 0;
+
+    /**
+     * This constructor is private to prevent instantiation of this class.
+     */
+    private TournamentRecords() {
+    }
+
+    /**
+     * This method checks if a results file holds JSON lines.
+     *
+     * @param filePath the path of the results file
+     * @return true for JSON lines, false for comma separated values
+     */
+    static boolean isJsonLines(String filePath) {
+        return filePath.endsWith(JSONL_EXTENSION);
+    }
+
+    /**
+     * This method returns the key identifying a game.
+     *
+     * @param mapPath the path of the map
+     * @param seed    the seed
+     * @param seats   the policies of the seats joined by {@link #SEAT_SEPARATOR}
+     * @return the key
+     */
+    static String getKey(String mapPath, long seed, String seats) {
+        return mapPath + KEY_SEPARATOR + seed + KEY_SEPARATOR + seats;
+    }
+
+    /**
+     * This method returns the record of a played game.
+     *
+     * @param job    the played job
+     * @param isJson true for a JSON line, false for comma separated values
+     * @return the record without a line break
+     */
+    static String format(TournamentJob job, boolean isJson) {
+        String seats = String.join(SEAT_SEPARATOR, job.getSeats());
+        boolean hasWinner = job.getWinnerSeat() != TournamentJob.NO_WINNER;
+        String winnerPolicy = hasWinner ? job.getSeats()[job.getWinnerSeat()] : null;
+        if (!isJson) {
+            return quoteCsv(job.getMapPath()) + CSV_SEPARATOR + job.getSeed() + CSV_SEPARATOR + quoteCsv(seats)
+                    + CSV_SEPARATOR + job.getWinnerSeat() + CSV_SEPARATOR
+                    + (hasWinner ? quoteCsv(winnerPolicy) : EMPTY_STRING_SYMBOL) + CSV_SEPARATOR + job.getTurns()
+                    + CSV_SEPARATOR + job.getMillis();
+        }
+
+        return JSON_START + MAP_FIELD + quote(job.getMapPath()) + SEED_FIELD + job.getSeed() + SEATS_FIELD
+                + quote(seats) + WINNER_SEAT_FIELD + job.getWinnerSeat() + WINNER_POLICY_FIELD
+                + (hasWinner ? quote(winnerPolicy) : JSON_NULL) + TURNS_FIELD + job.getTurns() + MILLIS_FIELD
+                + job.getMillis() + JSON_END;
+    }
+
+    /**
+     * This method returns the key of the game of a record.
+     *
+     * @param line   the line of the results file
+     * @param isJson true for a JSON line, false for comma separated values
+     * @return the key or null if the line is not a complete record
+     */
+    static String parseKey(String line, boolean isJson) {
+        String[] values = parseFields(line, isJson);
+        long seed = values == null ? Utility.INVALID_INTEGER_VALUE : parseSeed(values[SEED_FIELD_INDEX]);
+        return seed == Utility.INVALID_INTEGER_VALUE
+                ? null
+                : getKey(values[MAP_FIELD_INDEX], seed, values[SEATS_FIELD_INDEX]);
+    }
+
+    /**
+     * This method returns the seat of the winner of the game of a record.
+     *
+     * @param line   the line of the results file, its key was read by {@link #parseKey(String, boolean)}
+     * @param isJson true for a JSON line, false for comma separated values
+     * @param seats  the number of seats of the game
+     * @return the index of the seat, {@link TournamentJob#NO_WINNER} or a lower value if it cannot be read
+     */
+    static int parseWinnerSeat(String line, boolean isJson, int seats) {
+        String[] values = parseFields(line, isJson);
+        int winnerSeat = values == null ? INVALID_SEAT : parseSeat(values[WINNER_SEAT_FIELD_INDEX]);
+        return winnerSeat < TournamentJob.NO_WINNER || winnerSeat >= seats ? INVALID_SEAT : winnerSeat;
+    }
+
+    /**
+     * This method reads the map, the seed, the seats and the seat of the winner of a record.
+     *
+     * @param line   the line of the results file
+     * @param isJson true for a JSON line, false for comma separated values
+     * @return the values or null if the line is not a complete record
+     */
+    private static String[] parseFields(String line, boolean isJson) {
+        if (isJson) {
+            return parseJsonFields(line);
+        }
+
+        String[] fields = splitCsv(line);
+        return fields == null || fields.length != NR_OF_CSV_FIELDS ? null : fields;
+    }
+
+    private static String[] parseJsonFields(String line) {
+        if (!line.startsWith(JSON_START) || !line.endsWith(JSON_END)) {
+            return null;
+        }
+
+        String[] values = new String[NR_OF_READ_FIELDS];
+        String[] fields = {MAP_FIELD, SEED_FIELD, SEATS_FIELD, WINNER_SEAT_FIELD};
+        for (int i = MAP_FIELD_INDEX; i < NR_OF_READ_FIELDS; i++) {
+            int start = line.indexOf(fields[i]);
+            if (start == NOT_FOUND) {
+                return null;
+            }
+
+            start += fields[i].length();
+            values[i] = i == SEED_FIELD_INDEX || i == WINNER_SEAT_FIELD_INDEX
+                    ? line.substring(start, Math.max(start, line.indexOf(CSV_SEPARATOR, start)))
+                    : unquote(line, start);
+            if (values[i] == null) {
+                return null;
+            }
+        }
+
+        return values;
+    }
+
+    private static long parseSeed(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return Utility.INVALID_INTEGER_VALUE;
+        }
+    }
+
+    /**
+     * This method quotes a comma separated value if it contains a comma or a quote, quotes are doubled.
+     *
+     * @param value the value
+     * @return the value as written to the results file
+     */
+    private static String quoteCsv(String value) {
+        if (value.indexOf(CSV_SEPARATOR_SYMBOL) == NOT_FOUND && value.indexOf(QUOTE) == NOT_FOUND) {
+            return value;
+        }
+
+        StringBuilder builder = new StringBuilder().append(QUOTE);
+        for (char symbol : value.toCharArray()) {
+            if (symbol == QUOTE) {
+                builder.append(QUOTE);
+            }
+
+            builder.append(symbol);
+        }
+
+        return builder.append(QUOTE).toString();
+    }
+
+    /**
+     * This method splits a line of comma separated values written by {@link #quoteCsv(String)}.
+     *
+     * @param line the line
+     * @return the values or null if a quoted value is not closed
+     */
+    private static String[] splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = START_ITERATION_INDEX; i < line.length(); i++) {
+            char symbol = line.charAt(i);
+            boolean isDoubledQuote = isQuoted && symbol == QUOTE && i + NEXT_CHAR_OFFSET < line.length()
+                    && line.charAt(i + NEXT_CHAR_OFFSET) == QUOTE;
+            if (isDoubledQuote) {
+                field.append(QUOTE);
+                i++;
+            } else if (symbol == QUOTE) {
+                isQuoted = !isQuoted;
+            } else if (!isQuoted && symbol == CSV_SEPARATOR_SYMBOL) {
+                fields.add(field.toString());
+                field.setLength(EMPTY_LENGTH);
+            } else {
+                field.append(symbol);
+            }
+        }
+
+        fields.add(field.toString());
+        return isQuoted ? null : fields.toArray(new String[fields.size()]);
+    }
+
+    private static int parseSeat(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return INVALID_SEAT;
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder().append(QUOTE);
+        for (char symbol : value.toCharArray()) {
+            if (symbol == QUOTE || symbol == ESCAPE) {
+                builder.append(ESCAPE);
+            }
+
+            builder.append(symbol);
+        }
+
+        return builder.append(QUOTE).toString();
+    }
+
+    /**
+     * This method reads a string written by {@link #quote(String)}.
+     *
+     * @param line  the line
+     * @param start the index of the opening quote
+     * @return the string or null if it is not a complete string
+     */
+    private static String unquote(String line, int start) {
+        if (start >= line.length() || line.charAt(start) != QUOTE) {
+            return null;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        boolean isEscaped = false;
+        for (int i = start + NEXT_CHAR_OFFSET; i < line.length(); i++) {
+            char symbol = line.charAt(i);
+            if (!isEscaped && symbol == QUOTE) {
+                return builder.toString();
+            }
+
+            isEscaped = !isEscaped && symbol == ESCAPE;
+            if (!isEscaped) {
+                builder.append(symbol);
+            }
+        }
+
+        return null;
+    }
+}
@@ -1,18 +1,15 @@
 package edu.kit.kastel.utils;
 
 import edu.kit.kastel.enums.CellType;
-import edu.kit.kastel.game.CellPosition;
-import edu.kit.kastel.game.Figure;
+import edu.kit.kastel.game.GameBoard;
 import edu.kit.kastel.game.GameCell;
 import edu.kit.kastel.game.Player;
+import edu.kit.kastel.game.VisitedCells;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
 import static edu.kit.kastel.game.GameCell.EMPTY_CELL_SYMBOL;
-import static edu.kit.kastel.game.GameCell.NON_EXISTING_CELL_SYMBOL;
 
 /**
  * This class stores utility methods for the game.
@@ -37,12 +34,12 @@ public final class Utility {
     private static final String EMPTY_STRING_SYMBOL = "";
     private static final int START_ITERATION_INDEX = 0;
     private static final int INTEGER_DEFAULT_INITIAL_VALUE = 0;
-    private static final String POSITIVE_INTEGER_REGEX = "\\d+";
-    private static final int MIN_ROW_COL_INDEX = 0;
+    private static final char FIRST_DIGIT_SYMBOL = '0';
+    private static final int DECIMAL_BASE = 10;
     private static final String ALPHANUMERIC_REGEX = "[a-zA-Z0-9]+";
-    private static final ArrayList<Character> INVALID_FIELD_CHARACTERS =
-            new ArrayList<>(Arrays.asList(Character.toLowerCase(CellType.PROTECTED_ZONE.getSymbol()),
-                    Character.toLowerCase(CellType.TARGET.getSymbol())));
+    private static final char[] INVALID_FIELD_CHARACTERS =
+            new char[]{Character.toLowerCase(CellType.PROTECTED_ZONE.getSymbol()),
+                    Character.toLowerCase(CellType.TARGET.getSymbol())};
     private static final int RANDOM_NEXT_INT_MAX_VALUE = 6;
     private static final int RANDOM_NEXT_INT_INCREMENT_VALUE = 1;
 
@@ -53,15 +50,15 @@ public final class Utility {
     }
 
     /**
-     * This method converts a list of strings to a matrix.
-     * It fills the empty spaces with spaces.
+     * This method converts a list of strings to a game board.
+     * Cells after the end of a shorter row stay non-existing cells.
      * It also converts the characters to cell types.
      * It converts the player starting position to a cell with a player symbol.
      *
      * @param rows the list of strings
-     * @return the matrix
+     * @return the game board
      */
-    public static GameCell[][] convertFromListToMatrix(List<String> rows) {
+    public static GameBoard convertFromListToMatrix(List<String> rows) {
         if (rows == null || rows.isEmpty()) {
             InputOutputHandler.showError(INVALID_FIELD_ERROR_MESSAGE);
             return null;
@@ -73,73 +70,75 @@ public final class Utility {
         boolean hasVillage = false;
         boolean hasInvalidCharacters = false;
 
-        GameCell[][] matrix = new GameCell[numRows][numCols];
+        GameBoard board = new GameBoard(numRows, numCols);
         for (int i = START_ITERATION_INDEX; i < numRows; i++) {
             String row = rows.get(i);
-            String currentRow = fillRowsWithSpaces(row, numCols - row.length());
-            for (int j = START_ITERATION_INDEX; j < numCols; j++) {
+            for (int j = START_ITERATION_INDEX; j < row.length(); j++) {
 
-                char currentChar = currentRow.charAt(j);
+                char currentChar = row.charAt(j);
 
                 CellType cellType = GameCell.getCellTypeFromSymbol(currentChar);
-                CellPosition position = new CellPosition(i, j);
+                int index = board.index(i, j);
 
-                matrix[i][j] = getGameCell(cellType, position, currentChar);
+                board.setType(index, cellType);
+                if (cellType == CellType.PLAYER_STARTING_POSITION) {
+                    board.setPlayerSymbol(index, currentChar);
+                }
 
                 if (cellType == CellType.EMPTY_FOREST) {
                     hasForest = true;
                 } else if (cellType == CellType.OBSTACLE_VILLAGE || cellType == CellType.PATHWAY_VILLAGE) {
                     hasVillage = true;
-                } else if (INVALID_FIELD_CHARACTERS.contains(currentChar)) {
+                } else if (isInvalidFieldCharacter(currentChar)) {
                     hasInvalidCharacters = true;
                 }
             }
         }
 
-        if (isValidMatrix(hasVillage, hasForest, hasInvalidCharacters, matrix)) {
+        if (isValidMatrix(hasVillage, hasForest, hasInvalidCharacters, board)) {
             return null;
         }
 
-        return matrix;
+        return board;
     }
 
-    private static boolean isValidMatrix(boolean hasVillage, boolean hasForest, boolean hasInvalidCharacters,
-                                         GameCell[][] matrix) {
+    /**
+     * This method checks the forest and village pairing and invalid characters of a loaded map.
+     * It shows the map and an error if the map is not valid.
+     *
+     * @param hasVillage           true if the map has a village
+     * @param hasForest            true if the map has a forest
+     * @param hasInvalidCharacters true if the map has invalid characters
+     * @param board                the game board
+     * @return true if the map is not valid
+     */
+    static boolean isValidMatrix(boolean hasVillage, boolean hasForest, boolean hasInvalidCharacters,
+                                         GameBoard board) {
 
         if (hasVillage != hasForest || hasInvalidCharacters) {
             InputOutputHandler.showStartCommandError(
                     hasInvalidCharacters
                             ? INVALID_FIELD_CHARACTER_ERROR_MESSAGE
                             : INVALID_FOREST_VILLAGE_ERROR_MESSAGE,
-                    matrix, EMPTY_CELL_SYMBOL);
+                    board, EMPTY_CELL_SYMBOL);
             return true;
         }
         return false;
     }
 
-    private static GameCell getGameCell(CellType cellType, CellPosition position, char currentChar) {
-        return switch (cellType) {
-            case PLAYER_STARTING_POSITION -> new GameCell(cellType, position, currentChar);
-
-            case OBSTACLE, OBSTACLE_VILLAGE -> new GameCell(cellType, position, true);
-            default -> new GameCell(cellType, position);
-        };
-    }
-
     /**
-     * This method checks if a row and column position is already visited.
-     * It returns true if the position is already visited.
+     * This method checks if a character is not allowed in a map file.
      *
-     * @param visited the list of pairs
-     * @param position  the position
-     * @return true if the position is already visited
+     * @param symbol the character
+     * @return true if the character is not allowed
      */
-    private static boolean alreadyVisited(List<CellPosition> visited, CellPosition position) {
-        for (CellPosition visitedPos : visited) {
-            if (position.equals(visitedPos)) {
+    static boolean isInvalidFieldCharacter(char symbol) {
+        for (char invalidCharacter : INVALID_FIELD_CHARACTERS) {
+            if (invalidCharacter == symbol) {
                 return true;
             }
         }
+
         return false;
     }
 
@@ -180,31 +179,31 @@ public final class Utility {
         }
     }
 
-    /**
-     * This method fills rows with spaces.
-     * It adds spaces at the end of the row.
-     *
-     * @param row    the row
-     * @param length the length
-     * @return the row with spaces
-     */
-    private static String fillRowsWithSpaces(String row, int length) {
-        String spaces = String.valueOf(NON_EXISTING_CELL_SYMBOL).repeat(length);
-        return row + spaces;
-    }
-
     /**
      * This method parses an integer parameter.
-     * It returns -1 if the parameter is not a positive integer.
+     * It returns -1 if the parameter is not a positive integer or too large for an int.
+     * The digits are read in one pass without a regular expression.
      *
      * @param param the parameter to be parsed
      * @return the parsed integer
      */
     public static int parseIntegerParam(String param) {
-        if (param != null && Utility.checkIfPositiveInteger(param)) {
-            return Integer.parseInt(param);
+        if (param == null || param.isEmpty()) {
+            return INVALID_INTEGER_VALUE;
+        }
+
+        int value = INTEGER_DEFAULT_INITIAL_VALUE;
+        for (int i = START_ITERATION_INDEX; i < param.length(); i++) {
+            int digit = param.charAt(i) - FIRST_DIGIT_SYMBOL;
+            if (digit < INTEGER_DEFAULT_INITIAL_VALUE || digit >= DECIMAL_BASE
+                    || value > (Integer.MAX_VALUE - digit) / DECIMAL_BASE) {
+                return INVALID_INTEGER_VALUE;
+            }
+
+            value = value * DECIMAL_BASE + digit;
         }
-        return INVALID_INTEGER_VALUE;
+
+        return value;
     }
 
     /**
@@ -216,32 +215,6 @@ public final class Utility {
         return random.nextInt(RANDOM_NEXT_INT_MAX_VALUE) + RANDOM_NEXT_INT_INCREMENT_VALUE;
     }
 
-    /**
-     * This method checks if a position is out of bounds.
-     * It returns true if the position is out of bounds.
-     *
-     * @param position          the position
-     * @param rowLength    the row length
-     * @param columnLength the column length
-     * @return true if the position is out of bounds
-     */
-    public static boolean isOutOfBounds(CellPosition position, int rowLength, int columnLength) {
-        return position.getRow() < MIN_ROW_COL_INDEX
-                || position.getColumn() < MIN_ROW_COL_INDEX
-                || position.getRow() >= rowLength
-                || position.getColumn() >= columnLength;
-    }
-
-    /**
-     * This method checks if a string is a positive integer.
-     *
-     * @param number the string
-     * @return true if the string is an integer
-     */
-    private static boolean checkIfPositiveInteger(String number) {
-        return number.matches(POSITIVE_INTEGER_REGEX);
-    }
-
     /**
      * This method checks if a string contains only letters and digits.
      *
@@ -259,17 +232,13 @@ public final class Utility {
      * @return the longest row
      */
     private static int getLongestRow(List<String> rows) {
-        String longest = EMPTY_STRING_SYMBOL;
+        int longest = INTEGER_DEFAULT_INITIAL_VALUE;
 
         for (String row : rows) {
-            if (row.length() > longest.length()) {
-                longest = row;
-            }
+            longest = Math.max(longest, row.length());
         }
 
-        addEmptySpacesAtTheEnd(longest);
-
-        return longest.length();
+        return longest;
     }
 
     /**
@@ -304,87 +273,30 @@ public final class Utility {
     }
 
     /**
-     * This method adds empty spaces at the end.
-     *
-     * @param row the row
-     */
-    private static void addEmptySpacesAtTheEnd(String row) {
-        int emptySpaces = INTEGER_DEFAULT_INITIAL_VALUE;
-        int index = INTEGER_DEFAULT_INITIAL_VALUE;
-        while (index < row.length() && row.charAt(index) == EMPTY_CELL_SYMBOL) {
-            emptySpaces++;
-            index++;
-        }
-
-        fillRowsWithSpaces(row, emptySpaces);
-    }
-
-    /**
-     * This method returns the player by figure.
+     * This method checks if a figure position is valid and marks it as visited.
      *
-     * @param f the figure
-     * @param players list of players
-     * @return the player
-     */
-    public static Player findPlayerByFigure(Figure f, List<Player> players) {
-        for (Player player : players) {
-            if (player.getName() == f.getLetter()) {
-                return player;
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * This method checks if a figure position is valid.
-     *
-     * @param visited  the figure
-     * @param pos position
+     * @param visited  the cells visited in this move
+     * @param index flat index of the position, -1 if out of bounds
      * @param isLastMove last move
-     * @param gameMatrix game matrix
+     * @param board game board
      * @return true if the figure is in the list
      */
-    public static boolean checkNewFigurePosition(List<CellPosition> visited, CellPosition pos, boolean isLastMove,
-                                                 GameCell[][] gameMatrix) {
-        if (Utility.isOutOfBounds(pos, gameMatrix.length, gameMatrix[0].length)) {
+    public static boolean checkNewFigurePosition(VisitedCells visited, int index, boolean isLastMove,
+                                                 GameBoard board) {
+        if (index == GameBoard.INVALID_INDEX) {
             InputOutputHandler.showError(OUT_OF_BOUNDS_ERROR_MESSAGE);
             return false;
         }
 
-        if (!gameMatrix[pos.getRow()][pos.getColumn()].isFreeToMove(isLastMove)) {
+        if (!board.isFreeToMove(index, isLastMove)) {
             InputOutputHandler.showError(CANNOT_MOVE_FIGURE_ERROR_MESSAGE);
             return false;
         }
 
-        if (Utility.alreadyVisited(visited, pos)) {
+        if (!visited.add(index)) {
             InputOutputHandler.showError(CANNOT_VISIT_SAME_FIELD_ERROR_MESSAGE);
             return false;
         }
         return true;
     }
-
-    /**
-     * This method returns a copy of the matrix.
-     *
-     * @param matrixToCopy the matrix to copy
-     * @return the copy of the matrix
-     */
-    public static GameCell[][] getMatrixCopy(GameCell[][] matrixToCopy) {
-        GameCell[][] copy = new GameCell[matrixToCopy.length][matrixToCopy[START_ITERATION_INDEX].length];
-
-        for (int i = START_ITERATION_INDEX; i < matrixToCopy.length; i++) {
-            for (int j = START_ITERATION_INDEX; j < matrixToCopy[START_ITERATION_INDEX].length; j++) {
-                CellPosition position = new CellPosition(i, j);
-                copy[i][j] = getGameCellCopy(j, position, matrixToCopy[i]);
-            }
-        }
-        return copy;
-    }
-
-    private static GameCell getGameCellCopy(int j, CellPosition position, GameCell[] matrixToCopy) {
-        return new GameCell(matrixToCopy[j].getType(), position,
-                matrixToCopy[j].getPlayerSymbol(), matrixToCopy[j].hasFigure(),
-                matrixToCopy[j].getFigure(), matrixToCopy[j].hasObstacle());
-    }
 }